@@ -0,0 +1,72 @@
+package com.concert.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost as seen by {@link com.concert.security.JwtAuthenticationFilter}.
+ * {@code previousPath} replays the old filter sequence (extractUsername, then
+ * isTokenValid reading the subject and the expiry), where each of the three parses
+ * rebuilt the HMAC key and the parser. {@code singleParse} is the current path: one
+ * {@link JwtService#parseVerified} with the cached key and parser.
+ *
+ * <p>Run with {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args=JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+            "benchmark-secret-that-is-long-enough-for-hs512-signatures-0123456789abcdef";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        jwtService.setJwtSecret(SECRET);
+        jwtService.setJwtExpirationInMs(TimeUnit.DAYS.toMillis(7));
+        token = jwtService.generateToken(42L, "benchmark-user", 0L);
+    }
+
+    @Benchmark
+    public boolean previousPath() {
+        String username = previousClaims(token).getSubject();
+        return previousClaims(token).getSubject().equals(username)
+                && !previousClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        Claims claims = jwtService.parseVerified(token);
+        return claims.getSubject() != null && !claims.getExpiration().before(new Date());
+    }
+
+    // What getAllClaimsFromToken did for every claim read before the key and parser were cached
+    private static Claims previousClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,39 @@
+package com.concert.cache;
+
+import com.concert.dto.EventResponse;
+
+import java.util.List;
+
+/**
+ * Serialized form of one page of the upcoming-events listing held in the shared cache.
+ * Content holds base (user-independent) responses.
+ */
+public class CachedEventPage {
+
+    private List<EventResponse> content;
+    private long totalElements;
+
+    public CachedEventPage() {
+    }
+
+    public CachedEventPage(List<EventResponse> content, long totalElements) {
+        this.content = content;
+        this.totalElements = totalElements;
+    }
+
+    public List<EventResponse> getContent() {
+        return content;
+    }
+
+    public void setContent(List<EventResponse> content) {
+        this.content = content;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+}
@@ -0,0 +1,80 @@
+package com.concert.cache;
+
+import com.concert.dto.EventResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of the user-independent part of {@link EventResponse}, keyed by event id.
+ * Cached instances are shared between callers and must never be mutated; per-request fields such as
+ * {@code ownedByCurrentUser} are overlaid on a {@link EventResponse#copy()}.
+ */
+@Component
+public class EventResponseCache {
+
+    public static final String CACHE_NAME = "eventResponses";
+
+    private final Cache<Long, EventResponse> cache;
+
+    public EventResponseCache(MeterRegistry meterRegistry,
+                              @Value("${app.cache.events.max-size:10000}") long maxSize,
+                              @Value("${app.cache.events.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public EventResponse get(Long eventId, Function<Long, EventResponse> loader) {
+        return cache.get(eventId, loader);
+    }
+
+    public void put(Long eventId, EventResponse response) {
+        cache.put(eventId, response);
+    }
+
+    public Map<Long, EventResponse> getAll(Set<Long> eventIds,
+                                           Function<Set<? extends Long>, Map<Long, EventResponse>> loader) {
+        return cache.getAll(eventIds, loader);
+    }
+
+    /**
+     * Evicts the entry now and again once the surrounding transaction completes, so a concurrent
+     * reader cannot repopulate the cache with pre-commit state.
+     */
+    public void invalidate(Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+        cache.invalidate(eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(eventId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
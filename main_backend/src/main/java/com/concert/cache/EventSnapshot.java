@@ -0,0 +1,71 @@
+package com.concert.cache;
+
+import com.concert.repository.EventBookingView;
+
+import java.time.LocalDateTime;
+
+/**
+ * The event fields a booking copies or checks, as they were when loaded. Deliberately
+ * excludes ticketsSold: availability is decided by the conditional reservation, not by
+ * a cached count.
+ */
+public final class EventSnapshot {
+
+    private final Long id;
+    private final String title;
+    private final String location;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final Double ticketPrice;
+    private final Integer personLimit;
+    private final boolean highDemand;
+
+    public EventSnapshot(Long id, String title, String location, LocalDateTime startDate, LocalDateTime endDate,
+                         Double ticketPrice, Integer personLimit, boolean highDemand) {
+        this.id = id;
+        this.title = title;
+        this.location = location;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.ticketPrice = ticketPrice;
+        this.personLimit = personLimit;
+        this.highDemand = highDemand;
+    }
+
+    public static EventSnapshot of(EventBookingView view) {
+        return new EventSnapshot(view.getId(), view.getTitle(), view.getLocation(), view.getStartDate(),
+                view.getEndDate(), view.getTicketPrice(), view.getPersonLimit(), Boolean.TRUE.equals(view.getHighDemand()));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public Double getTicketPrice() {
+        return ticketPrice;
+    }
+
+    public Integer getPersonLimit() {
+        return personLimit;
+    }
+
+    public boolean isHighDemand() {
+        return highDemand;
+    }
+}
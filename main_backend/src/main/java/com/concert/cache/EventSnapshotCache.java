@@ -0,0 +1,86 @@
+package com.concert.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of {@link EventSnapshot}s for the booking path, keyed by event id.
+ * Ids with no event row are cached as absent too, so bookings for external events do not
+ * query either. Entries are evicted by event edits and deletions; the short TTL bounds
+ * how long another instance can serve a snapshot from before an edit.
+ */
+@Component
+public class EventSnapshotCache {
+
+    public static final String CACHE_NAME = "eventSnapshots";
+
+    private final Cache<Long, Optional<EventSnapshot>> cache;
+
+    public EventSnapshotCache(MeterRegistry meterRegistry,
+                              @Value("${app.cache.event-snapshots.max-size:10000}") long maxSize,
+                              @Value("${app.cache.event-snapshots.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<EventSnapshot> get(Long eventId, Function<Long, Optional<EventSnapshot>> loader) {
+        return cache.get(eventId, loader);
+    }
+
+    /**
+     * Snapshots for the given ids; the missing ones are loaded together and ids absent
+     * from the loader's result are cached as absent.
+     */
+    public Map<Long, EventSnapshot> getAll(Collection<Long> eventIds,
+                                           Function<Collection<? extends Long>, Map<Long, EventSnapshot>> loader) {
+        Map<Long, Optional<EventSnapshot>> entries = cache.getAll(eventIds, missing -> {
+            Map<Long, EventSnapshot> loaded = loader.apply(missing);
+            Map<Long, Optional<EventSnapshot>> result = new HashMap<>();
+            missing.forEach(id -> result.put(id, Optional.ofNullable(loaded.get(id))));
+            return result;
+        });
+        Map<Long, EventSnapshot> snapshots = new HashMap<>();
+        entries.forEach((id, snapshot) -> snapshot.ifPresent(value -> snapshots.put(id, value)));
+        return snapshots;
+    }
+
+    /**
+     * Evicts the entry now and again once the surrounding transaction completes, so a booking
+     * racing the edit cannot re-cache the pre-commit event.
+     */
+    public void invalidate(Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+        cache.invalidate(eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(eventId);
+                }
+            });
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,34 @@
+package com.concert.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-instance revocation list. Each entry expires with its token and there is no
+ * size bound: the list only grows with logouts inside one token lifetime.
+ */
+@Component
+@ConditionalOnProperty(name = "app.auth.revocation.store", havingValue = "local", matchIfMissing = true)
+public class LocalTokenRevocationList implements TokenRevocationList {
+
+    private final Cache<String, Long> revoked = Caffeine.newBuilder()
+            .expireAfter(VerifiedTokenCache.untilExpiry((Long expiresAt) -> expiresAt))
+            .build();
+
+    @Override
+    public void revoke(String tokenDigest, long expiresAtMillis) {
+        revoked.put(tokenDigest, expiresAtMillis);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenDigest) {
+        return revoked.getIfPresent(tokenDigest) != null;
+    }
+
+    public long size() {
+        revoked.cleanUp();
+        return revoked.estimatedSize();
+    }
+}
@@ -0,0 +1,57 @@
+package com.concert.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Redis implementation of the shared cache tier. Values are stored as raw bytes
+ * so the payload encoding stays under the control of {@link SharedEventCache}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "true")
+public class RedisSharedCacheStore implements SharedCacheStore {
+
+    private final RedisTemplate<String, byte[]> bytesTemplate;
+    private final RedisTemplate<String, String> counterTemplate;
+
+    public RedisSharedCacheStore(RedisConnectionFactory connectionFactory) {
+        this.bytesTemplate = new RedisTemplate<>();
+        this.bytesTemplate.setConnectionFactory(connectionFactory);
+        this.bytesTemplate.setKeySerializer(RedisSerializer.string());
+        this.bytesTemplate.setValueSerializer(RedisSerializer.byteArray());
+        this.bytesTemplate.afterPropertiesSet();
+
+        this.counterTemplate = new RedisTemplate<>();
+        this.counterTemplate.setConnectionFactory(connectionFactory);
+        this.counterTemplate.setKeySerializer(RedisSerializer.string());
+        this.counterTemplate.setValueSerializer(RedisSerializer.string());
+        this.counterTemplate.afterPropertiesSet();
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return bytesTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        bytesTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public long getCounter(String key) {
+        String value = counterTemplate.opsForValue().get(key);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    @Override
+    public long increment(String key) {
+        Long value = counterTemplate.opsForValue().increment(key);
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,39 @@
+package com.concert.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Revocation list shared by all instances: one key per revoked token, expiring with the
+ * token, so a logout on one replica is honoured by the others on their next request.
+ * Redis errors propagate so that the caller rejects the token.
+ */
+@Component
+@ConditionalOnProperty(name = "app.auth.revocation.store", havingValue = "redis")
+public class RedisTokenRevocationList implements TokenRevocationList {
+
+    static final String KEY_PREFIX = "auth:revoked:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisTokenRevocationList(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void revoke(String tokenDigest, long expiresAtMillis) {
+        long remaining = expiresAtMillis - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return;
+        }
+        redisTemplate.opsForValue().set(KEY_PREFIX + tokenDigest, "1", Duration.ofMillis(remaining));
+    }
+
+    @Override
+    public boolean isRevoked(String tokenDigest) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenDigest));
+    }
+}
@@ -0,0 +1,68 @@
+package com.concert.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+
+/**
+ * Redis pub/sub implementation of {@link UserInvalidationChannel}. Messages are
+ * {@code id:username}; the username may itself contain colons.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.users.redis-invalidation", havingValue = "true")
+public class RedisUserInvalidationChannel implements UserInvalidationChannel, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisUserInvalidationChannel.class);
+
+    static final String TOPIC = "users:invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+
+    public RedisUserInvalidationChannel(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.afterPropertiesSet();
+        this.container.start();
+    }
+
+    @Override
+    public void publish(Long userId, String username) {
+        try {
+            redisTemplate.convertAndSend(TOPIC, userId + ":" + username);
+        } catch (RuntimeException e) {
+            logger.warn("Publishing invalidation of user {} failed", userId, e);
+        }
+    }
+
+    @Override
+    public void subscribe(BiConsumer<Long, String> listener) {
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.indexOf(':');
+            if (separator <= 0) {
+                return;
+            }
+            try {
+                listener.accept(Long.valueOf(body.substring(0, separator)), body.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring malformed user invalidation {}", body);
+            }
+        }, new ChannelTopic(TOPIC));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+}
@@ -0,0 +1,22 @@
+package com.concert.cache;
+
+import java.time.Duration;
+
+/**
+ * Minimal key/value contract for the cache tier shared between backend replicas.
+ * Implementations must treat every operation as best-effort: callers fall back to
+ * the database whenever a lookup misses or fails.
+ */
+public interface SharedCacheStore {
+
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    /**
+     * Returns the current value of a counter key, or 0 when it has never been incremented.
+     */
+    long getCounter(String key);
+
+    long increment(String key);
+}
@@ -0,0 +1,229 @@
+package com.concert.cache;
+
+import com.concert.dto.EventResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Optional cache tier shared by all backend replicas for upcoming-event listing pages
+ * and event detail payloads. Active only when a {@link SharedCacheStore} bean exists
+ * (see {@code app.cache.redis.enabled}); otherwise every lookup is a miss.
+ *
+ * <p>Entries are never deleted explicitly. Keys embed a version number that mutations
+ * bump, so stale entries simply stop being addressed and expire via TTL. Listing keys
+ * also embed a time bucket because the listing depends on "now". Edits bump the listing
+ * version; booking counter changes only bump the event's own version, so a busy sale
+ * does not empty every listing page on every ticket.</p>
+ */
+@Component
+public class SharedEventCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedEventCache.class);
+
+    static final String LIST_VERSION_KEY = "events:list:version";
+    private static final String EVENT_VERSION_KEY_PREFIX = "events:detail:version:";
+
+    private static final byte FORMAT_PLAIN = 0;
+    private static final byte FORMAT_GZIP = 1;
+    private static final int GZIP_THRESHOLD_BYTES = 1024;
+
+    private final SharedCacheStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final long bucketSeconds;
+
+    public SharedEventCache(Optional<SharedCacheStore> store,
+                            ObjectMapper objectMapper,
+                            @Value("${app.cache.redis.ttl:5m}") Duration ttl,
+                            @Value("${app.cache.redis.listing-bucket:60s}") Duration listingBucket) {
+        this.store = store.orElse(null);
+        this.objectMapper = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .addMixIn(EventResponse.class, VersionedEventResponse.class);
+        this.ttl = ttl;
+        this.bucketSeconds = Math.max(1, listingBucket.getSeconds());
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * The page built while the listing was at {@code listingVersion}; pages built under
+     * another version are not addressed, so a body never goes out with a newer tag.
+     */
+    public Optional<CachedEventPage> getUpcomingPage(LocalDateTime now, int page, int size, String listingVersion) {
+        if (store == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(decode(store.get(listKey(now, page, size, listingVersion)),
+                    CachedEventPage.class));
+        } catch (RuntimeException e) {
+            logger.debug("Shared cache read failed for listing page {}", page, e);
+            return Optional.empty();
+        }
+    }
+
+    public void putUpcomingPage(LocalDateTime now, int page, int size, String listingVersion,
+                                CachedEventPage value) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.put(listKey(now, page, size, listingVersion), encode(value), ttl);
+        } catch (RuntimeException e) {
+            logger.debug("Shared cache write failed for listing page {}", page, e);
+        }
+    }
+
+    public Optional<EventResponse> getEvent(Long eventId) {
+        if (store == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(decode(store.get(eventKey(eventId)), EventResponse.class));
+        } catch (RuntimeException e) {
+            logger.debug("Shared cache read failed for event {}", eventId, e);
+            return Optional.empty();
+        }
+    }
+
+    public void putEvent(Long eventId, EventResponse value) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.put(eventKey(eventId), encode(value), ttl);
+        } catch (RuntimeException e) {
+            logger.debug("Shared cache write failed for event {}", eventId, e);
+        }
+    }
+
+    /**
+     * For edits that change what the listing shows: bumps the listing version and, when
+     * given, the event's own version. Bumped again after the surrounding transaction
+     * completes so entries built from pre-commit reads are orphaned.
+     */
+    public void invalidateEvent(Long eventId) {
+        invalidate(eventId, true);
+    }
+
+    /**
+     * For booking counter changes (sales, cancellations, expiries, repairs): bumps only the
+     * event's own version, now and after the surrounding transaction completes. Listing
+     * pages keep their entries and catch up with the time bucket.
+     */
+    public void invalidateAvailability(Long eventId) {
+        invalidate(eventId, false);
+    }
+
+    private void invalidate(Long eventId, boolean listing) {
+        if (store == null) {
+            return;
+        }
+        bumpVersions(eventId, listing);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bumpVersions(eventId, listing);
+                }
+            });
+        }
+    }
+
+    private void bumpVersions(Long eventId, boolean listing) {
+        try {
+            if (listing) {
+                store.increment(LIST_VERSION_KEY);
+            }
+            if (eventId != null) {
+                store.increment(EVENT_VERSION_KEY_PREFIX + eventId);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to bump shared cache version for event {}: {}", eventId, e.getMessage());
+        }
+    }
+
+    private String listKey(LocalDateTime now, int page, int size, String listingVersion) {
+        long bucket = now.toEpochSecond(ZoneOffset.UTC) / bucketSeconds;
+        long version = store.getCounter(LIST_VERSION_KEY);
+        return "events:list:v" + version + ":" + listingVersion + ":" + bucket + ":" + page + ":" + size;
+    }
+
+    private String eventKey(Long eventId) {
+        long version = store.getCounter(EVENT_VERSION_KEY_PREFIX + eventId);
+        return "events:detail:" + eventId + ":v" + version;
+    }
+
+    /**
+     * Encodes as non-null JSON, gzip-compressed when large; the first byte records the format.
+     */
+    byte[] encode(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 16);
+            if (json.length < GZIP_THRESHOLD_BYTES) {
+                out.write(FORMAT_PLAIN);
+                out.write(json);
+            } else {
+                out.write(FORMAT_GZIP);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(json);
+                }
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode shared cache payload", e);
+        }
+    }
+
+    <T> T decode(byte[] payload, Class<T> type) {
+        if (payload == null || payload.length == 0) {
+            return null;
+        }
+        try {
+            InputStream in = new ByteArrayInputStream(payload, 1, payload.length - 1);
+            if (payload[0] == FORMAT_GZIP) {
+                in = new GZIPInputStream(in);
+            }
+            try (InputStream body = in) {
+                return objectMapper.readValue(body, type);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode shared cache payload", e);
+        }
+    }
+
+    /**
+     * Keeps the version that {@link EventResponse} hides from API clients, so replicas can
+     * tell whether a shared body matches the row version they are about to advertise.
+     */
+    abstract static class VersionedEventResponse {
+
+        @JsonProperty("version")
+        abstract String getVersion();
+
+        @JsonProperty("version")
+        abstract void setVersion(String version);
+    }
+}
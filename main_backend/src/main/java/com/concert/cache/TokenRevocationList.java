@@ -0,0 +1,14 @@
+package com.concert.cache;
+
+/**
+ * Digests of bearer tokens revoked before they expire. Entries are kept until their
+ * token expires and are never evicted for space, since forgetting one would make a
+ * revoked token valid again. Implementations throw when the list cannot be reached,
+ * and callers must then treat the token as revoked.
+ */
+public interface TokenRevocationList {
+
+    void revoke(String tokenDigest, long expiresAtMillis);
+
+    boolean isRevoked(String tokenDigest);
+}
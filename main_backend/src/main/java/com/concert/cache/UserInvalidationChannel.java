@@ -0,0 +1,17 @@
+package com.concert.cache;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Broadcasts user cache invalidations to the other backend replicas. Delivery is
+ * best-effort; the cache TTL bounds staleness when a message is lost.
+ */
+public interface UserInvalidationChannel {
+
+    void publish(Long userId, String username);
+
+    /**
+     * Registers the listener for invalidations published by any replica, this one included.
+     */
+    void subscribe(BiConsumer<Long, String> listener);
+}
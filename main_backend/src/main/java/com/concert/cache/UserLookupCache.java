@@ -0,0 +1,109 @@
+package com.concert.cache;
+
+import com.concert.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Near cache of {@link UserSnapshot}s keyed by username and by id, filled by whichever
+ * lookup misses first. Unknown users are not cached, so registration needs no
+ * invalidation. Updates to a user must call {@link #invalidate}; with a
+ * {@link UserInvalidationChannel} configured the other replicas drop the entry too.
+ */
+@Component
+public class UserLookupCache {
+
+    public static final String CACHE_NAME = "users";
+
+    private final Cache<String, UserSnapshot> byUsername;
+    private final Cache<Long, UserSnapshot> byId;
+    private final UserInvalidationChannel channel;
+
+    public UserLookupCache(MeterRegistry meterRegistry,
+                           Optional<UserInvalidationChannel> channel,
+                           @Value("${app.cache.users.max-size:10000}") long maxSize,
+                           @Value("${app.cache.users.ttl:10m}") Duration ttl) {
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, CACHE_NAME);
+        this.channel = channel.orElse(null);
+        if (this.channel != null) {
+            this.channel.subscribe(this::evict);
+        }
+    }
+
+    public Optional<UserSnapshot> getByUsername(String username, Function<String, Optional<User>> loader) {
+        UserSnapshot cached = byUsername.getIfPresent(username);
+        return cached != null ? Optional.of(cached) : load(loader.apply(username));
+    }
+
+    public Optional<UserSnapshot> getById(Long id, Function<Long, Optional<User>> loader) {
+        UserSnapshot cached = byId.getIfPresent(id);
+        return cached != null ? Optional.of(cached) : load(loader.apply(id));
+    }
+
+    /**
+     * Evicts the user now and again once the surrounding transaction completes, so a
+     * lookup racing the update cannot re-cache the pre-commit row, then tells the other
+     * replicas.
+     */
+    public void invalidate(Long id, String username) {
+        evict(id, username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id, username);
+                    publish(id, username);
+                }
+            });
+        } else {
+            publish(id, username);
+        }
+    }
+
+    public long size() {
+        return byUsername.estimatedSize();
+    }
+
+    private Optional<UserSnapshot> load(Optional<User> user) {
+        Optional<UserSnapshot> snapshot = user.map(UserSnapshot::of);
+        snapshot.ifPresent(value -> {
+            byUsername.put(value.getUsername(), value);
+            byId.put(value.getId(), value);
+        });
+        return snapshot;
+    }
+
+    private void evict(Long id, String username) {
+        if (username != null) {
+            byUsername.invalidate(username);
+        }
+        if (id != null) {
+            byId.invalidate(id);
+        }
+    }
+
+    private void publish(Long id, String username) {
+        if (channel != null) {
+            channel.publish(id, username);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.concert.cache;
+
+import com.concert.model.User;
+
+/**
+ * The account fields needed to identify a user and check their tokens, as they were
+ * when loaded. Profile details stay out so the snapshot only changes with the account,
+ * and so does the password hash: only login needs it, and login reads it from the
+ * database rather than from a long-lived cache entry.
+ */
+public final class UserSnapshot {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String name;
+    private final long profileVersion;
+
+    public UserSnapshot(Long id, String username, String email, String name, long profileVersion) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.name = name;
+        this.profileVersion = profileVersion;
+    }
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getName(),
+                user.getProfileVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getProfileVersion() {
+        return profileVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSnapshot{id=" + id + ", username=" + username + ", profileVersion=" + profileVersion + "}";
+    }
+}
@@ -0,0 +1,145 @@
+package com.concert.cache;
+
+import com.concert.service.JwtService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Claims of bearer tokens that already passed {@link JwtService#parseVerified}, keyed by
+ * a SHA-256 digest of the token, so a repeat token costs one hash and one lookup instead
+ * of an HMAC verification and a JSON parse. Each entry expires with its token.
+ *
+ * <p>Every verification, cached or not, first consults the {@link TokenRevocationList},
+ * which may be shared between instances; when it cannot be read the token is rejected
+ * rather than trusted. Revoking also evicts the cached entry.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "verifiedTokens";
+
+    private final JwtService jwtService;
+    private final Cache<String, VerifiedToken> verified;
+    private final TokenRevocationList revocationList;
+
+    public VerifiedTokenCache(JwtService jwtService, TokenRevocationList revocationList, MeterRegistry meterRegistry,
+                              @Value("${app.auth.token-cache.max-size:100000}") long maxSize) {
+        this.jwtService = jwtService;
+        this.revocationList = revocationList;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(untilExpiry((VerifiedToken token) -> token.expiresAt))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, CACHE_NAME);
+    }
+
+    /**
+     * Claims of a valid token. Throws {@link JwtException} when the token is invalid,
+     * expired or revoked. The returned claims are shared and must not be modified.
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        checkNotRevoked(digest);
+        return claims(token, digest);
+    }
+
+    /**
+     * Rejects the token from now until it expires. Returns false when the token was not
+     * valid to begin with.
+     */
+    public boolean revoke(String token) {
+        String digest = digest(token);
+        Claims claims;
+        try {
+            claims = claims(token, digest);
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+        revocationList.revoke(digest, claims.getExpiration().getTime());
+        verified.invalidate(digest);
+        return true;
+    }
+
+    public long size() {
+        return verified.estimatedSize();
+    }
+
+    private Claims claims(String token, String digest) {
+        VerifiedToken entry = verified.getIfPresent(digest);
+        if (entry != null) {
+            if (entry.expiresAt > System.currentTimeMillis()) {
+                return entry.claims;
+            }
+            verified.invalidate(digest);
+        }
+        Claims claims = jwtService.parseVerified(token);
+        verified.put(digest, new VerifiedToken(claims));
+        return claims;
+    }
+
+    private void checkNotRevoked(String digest) {
+        boolean revoked;
+        try {
+            revoked = revocationList.isRevoked(digest);
+        } catch (RuntimeException e) {
+            throw new JwtException("Token revocation list unavailable", e);
+        }
+        if (revoked) {
+            throw new JwtException("Token has been revoked");
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static <V> Expiry<String, V> untilExpiry(ToLongFunction<V> expiresAtMillis) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, V value, long currentTime) {
+                long remaining = expiresAtMillis.applyAsLong(value) - System.currentTimeMillis();
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, V value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static final class VerifiedToken {
+        private final Claims claims;
+        private final long expiresAt;
+
+        VerifiedToken(Claims claims) {
+            this.claims = claims;
+            this.expiresAt = claims.getExpiration().getTime();
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.concert.controller;
 
+import com.concert.cache.VerifiedTokenCache;
 import com.concert.dto.AuthResponse;
 import com.concert.dto.LoginRequest;
 import com.concert.dto.RegisterRequest;
 import com.concert.dto.UserProfileResponse;
+import com.concert.security.LoginRateLimiter;
+import com.concert.security.PasswordHashingOverloadedException;
 import com.concert.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -19,9 +24,23 @@ public class AuthController {
     
     @Autowired
     private AuthService authService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
     
+    /**
+     * Answers 429 with Retry-After when the client address has used up its attempts or
+     * when the password hashing pool is saturated.
+     */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
+    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest registerRequest,
+                                                 HttpServletRequest httpRequest) {
+        if (loginRateLimiter.isThrottled(null, httpRequest.getRemoteAddr())) {
+            return tooManyAttempts();
+        }
         try {
             AuthResponse response = authService.register(registerRequest);
             
@@ -30,14 +49,24 @@ public class AuthController {
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (PasswordHashingOverloadedException e) {
+            return tooManyAttempts();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new AuthResponse("Registration failed: " + e.getMessage()));
         }
     }
     
+    /**
+     * Answers 429 with Retry-After when the account or the client address has used up
+     * its attempts, or when the password hashing pool is saturated.
+     */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest httpRequest) {
+        if (loginRateLimiter.isThrottled(loginRequest.getUsernameOrEmail(), httpRequest.getRemoteAddr())) {
+            return tooManyAttempts();
+        }
         try {
             AuthResponse response = authService.login(loginRequest);
             
@@ -46,12 +75,33 @@ public class AuthController {
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (PasswordHashingOverloadedException e) {
+            return tooManyAttempts();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new AuthResponse("Login failed: " + e.getMessage()));
         }
     }
+
+    private ResponseEntity<AuthResponse> tooManyAttempts() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new AuthResponse("Too many attempts, please try again later"));
+    }
     
+    /**
+     * Revokes the bearer token of the request until it expires. Answers 204 whether or
+     * not the token was still valid.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(name = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        verifiedTokenCache.revoke(authHeader.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/test")
     public ResponseEntity<String> test() {
         return ResponseEntity.ok("Auth API is working!");
@@ -2,41 +2,206 @@ package com.concert.controller;
 
 import com.concert.dto.BookingResponse;
 import com.concert.dto.CreateBookingRequest;
+import com.concert.dto.CreateCartRequest;
+import com.concert.dto.CursorPage;
+import com.concert.dto.ResourceValidator;
+import com.concert.idempotency.IdempotencyKeyException;
+import com.concert.idempotency.IdempotencyService;
+import com.concert.inventory.PipelineOverloadedException;
 import com.concert.service.BookingService;
+import com.concert.service.TicketsUnavailableException;
+import com.concert.waitingroom.NotAdmittedException;
+import com.concert.waitingroom.WaitingRoomService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/bookings")
 @CrossOrigin(origins = "*")
 public class BookingController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final BookingService bookingService;
+    private final WaitingRoomService waitingRoomService;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, WaitingRoomService waitingRoomService,
+                             IdempotencyService idempotencyService) {
         this.bookingService = bookingService;
+        this.waitingRoomService = waitingRoomService;
+        this.idempotencyService = idempotencyService;
     }
 
+    /**
+     * Bookings for high-demand events need an admitted waiting-room token in
+     * {@code X-Queue-Token}; without one the request is turned away with 429.
+     * A retry carrying the same {@code Idempotency-Key} gets the original response.
+     * A high-demand booking not written within the inventory's wait answers 503.
+     */
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(
             @Valid @RequestBody CreateBookingRequest request,
+            @RequestHeader(name = WaitingRoomController.QUEUE_TOKEN_HEADER, required = false) String queueToken,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
         String username = authentication.getName();
-        BookingResponse response = bookingService.createBooking(username, request);
-        return ResponseEntity.ok(response);
+        try {
+            return execute(username, idempotencyKey, "booking", request,
+                    () -> admitted(request, username, queueToken, () -> bookingService.createBooking(username, request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            // A high-demand booking that was not written in time; nothing was booked
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+    }
+
+    /**
+     * Accepts a booking into the asynchronous pipeline and answers 202 with the booking
+     * as PENDING; its outcome is polled from {@code /{id}/status}. A full pipeline answers
+     * 429 with Retry-After, and 503 when the pipeline is disabled. Gated by the waiting
+     * room and deduplicated like a direct booking.
+     */
+    @PostMapping("/async")
+    public ResponseEntity<BookingResponse> submitBooking(
+            @Valid @RequestBody CreateBookingRequest request,
+            @RequestHeader(name = WaitingRoomController.QUEUE_TOKEN_HEADER, required = false) String queueToken,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            Authentication authentication) {
+        String username = authentication.getName();
+        try {
+            ResponseEntity<BookingResponse> response = execute(username, idempotencyKey, "async-booking", request,
+                    () -> admitted(request, username, queueToken, () -> bookingService.submitBooking(username, request)));
+            return response.getStatusCode().is2xxSuccessful()
+                    ? ResponseEntity.status(HttpStatus.ACCEPTED).body(response.getBody())
+                    : response;
+        } catch (PipelineOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/{id}/status")
+    public ResponseEntity<BookingResponse> getBookingStatus(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(bookingService.getBookingStatus(id, authentication.getName()));
+    }
+
+    /**
+     * Places a time-limited hold (PENDING booking) that must be confirmed before it
+     * expires. Gated by the waiting room and deduplicated like a direct booking.
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<BookingResponse> createHold(
+            @Valid @RequestBody CreateBookingRequest request,
+            @RequestHeader(name = WaitingRoomController.QUEUE_TOKEN_HEADER, required = false) String queueToken,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            Authentication authentication) {
+        String username = authentication.getName();
+        try {
+            return execute(username, idempotencyKey, "hold", request,
+                    () -> admitted(request, username, queueToken, () -> bookingService.createHold(username, request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Books several events at once; all items succeed or none do (409 when any event
+     * lacks the tickets).
+     */
+    @PostMapping("/cart")
+    public ResponseEntity<List<BookingResponse>> createCart(@Valid @RequestBody CreateCartRequest request,
+                                                            Authentication authentication) {
+        try {
+            return ResponseEntity.ok(bookingService.createCart(authentication.getName(), request.getItems()));
+        } catch (TicketsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // The waiting-room gate runs inside the idempotent action so a retry is replayed
+    // before its already-consumed queue token could turn it away
+    private ResponseEntity<BookingResponse> execute(String username, String idempotencyKey, String operation,
+                                                    CreateBookingRequest request, Supplier<BookingResponse> action) {
+        String fingerprint = operation + "|" + request.getEventId() + "|" + request.getQuantity();
+        try {
+            return ResponseEntity.ok(idempotencyService.execute(username, idempotencyKey, fingerprint, action));
+        } catch (NotAdmittedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (TicketsUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IdempotencyKeyException e) {
+            return ResponseEntity.status(e.isInProgress() ? HttpStatus.CONFLICT : HttpStatus.UNPROCESSABLE_ENTITY)
+                    .build();
+        }
+    }
+
+    // A booking that fails after passing the gate hands its admission back, so a sold-out
+    // or failed attempt does not cost the waiter their place
+    private BookingResponse admitted(CreateBookingRequest request, String username, String queueToken,
+                                     Supplier<BookingResponse> booking) {
+        if (waitingRoomService.holdsBack(request.getEventId(), username, queueToken)) {
+            throw new NotAdmittedException(request.getEventId());
+        }
+        try {
+            return booking.get();
+        } catch (RuntimeException e) {
+            waitingRoomService.restore(request.getEventId(), username, queueToken);
+            throw e;
+        }
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<BookingResponse> confirmHold(@PathVariable Long id, Authentication authentication) {
+        try {
+            return ResponseEntity.ok(bookingService.confirmHold(id, authentication.getName()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     @GetMapping("/me")
-    public ResponseEntity<List<BookingResponse>> getMyBookings(Authentication authentication) {
+    public ResponseEntity<List<BookingResponse>> getMyBookings(Authentication authentication, WebRequest webRequest) {
         String username = authentication.getName();
+        ResourceValidator validator = bookingService.getUserBookingsValidator(username);
+        if (webRequest.checkNotModified(validator.getEtag())) {
+            return null;
+        }
         List<BookingResponse> bookings = bookingService.getUserBookings(username);
-        return ResponseEntity.ok(bookings);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(validator.getEtag())
+                .body(bookings);
+    }
+
+    @GetMapping(value = "/me", params = "cursor")
+    public ResponseEntity<CursorPage<BookingResponse>> getMyBookingsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String username = authentication.getName();
+        try {
+            return ResponseEntity.ok(bookingService.getUserBookings(username, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/my-bookings")
@@ -1,22 +1,38 @@
 package com.concert.controller;
 
 import com.concert.dto.CreateEventRequest;
+import com.concert.dto.CursorPage;
 import com.concert.dto.EventResponse;
+import com.concert.dto.EventSuggestion;
+import com.concert.dto.EventParticipantSummary;
 import com.concert.dto.EventPhotoResponse;
+import com.concert.dto.EventView;
+import com.concert.dto.ResourceValidator;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
+import com.concert.search.EventSearchQuery;
+import com.concert.search.EventSearchService;
+import com.concert.search.EventSuggestService;
+import com.concert.search.SearchHits;
+import com.concert.security.CurrentUser;
 import com.concert.service.EventService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/events")
@@ -25,10 +41,19 @@ public class EventController {
 
     private final EventService eventService;
     private final UserRepository userRepository;
+    private final EventSearchService eventSearchService;
+    private final EventSuggestService eventSuggestService;
 
-    public EventController(EventService eventService, UserRepository userRepository) {
+    // How long shared caches (CDN) may serve anonymous event reads without revalidating
+    @Value("${app.http.events.public-max-age-seconds:30}")
+    private long publicMaxAgeSeconds;
+
+    public EventController(EventService eventService, UserRepository userRepository,
+                           EventSearchService eventSearchService, EventSuggestService eventSuggestService) {
         this.eventService = eventService;
         this.userRepository = userRepository;
+        this.eventSearchService = eventSearchService;
+        this.eventSuggestService = eventSuggestService;
     }
 
     @PostMapping
@@ -46,20 +71,113 @@ public class EventController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<EventResponse>> listEvents(Authentication authentication,
-                                                          @RequestParam(defaultValue = "0") int page,
-                                                          @RequestParam(defaultValue = "12") int size) {
+    public ResponseEntity<Page<?>> listEvents(Authentication authentication,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "12") int size,
+                                              @RequestParam(required = false) String view,
+                                              @RequestParam(required = false) String fields,
+                                              WebRequest webRequest) {
         Pageable pageable = PageRequest.of(page, size);
+        EventView eventView;
+        try {
+            eventView = EventView.of(view, fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         User currentUser = getUserOrNull(authentication);
-        Page<EventResponse> events = eventService.getUpcomingEvents(pageable, currentUser);
-        return ResponseEntity.ok(events);
+        ResourceValidator validator = eventService.getUpcomingEventsValidator(currentUser);
+        if (webRequest.checkNotModified(validator.getEtag())) {
+            return null;
+        }
+        Page<EventResponse> events = eventService.getUpcomingEvents(pageable, currentUser, validator.getVersion());
+        return ResponseEntity.ok()
+                .cacheControl(cacheControlFor(currentUser))
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .eTag(validator.getEtag())
+                .body(eventView.isDefault() ? events : events.map(eventView::render));
+    }
+
+    /**
+     * Cursor mode of the listing, selected by the presence of the {@code cursor}
+     * parameter (empty for the first page). No total count is computed.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<?>> listEventsByCursor(Authentication authentication,
+                                                            @RequestParam String cursor,
+                                                            @RequestParam(defaultValue = "12") int size,
+                                                            @RequestParam(required = false) String view,
+                                                            @RequestParam(required = false) String fields) {
+        User currentUser = getUserOrNull(authentication);
+        try {
+            EventView eventView = EventView.of(view, fields);
+            CursorPage<EventResponse> events = eventService.getUpcomingEvents(cursor, size, currentUser);
+            return ResponseEntity.ok(eventView.isDefault() ? events : events.map(eventView::render));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/json")
-    public ResponseEntity<Page<EventResponse>> listEventsJson(Authentication authentication,
-                                                              @RequestParam(defaultValue = "0") int page,
-                                                              @RequestParam(defaultValue = "12") int size) {
-        return listEvents(authentication, page, size);
+    public ResponseEntity<Page<?>> listEventsJson(Authentication authentication,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "12") int size,
+                                                  @RequestParam(required = false) String view,
+                                                  @RequestParam(required = false) String fields,
+                                                  WebRequest webRequest) {
+        return listEvents(authentication, page, size, view, fields, webRequest);
+    }
+
+    /**
+     * Ranked full-text search over title, description, category, city and location,
+     * served from the in-memory index. Results are keyset-paginated by relevance and
+     * default to the summary view.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<?>> searchEvents(
+            Authentication authentication,
+            @RequestParam(name = "q", required = false) String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "summary") String view,
+            @RequestParam(required = false) String fields) {
+        EventSearchQuery query = new EventSearchQuery();
+        query.setText(text);
+        query.setFrom(from);
+        query.setTo(to);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+        query.setCity(city);
+        query.setCategory(category);
+        query.setCursor(cursor);
+        query.setSize(size);
+        try {
+            EventView eventView = EventView.of(view, fields);
+            SearchHits hits = eventSearchService.search(query);
+            List<EventResponse> events = eventService.getEventsByIds(hits.getEventIds(), getUserOrNull(authentication));
+            CursorPage<EventResponse> page = new CursorPage<>(events, CursorPage.clampSize(size), hits.getNextCursor());
+            return ResponseEntity.ok(eventView.isDefault() ? page : page.map(eventView::render));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Type-ahead suggestions for titles, cities, categories and locations of upcoming
+     * events, heaviest by ticket sales first. Served from memory and identical for every
+     * caller, so shared caches may keep it.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<EventSuggestion>> suggestEvents(@RequestParam(name = "q", defaultValue = "") String prefix,
+                                                               @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(publicMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .body(eventSuggestService.suggest(prefix, limit));
     }
 
     @GetMapping("/me")
@@ -85,15 +203,47 @@ public class EventController {
     }
 
     @GetMapping("/json/{id}")
-    public ResponseEntity<EventResponse> getEventJson(Authentication authentication, @PathVariable Long id) {
-        return getEvent(authentication, id);
+    public ResponseEntity<?> getEventJson(Authentication authentication, @PathVariable Long id,
+                                          @RequestParam(required = false) String view,
+                                          @RequestParam(required = false) String fields,
+                                          WebRequest webRequest) {
+        return getEvent(authentication, id, view, fields, webRequest);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponse> getEvent(Authentication authentication, @PathVariable Long id) {
+    public ResponseEntity<?> getEvent(Authentication authentication, @PathVariable Long id,
+                                      @RequestParam(required = false) String view,
+                                      @RequestParam(required = false) String fields,
+                                      WebRequest webRequest) {
+        EventView eventView;
+        try {
+            eventView = EventView.of(view, fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         User currentUser = getUserOrNull(authentication);
-        EventResponse event = eventService.getEvent(id, currentUser);
-        return ResponseEntity.ok(event);
+        ResourceValidator validator = eventService.getEventValidator(id, currentUser);
+        if (webRequest.checkNotModified(validator.getEtag(), validator.getLastModifiedMillis())) {
+            return null;
+        }
+        EventResponse event = eventService.getEvent(id, currentUser, validator.getVersion());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(cacheControlFor(currentUser))
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .eTag(validator.getEtag());
+        if (validator.getLastModified() != null) {
+            builder.lastModified(validator.getLastModified());
+        }
+        return builder.body(eventView.render(event));
+    }
+
+    @GetMapping("/{id}/participants")
+    public ResponseEntity<Page<EventParticipantSummary>> getParticipants(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), CursorPage.clampSize(size));
+        return ResponseEntity.ok(eventService.getParticipants(id, pageable));
     }
 
     @PutMapping("/{id}")
@@ -157,11 +307,22 @@ public class EventController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Anonymous reads are identical for everyone and may sit in a CDN briefly; personalized
+     * ones stay private and are revalidated with their ETag on every request.
+     */
+    private CacheControl cacheControlFor(User currentUser) {
+        if (currentUser == null) {
+            return CacheControl.maxAge(publicMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        }
+        return CacheControl.noCache().cachePrivate();
+    }
+
     private User getCurrentUser(Authentication authentication) {
         if (authentication == null || authentication.getName() == null) {
             throw new IllegalArgumentException("Authentication required");
         }
-        return userRepository.findByUsername(authentication.getName())
+        return CurrentUser.find(userRepository, authentication.getName())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
@@ -169,6 +330,6 @@ public class EventController {
         if (authentication == null || authentication.getName() == null) {
             return null;
         }
-        return userRepository.findByUsername(authentication.getName()).orElse(null);
+        return CurrentUser.find(userRepository, authentication.getName()).orElse(null);
     }
 }
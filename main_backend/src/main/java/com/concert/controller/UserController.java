@@ -1,9 +1,11 @@
 package com.concert.controller;
 
+import com.concert.cache.UserLookupCache;
 import com.concert.dto.UpdateProfileRequest;
 import com.concert.dto.UserProfileResponse;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
+import com.concert.security.CurrentUser;
 import com.concert.service.UserProfileService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -19,10 +21,13 @@ public class UserController {
     
     private final UserRepository userRepository;
     private final UserProfileService userProfileService;
+    private final UserLookupCache userLookupCache;
 
-    public UserController(UserRepository userRepository, UserProfileService userProfileService) {
+    public UserController(UserRepository userRepository, UserProfileService userProfileService,
+                          UserLookupCache userLookupCache) {
         this.userRepository = userRepository;
         this.userProfileService = userProfileService;
+        this.userLookupCache = userLookupCache;
     }
     
     @GetMapping
@@ -76,7 +81,7 @@ public class UserController {
             }
             
             String username = authentication.getName();
-            return userRepository.findByUsername(username)
+            return CurrentUser.find(userRepository, username)
                     .map(user -> {
                         if (req.getFirstName() != null || req.getLastName() != null) {
                             String full = ((req.getFirstName() != null ? req.getFirstName() : "").trim() + " " + (req.getLastName() != null ? req.getLastName() : "").trim()).trim();
@@ -91,6 +96,7 @@ public class UserController {
                         if (req.getCompany() != null) user.setCompany(req.getCompany());
                         if (req.getWebsite() != null) user.setWebsite(req.getWebsite());
                         User saved = userRepository.save(user);
+                        userLookupCache.invalidate(saved.getId(), saved.getUsername());
 
                         UserProfileResponse profile = userProfileService.buildResponse(saved);
                         return ResponseEntity.ok(profile);
@@ -105,7 +111,7 @@ public class UserController {
     public ResponseEntity<?> updateMe(Authentication authentication, @RequestBody UpdateProfileRequest req) {
         try {
             String username = authentication.getName();
-            return userRepository.findByUsername(username)
+            return CurrentUser.find(userRepository, username)
                     .map(user -> {
                         if (req.getFirstName() != null || req.getLastName() != null) {
                             String full = ((req.getFirstName() != null ? req.getFirstName() : "").trim() + " " + (req.getLastName() != null ? req.getLastName() : "").trim()).trim();
@@ -120,6 +126,7 @@ public class UserController {
                         if (req.getCompany() != null) user.setCompany(req.getCompany());
                         if (req.getWebsite() != null) user.setWebsite(req.getWebsite());
                         User saved = userRepository.save(user);
+                        userLookupCache.invalidate(saved.getId(), saved.getUsername());
 
                         UserProfileResponse profile = userProfileService.buildResponse(saved);
                         return ResponseEntity.ok(profile);
@@ -136,6 +143,7 @@ public class UserController {
         try {
             User currentUser = getCurrentUser(authentication);
             UserProfileResponse response = userProfileService.uploadProfilePhoto(currentUser, file);
+            userLookupCache.invalidate(currentUser.getId(), currentUser.getUsername());
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -148,7 +156,7 @@ public class UserController {
         if (authentication == null || authentication.getName() == null) {
             throw new IllegalArgumentException("Authentication required");
         }
-        return userRepository.findByUsername(authentication.getName())
+        return CurrentUser.find(userRepository, authentication.getName())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
@@ -0,0 +1,54 @@
+package com.concert.controller;
+
+import com.concert.dto.QueueStatusResponse;
+import com.concert.waitingroom.WaitingRoomService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/queue")
+@CrossOrigin(origins = "*")
+public class WaitingRoomController {
+
+    public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+    private final WaitingRoomService waitingRoomService;
+
+    public WaitingRoomController(WaitingRoomService waitingRoomService) {
+        this.waitingRoomService = waitingRoomService;
+    }
+
+    @PostMapping
+    public ResponseEntity<QueueStatusResponse> joinQueue(@PathVariable Long eventId, Authentication authentication) {
+        try {
+            return ResponseEntity.ok(waitingRoomService.join(eventId, authentication.getName()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<QueueStatusResponse> queueStatus(
+            @PathVariable Long eventId,
+            @RequestHeader(name = QUEUE_TOKEN_HEADER, required = false) String headerToken,
+            @RequestParam(required = false) String token) {
+        try {
+            return ResponseEntity.ok(waitingRoomService.status(eventId, headerToken != null ? headerToken : token));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // EventSource cannot send headers, so the stream takes the token as a parameter
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamQueueStatus(@PathVariable Long eventId, @RequestParam String token) {
+        try {
+            return ResponseEntity.ok(waitingRoomService.stream(eventId, token));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
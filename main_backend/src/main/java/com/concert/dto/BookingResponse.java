@@ -17,6 +17,9 @@ public class BookingResponse {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime eventStartDate;
 
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime holdExpiresAt;
+
     private String eventLocation;
 
     // Getters and Setters
@@ -91,4 +94,12 @@ public class BookingResponse {
     public void setEventLocation(String eventLocation) {
         this.eventLocation = eventLocation;
     }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
 }
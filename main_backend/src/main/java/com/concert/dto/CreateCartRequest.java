@@ -0,0 +1,29 @@
+package com.concert.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class CreateCartRequest {
+    public static final int MAX_ITEMS = 50;
+
+    @NotEmpty(message = "Cart must contain at least one item")
+    @Size(max = MAX_ITEMS, message = "Cart can contain at most " + MAX_ITEMS + " items")
+    @Valid
+    private List<CreateBookingRequest> items;
+
+    public CreateCartRequest() {}
+
+    public CreateCartRequest(List<CreateBookingRequest> items) {
+        this.items = items;
+    }
+
+    public List<CreateBookingRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CreateBookingRequest> items) {
+        this.items = items;
+    }
+}
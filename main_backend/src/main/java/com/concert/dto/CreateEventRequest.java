@@ -37,6 +37,8 @@ public class CreateEventRequest {
 
     private Double ticketPrice;
 
+    private Boolean highDemand;
+
     private String photoUrl;
 
     public String getTitle() {
@@ -135,6 +137,14 @@ public class CreateEventRequest {
         this.ticketPrice = ticketPrice;
     }
 
+    public Boolean getHighDemand() {
+        return highDemand;
+    }
+
+    public void setHighDemand(Boolean highDemand) {
+        this.highDemand = highDemand;
+    }
+
     public String getPhotoUrl() {
         return photoUrl;
     }
@@ -1,5 +1,7 @@
 package com.concert.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -29,6 +31,9 @@ public class EventResponse {
     private boolean ownedByRequester;
     private Integer participantsCount;
     private List<EventParticipantSummary> participants;
+    // Row version the response was built from; internal, not part of the API
+    @JsonIgnore
+    private String version;
 
     public Long getId() {
         return id;
@@ -221,4 +226,45 @@ public class EventResponse {
     public void setParticipants(List<EventParticipantSummary> participants) {
         this.participants = participants;
     }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    /**
+     * Shallow copy used to overlay per-request fields onto a shared cached response.
+     */
+    public EventResponse copy() {
+        EventResponse copy = new EventResponse();
+        copy.id = id;
+        copy.title = title;
+        copy.description = description;
+        copy.category = category;
+        copy.location = location;
+        copy.address = address;
+        copy.city = city;
+        copy.country = country;
+        copy.personLimit = personLimit;
+        copy.phone = phone;
+        copy.startDate = startDate;
+        copy.endDate = endDate;
+        copy.ticketPrice = ticketPrice;
+        copy.photoId = photoId;
+        copy.photoUrl = photoUrl;
+        copy.photo = photo;
+        copy.organizer = organizer;
+        copy.organizerId = organizerId;
+        copy.organizerUsername = organizerUsername;
+        copy.organizerName = organizerName;
+        copy.ownedByCurrentUser = ownedByCurrentUser;
+        copy.ownedByRequester = ownedByRequester;
+        copy.participantsCount = participantsCount;
+        copy.participants = participants;
+        copy.version = version;
+        return copy;
+    }
 }
@@ -0,0 +1,59 @@
+package com.concert.dto;
+
+/**
+ * One type-ahead suggestion. {@code eventId} is set for event titles only; cities,
+ * categories and locations aggregate all upcoming events that share the value.
+ */
+public class EventSuggestion {
+
+    public enum Type {
+        TITLE, CITY, CATEGORY, LOCATION
+    }
+
+    private String text;
+    private Type type;
+    private Long eventId;
+    private long weight;
+
+    public EventSuggestion() {
+    }
+
+    public EventSuggestion(String text, Type type, Long eventId, long weight) {
+        this.text = text;
+        this.type = type;
+        this.eventId = eventId;
+        this.weight = weight;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public void setWeight(long weight) {
+        this.weight = weight;
+    }
+}
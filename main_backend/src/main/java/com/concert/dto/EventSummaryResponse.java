@@ -0,0 +1,159 @@
+package com.concert.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact listing representation of an event: no description or participant list, and
+ * organizer and photo data appear once instead of in both nested and flattened form.
+ */
+public class EventSummaryResponse {
+
+    private Long id;
+    private String title;
+    private String category;
+    private String location;
+    private String city;
+    private String country;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Double ticketPrice;
+    private Integer personLimit;
+    private Integer participantsCount;
+    private String photoUrl;
+    private EventOrganizerSummary organizer;
+    private boolean ownedByCurrentUser;
+
+    public EventSummaryResponse() {
+    }
+
+    public static EventSummaryResponse from(EventResponse event) {
+        EventSummaryResponse summary = new EventSummaryResponse();
+        summary.id = event.getId();
+        summary.title = event.getTitle();
+        summary.category = event.getCategory();
+        summary.location = event.getLocation();
+        summary.city = event.getCity();
+        summary.country = event.getCountry();
+        summary.startDate = event.getStartDate();
+        summary.endDate = event.getEndDate();
+        summary.ticketPrice = event.getTicketPrice();
+        summary.personLimit = event.getPersonLimit();
+        summary.participantsCount = event.getParticipantsCount();
+        summary.photoUrl = event.getPhotoUrl();
+        summary.organizer = event.getOrganizer();
+        summary.ownedByCurrentUser = event.isOwnedByCurrentUser();
+        return summary;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+
+    public Double getTicketPrice() {
+        return ticketPrice;
+    }
+
+    public void setTicketPrice(Double ticketPrice) {
+        this.ticketPrice = ticketPrice;
+    }
+
+    public Integer getPersonLimit() {
+        return personLimit;
+    }
+
+    public void setPersonLimit(Integer personLimit) {
+        this.personLimit = personLimit;
+    }
+
+    public Integer getParticipantsCount() {
+        return participantsCount;
+    }
+
+    public void setParticipantsCount(Integer participantsCount) {
+        this.participantsCount = participantsCount;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public void setPhotoUrl(String photoUrl) {
+        this.photoUrl = photoUrl;
+    }
+
+    public EventOrganizerSummary getOrganizer() {
+        return organizer;
+    }
+
+    public void setOrganizer(EventOrganizerSummary organizer) {
+        this.organizer = organizer;
+    }
+
+    public boolean isOwnedByCurrentUser() {
+        return ownedByCurrentUser;
+    }
+
+    public void setOwnedByCurrentUser(boolean ownedByCurrentUser) {
+        this.ownedByCurrentUser = ownedByCurrentUser;
+    }
+}
@@ -0,0 +1,69 @@
+package com.concert.dto;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Client-selected shape of event payloads: {@code view=summary|detail} picks the
+ * representation and an optional {@code fields=a,b,c} list narrows it further.
+ */
+public class EventView {
+
+    public static final EventView DETAIL = new EventView(false, Collections.emptySet());
+
+    private final boolean summary;
+    private final Set<String> fields;
+
+    private EventView(boolean summary, Set<String> fields) {
+        this.summary = summary;
+        this.fields = fields;
+    }
+
+    public static EventView of(String view, String fields) {
+        boolean summary;
+        if (view == null || view.isBlank() || "detail".equalsIgnoreCase(view)) {
+            summary = false;
+        } else if ("summary".equalsIgnoreCase(view)) {
+            summary = true;
+        } else {
+            throw new IllegalArgumentException("Unknown view: " + view);
+        }
+        Set<String> selected = fields == null ? Collections.emptySet() : Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return new EventView(summary, selected);
+    }
+
+    public boolean isDefault() {
+        return !summary && fields.isEmpty();
+    }
+
+    /**
+     * Renders one event in this view. Field selection copies only the requested readable
+     * properties, so unselected ones (participants in particular) are never serialized;
+     * unknown names are ignored.
+     */
+    public Object render(EventResponse event) {
+        Object shaped = summary ? EventSummaryResponse.from(event) : event;
+        if (fields.isEmpty()) {
+            return shaped;
+        }
+        BeanWrapper wrapper = new BeanWrapperImpl(shaped);
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String field : fields) {
+            if (!"class".equals(field) && wrapper.isReadableProperty(field)) {
+                selected.put(field, wrapper.getPropertyValue(field));
+            }
+        }
+        return selected;
+    }
+}
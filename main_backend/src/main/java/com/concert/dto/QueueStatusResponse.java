@@ -0,0 +1,65 @@
+package com.concert.dto;
+
+/**
+ * A waiter's standing in an event's admission queue. {@code position} is the number
+ * of waiters still ahead, 0 once admitted.
+ */
+public class QueueStatusResponse {
+
+    private Long eventId;
+    private String token;
+    private long position;
+    private boolean admitted;
+    private long estimatedWaitSeconds;
+
+    public QueueStatusResponse() {
+    }
+
+    public QueueStatusResponse(Long eventId, String token, long position, boolean admitted, long estimatedWaitSeconds) {
+        this.eventId = eventId;
+        this.token = token;
+        this.position = position;
+        this.admitted = admitted;
+        this.estimatedWaitSeconds = estimatedWaitSeconds;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
+    public boolean isAdmitted() {
+        return admitted;
+    }
+
+    public void setAdmitted(boolean admitted) {
+        this.admitted = admitted;
+    }
+
+    public long getEstimatedWaitSeconds() {
+        return estimatedWaitSeconds;
+    }
+
+    public void setEstimatedWaitSeconds(long estimatedWaitSeconds) {
+        this.estimatedWaitSeconds = estimatedWaitSeconds;
+    }
+}
@@ -0,0 +1,56 @@
+package com.concert.dto;
+
+import java.time.Instant;
+
+/**
+ * HTTP validators for a representation: a weak ETag and, when known, the last
+ * modification time. Computed from cheap version columns so a conditional GET can be
+ * answered with 304 before the response body is built.
+ */
+public class ResourceValidator {
+
+    private final String etag;
+    private final Instant lastModified;
+    private final String version;
+
+    public ResourceValidator(String etag, Instant lastModified) {
+        this(etag, lastModified, null);
+    }
+
+    public ResourceValidator(String etag, Instant lastModified, String version) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.version = version;
+    }
+
+    public static ResourceValidator weak(String tag, Instant lastModified) {
+        return weak(tag, lastModified, null);
+    }
+
+    public static ResourceValidator weak(String tag, Instant lastModified, String version) {
+        return new ResourceValidator("W/\"" + tag + "\"", lastModified, version);
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Version of the resource the validators were computed from, so the body sent with
+     * them can be checked against it; null when not tracked.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Epoch millis for {@code WebRequest.checkNotModified}; -1 when unknown.
+     */
+    public long getLastModifiedMillis() {
+        return lastModified != null ? lastModified.toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.concert.idempotency;
+
+/**
+ * Thrown when an idempotency key cannot be honoured: it is still being executed
+ * elsewhere, or it was already used for a different request.
+ */
+public class IdempotencyKeyException extends RuntimeException {
+
+    private final boolean inProgress;
+
+    public IdempotencyKeyException(String message, boolean inProgress) {
+        super(message);
+        this.inProgress = inProgress;
+    }
+
+    public boolean isInProgress() {
+        return inProgress;
+    }
+}
@@ -0,0 +1,117 @@
+package com.concert.idempotency;
+
+import com.concert.dto.BookingResponse;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs a booking request at most once per {@code Idempotency-Key}. Keys are scoped to
+ * the user. A completed request's response is stored and replayed for retries without
+ * touching the database; concurrent duplicates on this instance wait for the first one
+ * and share its outcome. Failures are not stored, so a failed request can be retried
+ * with the same key.
+ */
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyStore store;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Runs {@code action} unless the key has already been used. The fingerprint
+     * identifies the request; reusing a key for a different request is rejected.
+     * Without a key the action simply runs.
+     */
+    public BookingResponse execute(String username, String idempotencyKey, String fingerprint,
+                                   Supplier<BookingResponse> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = username + ":" + idempotencyKey;
+        BookingResponse stored = replay(key, fingerprint);
+        if (stored != null) {
+            return stored;
+        }
+
+        InFlight own = new InFlight(fingerprint);
+        InFlight running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            if (!running.fingerprint.equals(fingerprint)) {
+                throw reused();
+            }
+            return await(running.result);
+        }
+        try {
+            BookingResponse response = runOnce(key, fingerprint, action);
+            own.result.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            own.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private BookingResponse runOnce(String key, String fingerprint, Supplier<BookingResponse> action) {
+        // Re-check after winning the local race: the previous owner may have just finished
+        BookingResponse stored = replay(key, fingerprint);
+        if (stored != null) {
+            return stored;
+        }
+        if (!store.claim(key)) {
+            throw new IdempotencyKeyException("Request with this idempotency key is still in progress", true);
+        }
+        try {
+            BookingResponse response = action.get();
+            store.put(key, new IdempotentResult(fingerprint, response));
+            return response;
+        } finally {
+            store.release(key);
+        }
+    }
+
+    private BookingResponse replay(String key, String fingerprint) {
+        IdempotentResult result = store.get(key);
+        if (result == null) {
+            return null;
+        }
+        if (!result.getFingerprint().equals(fingerprint)) {
+            throw reused();
+        }
+        return result.getResponse();
+    }
+
+    private static IdempotencyKeyException reused() {
+        return new IdempotencyKeyException("Idempotency key was used for a different request", false);
+    }
+
+    private static BookingResponse await(CompletableFuture<BookingResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class InFlight {
+        final String fingerprint;
+        final CompletableFuture<BookingResponse> result = new CompletableFuture<>();
+
+        InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.concert.idempotency;
+
+/**
+ * Storage for completed idempotent requests. Entries expire after
+ * {@code app.idempotency.ttl}.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * The stored result, or null when the key is unknown or expired.
+     */
+    IdempotentResult get(String key);
+
+    void put(String key, IdempotentResult result);
+
+    /**
+     * Claims the key for one execution across instances. Returns false when another
+     * execution holds it.
+     */
+    boolean claim(String key);
+
+    void release(String key);
+}
@@ -0,0 +1,37 @@
+package com.concert.idempotency;
+
+import com.concert.dto.BookingResponse;
+
+/**
+ * The outcome stored under an idempotency key, with a fingerprint of the request that
+ * produced it so a key reused for a different request can be told apart from a retry.
+ */
+public class IdempotentResult {
+
+    private String fingerprint;
+    private BookingResponse response;
+
+    public IdempotentResult() {
+    }
+
+    public IdempotentResult(String fingerprint, BookingResponse response) {
+        this.fingerprint = fingerprint;
+        this.response = response;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public BookingResponse getResponse() {
+        return response;
+    }
+
+    public void setResponse(BookingResponse response) {
+        this.response = response;
+    }
+}
@@ -0,0 +1,82 @@
+package com.concert.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single-instance store: insertion-ordered map bounded to {@code max-entries}. Every
+ * entry has the same TTL, so insertion order is also expiry order and expired entries
+ * are trimmed from the head. Claims are not needed here; concurrent duplicates on one
+ * instance already collapse in {@link IdempotencyService}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(@Value("${app.idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${app.idempotency.max-entries:100000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public synchronized IdempotentResult get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.result;
+    }
+
+    @Override
+    public synchronized void put(String key, IdempotentResult result) {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Entry>> head = entries.entrySet().iterator();
+        while (head.hasNext()) {
+            Map.Entry<String, Entry> eldest = head.next();
+            if (eldest.getValue().expiresAt > now && entries.size() < maxEntries) {
+                break;
+            }
+            head.remove();
+        }
+        entries.remove(key);
+        entries.put(key, new Entry(result, now + ttlMillis));
+    }
+
+    @Override
+    public boolean claim(String key) {
+        return true;
+    }
+
+    @Override
+    public void release(String key) {
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        final IdempotentResult result;
+        final long expiresAt;
+
+        Entry(IdempotentResult result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
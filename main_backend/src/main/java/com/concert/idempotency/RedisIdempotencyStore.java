@@ -0,0 +1,73 @@
+package com.concert.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Store shared by all instances. Results are JSON values with the configured TTL; a
+ * short-lived SET NX lock keeps two instances from executing the same key at once.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final Duration CLAIM_TTL = Duration.ofSeconds(60);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.idempotency.ttl:24h}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public IdempotentResult get(String key) {
+        String json = redisTemplate.opsForValue().get(resultKey(key));
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, IdempotentResult.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotent result for " + key, e);
+        }
+    }
+
+    @Override
+    public void put(String key, IdempotentResult result) {
+        try {
+            redisTemplate.opsForValue().set(resultKey(key), objectMapper.writeValueAsString(result), ttl);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store idempotent result for " + key, e);
+        }
+    }
+
+    @Override
+    public boolean claim(String key) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(claimKey(key), "1", CLAIM_TTL));
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(claimKey(key));
+    }
+
+    private static String resultKey(String key) {
+        return "idempotency:" + key;
+    }
+
+    private static String claimKey(String key) {
+        return "idempotency:claim:" + key;
+    }
+}
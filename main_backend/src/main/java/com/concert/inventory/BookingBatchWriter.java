@@ -0,0 +1,157 @@
+package com.concert.inventory;
+
+import com.concert.model.Booking;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bounded queue of bookings and the single thread that writes it. The writer
+ * drains up to {@code batchSize} bookings at a time and commits each event's share in
+ * its own transaction: one conditional tickets_sold update for the whole share plus
+ * batched inserts, falling back to one update per booking when the share does not fit.
+ * The outcome of every share goes to the owner's {@link Outcome}.
+ *
+ * <p>Shared by {@link HighDemandInventory} and {@link BookingPipeline}; each instance
+ * must be the only writer for the events queued on it.
+ */
+final class BookingBatchWriter<T extends QueuedBooking> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingBatchWriter.class);
+
+    /**
+     * Receives the outcome of each event's share of a batch, on the writer thread.
+     */
+    interface Outcome<T> {
+
+        /**
+         * The share committed; {@code accepted} holds the bookings that fitted, in queue order.
+         */
+        void written(Long eventId, List<T> group, List<T> accepted);
+
+        /**
+         * The share's transaction failed and none of its bookings were written.
+         */
+        void failed(Long eventId, List<T> group, RuntimeException e);
+    }
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Outcome<T> outcome;
+    private final BlockingQueue<T> queue;
+    private final Thread writer;
+    private volatile boolean running;
+
+    BookingBatchWriter(String name, EventRepository eventRepository, BookingRepository bookingRepository,
+                       TransactionTemplate transactionTemplate, int capacity, int batchSize, Outcome<T> outcome) {
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.outcome = outcome;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, capacity));
+        this.writer = new Thread(this::writeLoop, name);
+        this.writer.setDaemon(true);
+    }
+
+    void start() {
+        running = true;
+        writer.start();
+    }
+
+    /**
+     * Stops accepting work and lets the writer drain what is already queued.
+     */
+    void stop(long drainMillis) throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(drainMillis);
+    }
+
+    /**
+     * Queues a booking; false when the writer is stopped or the queue is full.
+     */
+    boolean offer(T booking) {
+        return running && queue.offer(booking);
+    }
+
+    /**
+     * Takes a booking back off the queue; false once the writer has picked it up.
+     */
+    boolean remove(T booking) {
+        return queue.remove(booking);
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<T> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // stop() interrupts a waiting writer; loop again to drain the queue
+            } catch (RuntimeException e) {
+                logger.error("Booking writer {} failed", writer.getName(), e);
+            }
+        }
+    }
+
+    private void flush(List<T> batch) {
+        Map<Long, List<T>> byEvent = new LinkedHashMap<>();
+        for (T booking : batch) {
+            byEvent.computeIfAbsent(booking.getEventId(), id -> new ArrayList<>()).add(booking);
+        }
+        byEvent.forEach((eventId, group) -> {
+            List<T> accepted;
+            try {
+                accepted = transactionTemplate.execute(status -> write(eventId, group));
+            } catch (RuntimeException e) {
+                logger.warn("Writing {} bookings for event {} failed", group.size(), eventId, e);
+                outcome.failed(eventId, group, e);
+                return;
+            }
+            outcome.written(eventId, group, accepted);
+        });
+    }
+
+    private List<T> write(Long eventId, List<T> group) {
+        LocalDateTime now = LocalDateTime.now();
+        int total = group.stream().mapToInt(QueuedBooking::getQuantity).sum();
+        List<T> accepted = group;
+        if (eventRepository.reserveTickets(eventId, total, now) == 0) {
+            accepted = new ArrayList<>();
+            for (T booking : group) {
+                if (eventRepository.reserveTickets(eventId, booking.getQuantity(), now) > 0) {
+                    accepted.add(booking);
+                }
+            }
+        }
+        List<Booking> saved = bookingRepository.saveAll(accepted.stream().map(QueuedBooking::getBooking).toList());
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).setBooking(saved.get(i));
+        }
+        return accepted;
+    }
+}
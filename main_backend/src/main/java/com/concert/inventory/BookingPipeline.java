@@ -0,0 +1,178 @@
+package com.concert.inventory;
+
+import com.concert.cache.EventResponseCache;
+import com.concert.cache.SharedEventCache;
+import com.concert.model.Booking;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Asynchronous booking ingestion. Accepted bookings go onto one of
+ * {@code app.bookings.pipeline.partitions} {@link BookingBatchWriter}s, chosen by event
+ * id, so every event has exactly one writer thread. The caller gets the outcome later
+ * through {@link #find(Long)}. High-demand events are not accepted here; they are
+ * written by {@link HighDemandInventory}.
+ *
+ * <p>A full queue rejects the submission instead of growing, so overload reaches the
+ * client as backpressure. Outcomes are kept in memory for {@code status-ttl}; confirmed
+ * bookings are in the database after that, rejected ones are forgotten.
+ */
+@Service
+public class BookingPipeline {
+
+    public enum State { PENDING, CONFIRMED, REJECTED, FAILED }
+
+    private final EventResponseCache eventResponseCache;
+    private final SharedEventCache sharedEventCache;
+    private final boolean enabled;
+    private final long drainMillis;
+
+    private final List<BookingBatchWriter<Request>> partitions = new ArrayList<>();
+    private final Cache<Long, Request> requests;
+    private volatile boolean running;
+
+    public BookingPipeline(EventRepository eventRepository, BookingRepository bookingRepository,
+                           EventResponseCache eventResponseCache, SharedEventCache sharedEventCache,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${app.bookings.pipeline.enabled:false}") boolean enabled,
+                           @Value("${app.bookings.pipeline.partitions:4}") int partitionCount,
+                           @Value("${app.bookings.pipeline.partition-capacity:10000}") int partitionCapacity,
+                           @Value("${app.bookings.pipeline.batch-size:200}") int batchSize,
+                           @Value("${app.bookings.pipeline.status-ttl:15m}") Duration statusTtl,
+                           @Value("${app.inventory.max-wait-ms:30000}") long drainMillis) {
+        this.eventResponseCache = eventResponseCache;
+        this.sharedEventCache = sharedEventCache;
+        this.enabled = enabled;
+        this.drainMillis = drainMillis;
+        int count = Math.max(1, partitionCount);
+        int capacity = Math.max(1, partitionCapacity);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Outcome outcome = new Outcome();
+        for (int i = 0; i < count; i++) {
+            partitions.add(new BookingBatchWriter<>("booking-pipeline-" + i, eventRepository, bookingRepository,
+                    transactionTemplate, capacity, batchSize, outcome));
+        }
+        // Room for every queued request plus as many finished ones again
+        this.requests = Caffeine.newBuilder()
+                .maximumSize(2L * count * capacity)
+                .expireAfterWrite(statusTtl)
+                .build();
+        Gauge.builder("bookings.pipeline.queued", this, BookingPipeline::queued)
+                .description("Bookings accepted but not yet written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        partitions.forEach(BookingBatchWriter::start);
+    }
+
+    /**
+     * Stops accepting work and lets each writer drain what is already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (BookingBatchWriter<Request> partition : partitions) {
+            partition.stop(drainMillis);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a booking whose id is already assigned and returns at once. Throws
+     * {@link PipelineOverloadedException} when the event's partition is full.
+     */
+    public void submit(Booking booking, Long eventId, int quantity) {
+        if (!running) {
+            throw new IllegalStateException("Booking pipeline is not running");
+        }
+        Request request = new Request(booking, eventId, quantity);
+        requests.put(booking.getId(), request);
+        if (!partitionOf(eventId).offer(request)) {
+            requests.invalidate(booking.getId());
+            throw new PipelineOverloadedException("Booking pipeline is full");
+        }
+    }
+
+    /**
+     * The tracked request for a booking id, while its outcome is still retained.
+     */
+    public Optional<Request> find(Long bookingId) {
+        return Optional.ofNullable(requests.getIfPresent(bookingId));
+    }
+
+    long queued() {
+        long total = 0;
+        for (BookingBatchWriter<Request> partition : partitions) {
+            total += partition.queued();
+        }
+        return total;
+    }
+
+    private BookingBatchWriter<Request> partitionOf(Long eventId) {
+        return partitions.get(Math.floorMod(Long.hashCode(eventId), partitions.size()));
+    }
+
+    private void finish(Request request, State state) {
+        request.state = state;
+        // Re-put so the outcome is retained for a full status-ttl from now
+        requests.put(request.getBooking().getId(), request);
+    }
+
+    private final class Outcome implements BookingBatchWriter.Outcome<Request> {
+
+        @Override
+        public void written(Long eventId, List<Request> group, List<Request> accepted) {
+            for (Request request : group) {
+                finish(request, accepted.contains(request) ? State.CONFIRMED : State.REJECTED);
+            }
+            if (!accepted.isEmpty()) {
+                eventResponseCache.invalidate(eventId);
+                sharedEventCache.invalidateAvailability(eventId);
+            }
+        }
+
+        @Override
+        public void failed(Long eventId, List<Request> group, RuntimeException e) {
+            group.forEach(request -> finish(request, State.FAILED));
+        }
+    }
+
+    public static final class Request extends QueuedBooking {
+        private volatile State state = State.PENDING;
+
+        Request(Booking booking, Long eventId, int quantity) {
+            super(booking, eventId, quantity);
+        }
+
+        public State getState() {
+            return state;
+        }
+    }
+}
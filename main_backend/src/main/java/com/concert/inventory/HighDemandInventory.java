@@ -0,0 +1,203 @@
+package com.concert.inventory;
+
+import com.concert.model.Booking;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventBookingView;
+import com.concert.repository.EventRepository;
+import com.concert.service.EventChangedEvent;
+import com.concert.service.TicketsUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Inventory for events flagged as high-demand. Admission is decided by a
+ * {@link StripedCounter} per event, seeded from the database as
+ * {@code personLimit - ticketsSold}; admitted bookings are queued on a
+ * {@link BookingBatchWriter}, whose single thread commits each batch with one
+ * conditional tickets_sold update per event instead of one per booking. Callers wait
+ * for their batch to commit, so nothing is acknowledged before it is durable.
+ *
+ * <p>The counters are only an admission filter. The database update keeps the
+ * {@code ticketsSold + qty <= personLimit} condition, so a stale counter (after a
+ * restart, or with several instances selling the same event) can never oversell: when
+ * a batch does not fit, its bookings are retried one by one, the misfits are rejected
+ * and the counter is reloaded.
+ */
+@Service
+public class HighDemandInventory {
+
+    private final EventRepository eventRepository;
+    private final int stripes;
+    private final long maxWaitMillis;
+
+    private final Map<Long, StripedCounter> counters = new ConcurrentHashMap<>();
+    private final BookingBatchWriter<PendingBooking> writer;
+
+    public HighDemandInventory(EventRepository eventRepository, BookingRepository bookingRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.inventory.stripes:16}") int stripes,
+                               @Value("${app.inventory.batch-size:200}") int batchSize,
+                               @Value("${app.inventory.queue-capacity:100000}") int queueCapacity,
+                               @Value("${app.inventory.max-wait-ms:30000}") long maxWaitMillis) {
+        this.eventRepository = eventRepository;
+        this.stripes = stripes;
+        this.maxWaitMillis = maxWaitMillis;
+        this.writer = new BookingBatchWriter<>("inventory-writer", eventRepository, bookingRepository,
+                new TransactionTemplate(transactionManager), queueCapacity, batchSize, new Outcome());
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * Stops accepting work and lets the writer drain what is already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.stop(maxWaitMillis);
+    }
+
+    /**
+     * Admits the booking against the in-memory counter and blocks until the writer
+     * has committed it. Throws {@link TicketsUnavailableException} when the event is
+     * sold out, either in memory or at commit time.
+     *
+     * <p>A booking still queued after {@code max-wait-ms} is taken back off the queue and
+     * fails with {@link IllegalStateException}, so it can never commit after its caller
+     * was told it failed. One the writer has already picked up is waited for, since its
+     * batch is being committed.
+     */
+    public Booking book(Booking booking, Long eventId, int quantity, Integer personLimit) {
+        StripedCounter counter = personLimit == null ? null : counters.computeIfAbsent(eventId, this::load);
+        if (counter != null && !counter.tryTake(quantity)) {
+            throw new TicketsUnavailableException("Not enough tickets left");
+        }
+        PendingBooking pending = new PendingBooking(booking, eventId, quantity);
+        if (!writer.offer(pending)) {
+            if (counter != null) {
+                counter.release(quantity);
+            }
+            throw new IllegalStateException("Booking queue is full");
+        }
+        try {
+            return pending.result.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        } catch (TimeoutException e) {
+            if (writer.remove(pending)) {
+                if (counter != null) {
+                    counter.release(quantity);
+                }
+                throw new IllegalStateException("Booking timed out before it was written");
+            }
+            return awaitWritten(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while booking", e);
+        }
+    }
+
+    private Booking awaitWritten(PendingBooking pending) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return pending.result.get();
+                } catch (InterruptedException e) {
+                    // The outcome is moments away and must reach the caller either way
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw failure(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException failure(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new IllegalStateException("Booking failed", e.getCause());
+    }
+
+    /**
+     * Returns cancelled tickets to the counter, if the event has one loaded.
+     */
+    public void release(Long eventId, int quantity) {
+        StripedCounter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.release(quantity);
+        }
+    }
+
+    /**
+     * Remaining tickets as seen by the counter, or -1 when none is loaded.
+     */
+    public long remaining(Long eventId) {
+        StripedCounter counter = counters.get(eventId);
+        return counter != null ? counter.remaining() : -1;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        // The limit may have changed; reload from the database on the next booking
+        counters.remove(change.getEventId());
+    }
+
+    private StripedCounter load(Long eventId) {
+        EventBookingView event = eventRepository.findBookingViewById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        int sold = event.getTicketsSold() != null ? event.getTicketsSold() : 0;
+        int limit = event.getPersonLimit() != null ? event.getPersonLimit() : 0;
+        return new StripedCounter(limit - sold, stripes);
+    }
+
+    private final class Outcome implements BookingBatchWriter.Outcome<PendingBooking> {
+
+        @Override
+        public void written(Long eventId, List<PendingBooking> group, List<PendingBooking> accepted) {
+            for (PendingBooking pending : group) {
+                if (accepted.contains(pending)) {
+                    pending.result.complete(pending.getBooking());
+                } else {
+                    pending.result.completeExceptionally(new TicketsUnavailableException("Not enough tickets left"));
+                }
+            }
+            if (accepted.size() < group.size()) {
+                counters.remove(eventId);
+            }
+        }
+
+        @Override
+        public void failed(Long eventId, List<PendingBooking> group, RuntimeException e) {
+            counters.remove(eventId);
+            group.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+
+    static final class PendingBooking extends QueuedBooking {
+        private final CompletableFuture<Booking> result = new CompletableFuture<>();
+
+        PendingBooking(Booking booking, Long eventId, int quantity) {
+            super(booking, eventId, quantity);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.concert.inventory;
+
+/**
+ * Thrown when a booking cannot be queued because its pipeline partition is full.
+ */
+public class PipelineOverloadedException extends RuntimeException {
+
+    public PipelineOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.concert.inventory;
+
+import com.concert.model.Booking;
+
+/**
+ * A booking waiting in a {@link BookingBatchWriter} queue, with the event and quantity
+ * it reserves. Holds the saved entity once its batch has been written.
+ */
+public abstract class QueuedBooking {
+
+    private volatile Booking booking;
+    private final Long eventId;
+    private final int quantity;
+
+    protected QueuedBooking(Booking booking, Long eventId, int quantity) {
+        this.booking = booking;
+        this.eventId = eventId;
+        this.quantity = quantity;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+
+    Long getEventId() {
+        return eventId;
+    }
+
+    int getQuantity() {
+        return quantity;
+    }
+}
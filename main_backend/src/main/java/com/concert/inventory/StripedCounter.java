@@ -0,0 +1,99 @@
+package com.concert.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Remaining tickets of one event split across padded stripes. Takers CAS-decrement a
+ * stripe chosen per thread and never go below zero, so the stripes can never hand out
+ * more than was put in. When the home stripe runs dry the taker tries the others, and
+ * only if none alone can satisfy the request does it pool all stripes under a lock and
+ * spread the remainder evenly again.
+ */
+public class StripedCounter {
+
+    // 8 longs = 64 bytes, so neighbouring stripes never share a cache line
+    private static final int PAD = 8;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+    private final Object rebalanceLock = new Object();
+
+    public StripedCounter(long remaining, int stripes) {
+        this.stripes = Math.max(1, stripes);
+        this.cells = new AtomicLongArray(this.stripes * PAD);
+        spread(Math.max(0, remaining));
+    }
+
+    /**
+     * Takes {@code quantity} tickets if that many remain. Lock-free unless the
+     * remaining tickets are scattered too thinly over the stripes.
+     */
+    public boolean tryTake(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        int home = homeStripe();
+        for (int i = 0; i < stripes; i++) {
+            if (tryTakeFrom((home + i) % stripes, quantity)) {
+                return true;
+            }
+        }
+        return rebalanceAndTake(quantity);
+    }
+
+    /**
+     * Puts tickets back, e.g. after a cancellation or a failed write.
+     */
+    public void release(int quantity) {
+        if (quantity > 0) {
+            cells.getAndAdd(homeStripe() * PAD, quantity);
+        }
+    }
+
+    /**
+     * Sum of all stripes; only a snapshot while takers are running.
+     */
+    public long remaining() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PAD);
+        }
+        return sum;
+    }
+
+    private boolean tryTakeFrom(int stripe, int quantity) {
+        int index = stripe * PAD;
+        long current;
+        do {
+            current = cells.get(index);
+            if (current < quantity) {
+                return false;
+            }
+        } while (!cells.compareAndSet(index, current, current - quantity));
+        return true;
+    }
+
+    private boolean rebalanceAndTake(int quantity) {
+        synchronized (rebalanceLock) {
+            long pooled = 0;
+            for (int i = 0; i < stripes; i++) {
+                pooled += cells.getAndSet(i * PAD, 0);
+            }
+            boolean taken = pooled >= quantity;
+            spread(taken ? pooled - quantity : pooled);
+            return taken;
+        }
+    }
+
+    private void spread(long total) {
+        long share = total / stripes;
+        long extra = total % stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.getAndAdd(i * PAD, share + (i < extra ? 1 : 0));
+        }
+    }
+
+    private int homeStripe() {
+        return (int) (Thread.currentThread().threadId() % stripes);
+    }
+}
@@ -1,13 +1,21 @@
 package com.concert.model;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
-public class Booking {
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_user_date_id", columnList = "user_id, booking_date, id"),
+        @Index(name = "idx_bookings_event_status", columnList = "event_id, status"),
+        @Index(name = "idx_bookings_event_ref_status", columnList = "event_ref, status_code"),
+        @Index(name = "idx_bookings_status_hold_expiry", columnList = "status, hold_expires_at")
+})
+public class Booking implements Persistable<Long> {
+    // Allocated in blocks by BookingIdAllocator so inserts can be JDBC-batched (IDENTITY
+    // disables batching); BookingService assigns ids before opening a transaction
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BookingId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -18,6 +26,11 @@ public class Booking {
     @Column(name = "event_id", nullable = false)
     private String eventId;
 
+    // Numeric copy of eventId for events stored here (null for external ids), kept in step
+    // by setEventId; older rows are filled in by BookingReferenceBackfill
+    @Column(name = "event_ref")
+    private Long eventRef;
+
     @Column(name = "event_title")
     private String eventTitle;
 
@@ -34,7 +47,16 @@ public class Booking {
     private Double totalPrice;
 
     @Column(nullable = false)
-    private String status; // PENDING, CONFIRMED, CANCELLED
+    private String status; // PENDING (hold), CONFIRMED, CANCELLED, EXPIRED
+
+    // One-byte encoding of status for the (event_ref, status_code) index, kept in step by setStatus
+    @Convert(converter = BookingStatusConverter.class)
+    @Column(name = "status_code")
+    private BookingStatus statusCode;
+
+    // Set while the booking is a PENDING hold; the hold is released after this instant
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
 
     @Column(name = "booking_date", nullable = false)
     private LocalDateTime bookingDate;
@@ -42,6 +64,10 @@ public class Booking {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Ids are assigned up front, so saving must not infer "new" from a null id
+    @Transient
+    private boolean persisted;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -49,10 +75,21 @@ public class Booking {
             bookingDate = LocalDateTime.now();
         }
         if (status == null) {
-            status = "PENDING";
+            setStatus("PENDING");
         }
     }
 
+    @PostPersist
+    @PostLoad
+    protected void markPersisted() {
+        persisted = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -76,6 +113,11 @@ public class Booking {
 
     public void setEventId(String eventId) {
         this.eventId = eventId;
+        this.eventRef = toEventRef(eventId);
+    }
+
+    public Long getEventRef() {
+        return eventRef;
     }
 
     public String getEventTitle() {
@@ -124,6 +166,11 @@ public class Booking {
 
     public void setStatus(String status) {
         this.status = status;
+        this.statusCode = BookingStatus.fromName(status);
+    }
+
+    public BookingStatus getStatusCode() {
+        return statusCode;
     }
 
     public LocalDateTime getBookingDate() {
@@ -134,6 +181,14 @@ public class Booking {
         this.bookingDate = bookingDate;
     }
 
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -141,4 +196,18 @@ public class Booking {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    /**
+     * The numeric event id for an event stored here, or null for external (non-numeric) ids.
+     */
+    public static Long toEventRef(String eventId) {
+        if (eventId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(eventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
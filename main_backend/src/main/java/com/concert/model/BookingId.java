@@ -0,0 +1,19 @@
+package com.concert.model;
+
+import com.concert.repository.BookingIdGenerator;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Booking ids come from {@link com.concert.repository.BookingIdAllocator}; an id assigned
+ * before persisting is kept.
+ */
+@IdGeneratorType(BookingIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BookingId {
+}
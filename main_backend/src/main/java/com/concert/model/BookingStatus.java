@@ -0,0 +1,46 @@
+package com.concert.model;
+
+/**
+ * Booking lifecycle states with the one-byte codes stored in {@code bookings.status_code}.
+ * Codes are persisted: never renumber, only append.
+ */
+public enum BookingStatus {
+    PENDING(1),
+    CONFIRMED(2),
+    CANCELLED(3),
+    EXPIRED(4);
+
+    private final byte code;
+
+    BookingStatus(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static BookingStatus fromCode(byte code) {
+        for (BookingStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown booking status code " + code);
+    }
+
+    /**
+     * The status for a legacy status string, or null when it is not a known state.
+     */
+    public static BookingStatus fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (BookingStatus status : values()) {
+            if (status.name().equals(name)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.concert.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class BookingStatusConverter implements AttributeConverter<BookingStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(BookingStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public BookingStatus convertToEntityAttribute(Byte code) {
+        return code != null ? BookingStatus.fromCode(code) : null;
+    }
+}
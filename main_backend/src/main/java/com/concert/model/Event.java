@@ -2,10 +2,13 @@ package com.concert.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_start_date_id", columnList = "start_date, event_id")
+})
 public class Event {
 
     @Id
@@ -54,6 +57,26 @@ public class Event {
     @Column(name = "ticket_price")
     private Double ticketPrice;
 
+    // Materialized sum of CONFIRMED and held (PENDING) booking quantities, maintained by BookingService.
+    // Only written by bulk updates so flushing an edited event never overwrites it.
+    @ColumnDefault("0")
+    @Column(name = "tickets_sold", nullable = false, updatable = false)
+    private Integer ticketsSold = 0;
+
+    // Bumped with every tickets_sold change; part of the HTTP validators for the event
+    @ColumnDefault("0")
+    @Column(name = "booking_version", nullable = false, updatable = false)
+    private Long bookingVersion = 0L;
+
+    // Time of the last tickets_sold change; updatedAt only moves with edits to the event
+    @Column(name = "booking_changed_at", updatable = false)
+    private LocalDateTime bookingChangedAt;
+
+    // Bookings go through the striped in-memory inventory instead of one row update each
+    @ColumnDefault("false")
+    @Column(name = "high_demand", nullable = false)
+    private Boolean highDemand = false;
+
     @Column(name = "photo_id")
     private String photoId;
 
@@ -212,6 +235,22 @@ public class Event {
         this.ticketPrice = ticketPrice;
     }
 
+    public Boolean getHighDemand() {
+        return highDemand;
+    }
+
+    public void setHighDemand(Boolean highDemand) {
+        this.highDemand = highDemand;
+    }
+
+    public Integer getTicketsSold() {
+        return ticketsSold;
+    }
+
+    public void setTicketsSold(Integer ticketsSold) {
+        this.ticketsSold = ticketsSold;
+    }
+
     public String getPhotoId() {
         return photoId;
     }
@@ -255,6 +294,22 @@ public class Event {
         this.createdAt = createdAt;
     }
 
+    public Long getBookingVersion() {
+        return bookingVersion;
+    }
+
+    public void setBookingVersion(Long bookingVersion) {
+        this.bookingVersion = bookingVersion;
+    }
+
+    public LocalDateTime getBookingChangedAt() {
+        return bookingChangedAt;
+    }
+
+    public void setBookingChangedAt(LocalDateTime bookingChangedAt) {
+        this.bookingChangedAt = bookingChangedAt;
+    }
+
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -0,0 +1,38 @@
+package com.concert.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * One row per application-allocated id space; {@code next_val} is the first id of the
+ * next unclaimed block. Read and advanced with plain JDBC by the allocators, mapped here
+ * so the schema is managed with the rest of the model.
+ */
+@Entity
+@Table(name = "id_allocations")
+public class IdAllocation {
+    @Id
+    @Column(name = "entity_name")
+    private String entityName;
+
+    @Column(name = "next_val", nullable = false)
+    private Long nextVal;
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Long getNextVal() {
+        return nextVal;
+    }
+
+    public void setNextVal(Long nextVal) {
+        this.nextVal = nextVal;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
 @Table(name = "users")
@@ -47,6 +48,14 @@ public class User {
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Bumped when the username, email or password of a stored user changes; issued tokens
+    // carry the version they were issued at and are refused once it moves on
+    @Column(name = "profile_version", nullable = false)
+    private long profileVersion;
+
+    @Transient
+    private boolean accountChanged;
     
     // Constructors
     public User() {
@@ -91,6 +100,7 @@ public class User {
     }
     
     public void setUsername(String username) {
+        markAccountChange(this.username, username);
         this.username = username;
     }
     
@@ -99,6 +109,7 @@ public class User {
     }
     
     public void setEmail(String email) {
+        markAccountChange(this.email, email);
         this.email = email;
     }
     
@@ -107,6 +118,7 @@ public class User {
     }
     
     public void setPassword(String password) {
+        markAccountChange(this.password, password);
         this.password = password;
     }
     
@@ -190,8 +202,26 @@ public class User {
         this.updatedAt = updatedAt;
     }
     
+    public long getProfileVersion() {
+        return profileVersion;
+    }
+
+    public void setProfileVersion(long profileVersion) {
+        this.profileVersion = profileVersion;
+    }
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        if (accountChanged) {
+            this.profileVersion++;
+            this.accountChanged = false;
+        }
+    }
+
+    private void markAccountChange(String current, String updated) {
+        if (id != null && !Objects.equals(current, updated)) {
+            accountChanged = true;
+        }
     }
 }
@@ -0,0 +1,15 @@
+package com.concert.repository;
+
+/**
+ * The columns of a booking needed to cancel it in bulk and notify its owner.
+ */
+public interface BookingCancelView {
+
+    Long getId();
+
+    Long getUserId();
+
+    Integer getQuantity();
+
+    String getStatus();
+}
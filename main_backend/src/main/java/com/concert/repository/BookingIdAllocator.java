@@ -0,0 +1,124 @@
+package com.concert.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+/**
+ * Hands out booking ids from blocks of {@code app.bookings.id-block-size} claimed in the
+ * {@code id_allocations} table, so bookings can be inserted in JDBC batches. A block is
+ * claimed on its own short connection; callers take ids before opening their
+ * transaction, so a claim never waits for a pooled connection while holding another.
+ *
+ * <p>The first claim after startup also moves the allocation past the ids already in the
+ * bookings table, which were assigned by AUTO_INCREMENT before this allocator existed.
+ */
+@Component
+public class BookingIdAllocator {
+
+    static final String ID_NAME = "bookings";
+
+    private final DataSource dataSource;
+    private final int blockSize;
+    private long next;
+    private long limit;
+    private boolean seeded;
+
+    public BookingIdAllocator(DataSource dataSource, @Value("${app.bookings.id-block-size:100}") int blockSize) {
+        this.dataSource = dataSource;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public synchronized long next() {
+        if (next >= limit) {
+            claimBlock();
+        }
+        return next++;
+    }
+
+    public synchronized long[] next(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = next();
+        }
+        return ids;
+    }
+
+    private void claimBlock() {
+        try {
+            claimBlockOnce();
+        } catch (IllegalStateException e) {
+            if (!(e.getCause() instanceof SQLIntegrityConstraintViolationException)) {
+                throw e;
+            }
+            // Another instance created the allocation row first; it can be locked now
+            claimBlockOnce();
+        }
+    }
+
+    private void claimBlockOnce() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long start = claimBlock(connection);
+                connection.commit();
+                next = start;
+                limit = start + blockSize;
+                seeded = true;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not allocate booking ids", e);
+        }
+    }
+
+    private long claimBlock(Connection connection) throws SQLException {
+        Long start = lockAllocation(connection);
+        if (start == null) {
+            start = maxBookingId(connection) + 1;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into id_allocations (entity_name, next_val) values (?, ?)")) {
+                insert.setString(1, ID_NAME);
+                insert.setLong(2, start + blockSize);
+                insert.executeUpdate();
+            }
+            return start;
+        }
+        if (!seeded) {
+            start = Math.max(start, maxBookingId(connection) + 1);
+        }
+        try (PreparedStatement update = connection.prepareStatement(
+                "update id_allocations set next_val = ? where entity_name = ?")) {
+            update.setLong(1, start + blockSize);
+            update.setString(2, ID_NAME);
+            update.executeUpdate();
+        }
+        return start;
+    }
+
+    private static Long lockAllocation(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "select next_val from id_allocations where entity_name = ? for update")) {
+            select.setString(1, ID_NAME);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? rows.getLong(1) : null;
+            }
+        }
+    }
+
+    private static long maxBookingId(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("select coalesce(max(id), 0) from bookings");
+             ResultSet rows = select.executeQuery()) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.concert.repository;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * Hibernate side of {@link BookingIdAllocator}, created through the Spring bean container.
+ * Only bookings persisted without an id reach {@link #generate}; that path may claim a
+ * block while the session already holds a connection, which is why the booking service
+ * assigns ids before its transactions start.
+ */
+public class BookingIdGenerator implements BeforeExecutionGenerator {
+
+    private final BookingIdAllocator allocator;
+
+    public BookingIdGenerator(BookingIdAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return currentValue != null ? currentValue : allocator.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.concert.repository;
+
+/**
+ * The legacy string columns of a booking whose typed columns are still empty.
+ */
+public interface BookingReferenceView {
+
+    Long getId();
+
+    String getEventId();
+
+    String getStatus();
+}
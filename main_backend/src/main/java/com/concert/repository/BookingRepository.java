@@ -1,14 +1,148 @@
 package com.concert.repository;
 
 import com.concert.model.Booking;
+import com.concert.model.BookingStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUserIdOrderByBookingDateDesc(Long userId);
+    List<Booking> findByUserIdOrderByBookingDateDescIdDesc(Long userId, Limit limit);
+
+    @Query("select b from Booking b where b.user.id = :userId "
+            + "and (b.bookingDate < :bookingDate or (b.bookingDate = :bookingDate and b.id < :id)) "
+            + "order by b.bookingDate desc, b.id desc")
+    List<Booking> findByUserIdBefore(@Param("userId") Long userId,
+                                     @Param("bookingDate") LocalDateTime bookingDate,
+                                     @Param("id") Long id,
+                                     Limit limit);
+
+    @Query("select count(b) as bookingCount, coalesce(max(b.id), 0) as latestId, "
+            + "coalesce(sum(case when b.status = 'CONFIRMED' then 1 else 0 end), 0) as confirmedCount, "
+            + "coalesce(sum(case when b.status = 'CANCELLED' then 1 else 0 end), 0) as cancelledCount, "
+            + "coalesce(sum(case when b.status = 'PENDING' then 1 else 0 end), 0) as pendingCount "
+            + "from Booking b where b.user.id = :userId")
+    BookingsVersionView findVersionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Turns a PENDING hold into a confirmed booking if it has not expired yet.
+     */
+    @Modifying
+    @Query("update Booking b set b.status = 'CONFIRMED', b.statusCode = com.concert.model.BookingStatus.CONFIRMED, b.holdExpiresAt = null "
+            + "where b.id = :id and b.status = 'PENDING' and b.holdExpiresAt > :now")
+    int confirmHold(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b set b.status = 'CANCELLED', b.statusCode = com.concert.model.BookingStatus.CANCELLED, "
+            + "b.holdExpiresAt = null where b.id = :id and b.status = 'PENDING'")
+    int cancelHold(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Booking b set b.status = 'CANCELLED', b.statusCode = com.concert.model.BookingStatus.CANCELLED "
+            + "where b.id = :id and b.status = 'CONFIRMED'")
+    int cancelConfirmed(@Param("id") Long id);
+
+    /**
+     * Locks the holds among {@code ids} that are still PENDING and due, so a concurrent
+     * cancel or confirm cannot release the same tickets twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b where b.id in :ids and b.status = 'PENDING' and b.holdExpiresAt <= :now")
+    List<Booking> lockExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b set b.status = 'EXPIRED', b.statusCode = com.concert.model.BookingStatus.EXPIRED, "
+            + "b.holdExpiresAt = null where b.id in :ids")
+    int markExpired(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.id as id, b.holdExpiresAt as holdExpiresAt from Booking b "
+            + "where b.status = 'PENDING' and b.holdExpiresAt is not null and b.id > :afterId order by b.id")
+    List<HoldView> findHoldsAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Ids of PENDING holds already past their expiry, after {@code afterId} in id order.
+     * Backs the periodic sweep that catches holds no live timing wheel is tracking.
+     */
+    @Query("select b.id from Booking b where b.status = 'PENDING' and b.holdExpiresAt <= :now "
+            + "and b.id > :afterId order by b.id")
+    List<Long> findOverdueHoldIdsAfterId(@Param("afterId") Long afterId, @Param("now") LocalDateTime now, Limit limit);
+
     List<Booking> findByEventId(String eventId);
+
+    /**
+     * Locks the next {@code limit} confirmed bookings and pending holds of an event after
+     * {@code afterId}, in id order, without loading them as entities. Keyed on the string
+     * id, which every row carries, so it is one seek on (event_id, status) for local and
+     * external events alike, including rows the backfill has not reached.
+     */
+    @Query(value = "select b.id as id, b.user_id as userId, b.quantity as quantity, b.status as status "
+            + "from bookings b where b.event_id = :eventId and b.status in ('CONFIRMED', 'PENDING') "
+            + "and b.id > :afterId order by b.id limit :limit for update", nativeQuery = true)
+    List<BookingCancelView> lockActiveByEventAfterId(@Param("eventId") String eventId,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("limit") int limit);
+
+    @Modifying
+    @Query("update Booking b set b.status = 'CANCELLED', b.statusCode = com.concert.model.BookingStatus.CANCELLED, "
+            + "b.holdExpiresAt = null where b.id in :ids")
+    int cancelByIds(@Param("ids") Collection<Long> ids);
+
     List<Booking> findByEventIdAndStatus(String eventId, String status);
+
+    /**
+     * Tickets held by confirmed bookings and pending holds, per event; events without
+     * any are absent.
+     */
+    @Query("select b.eventRef as id, sum(b.quantity) as ticketsSold from Booking b where b.eventRef in :eventIds "
+            + "and b.statusCode in (com.concert.model.BookingStatus.CONFIRMED, com.concert.model.BookingStatus.PENDING) "
+            + "group by b.eventRef")
+    List<TicketCounterView> sumActiveQuantitiesByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Rows written before event_ref and status_code existed, in id order after {@code afterId}.
+     */
+    @Query("select b.id as id, b.eventId as eventId, b.status as status from Booking b "
+            + "where b.statusCode is null and b.id > :afterId order by b.id")
+    List<BookingReferenceView> findWithoutStatusCodeAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Fills the typed columns of rows that still have {@code status}; rows whose status was
+     * changed meanwhile already carry a code and are left alone.
+     */
+    @Modifying
+    @Query("update Booking b set b.eventRef = :eventRef, b.statusCode = :statusCode "
+            + "where b.id in :ids and b.statusCode is null and b.status = :status")
+    int backfillReferences(@Param("ids") Collection<Long> ids, @Param("eventRef") Long eventRef,
+                           @Param("status") String status, @Param("statusCode") BookingStatus statusCode);
+
+    @Query("select b.eventRef as eventId, coalesce(u.name, u.username) as userName, "
+            + "b.quantity as ticketCount, b.bookingDate as joinedAt "
+            + "from Booking b join b.user u "
+            + "where b.eventRef in :eventIds and b.statusCode = :status "
+            + "order by b.bookingDate asc, b.id asc")
+    List<ParticipantView> findParticipantsByEventIds(@Param("eventIds") Collection<Long> eventIds,
+                                                     @Param("status") BookingStatus status);
+
+    @Query(value = "select b.eventRef as eventId, coalesce(u.name, u.username) as userName, "
+            + "b.quantity as ticketCount, b.bookingDate as joinedAt "
+            + "from Booking b join b.user u "
+            + "where b.eventRef = :eventId and b.statusCode = :status "
+            + "order by b.bookingDate asc, b.id asc",
+            countQuery = "select count(b) from Booking b where b.eventRef = :eventId and b.statusCode = :status")
+    Page<ParticipantView> findParticipantsByEventId(@Param("eventId") Long eventId,
+                                                    @Param("status") BookingStatus status,
+                                                    Pageable pageable);
 }
@@ -0,0 +1,19 @@
+package com.concert.repository;
+
+/**
+ * Aggregate over one user's bookings. Status only moves forward (PENDING to CONFIRMED,
+ * CANCELLED or EXPIRED; CONFIRMED to CANCELLED), so the per-status counts change on
+ * every transition.
+ */
+public interface BookingsVersionView {
+
+    Long getBookingCount();
+
+    Long getLatestId();
+
+    Long getConfirmedCount();
+
+    Long getCancelledCount();
+
+    Long getPendingCount();
+}
@@ -0,0 +1,28 @@
+package com.concert.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The event fields a booking needs: the server-side price, the details copied onto the
+ * booking and the inventory used to reject sold-out requests early.
+ */
+public interface EventBookingView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getLocation();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+
+    Double getTicketPrice();
+
+    Integer getPersonLimit();
+
+    Integer getTicketsSold();
+
+    Boolean getHighDemand();
+}
@@ -0,0 +1,170 @@
+package com.concert.repository;
+
+import com.concert.model.Event;
+import com.concert.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only row for event listings. Filled by constructor expressions in
+ * {@link EventRepository} with the organizer columns joined into the same statement,
+ * so listing pages never hydrate {@link Event} entities or lazy-load organizers.
+ */
+public class EventListView {
+
+    /** Select list matching the constructor below; the query must alias events as e and organizers as o. */
+    static final String SELECT = "select new com.concert.repository.EventListView("
+            + "e.id, e.title, e.description, e.category, e.location, e.address, e.city, e.country, "
+            + "e.personLimit, e.phone, e.startDate, e.endDate, e.ticketPrice, e.photoId, e.photoUrl, "
+            + "e.ticketsSold, o.id, o.username, o.name, e.updatedAt, e.bookingVersion) ";
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final String location;
+    private final String address;
+    private final String city;
+    private final String country;
+    private final Integer personLimit;
+    private final String phone;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final Double ticketPrice;
+    private final String photoId;
+    private final String photoUrl;
+    private final Integer ticketsSold;
+    private final Long organizerId;
+    private final String organizerUsername;
+    private final String organizerName;
+    private final LocalDateTime updatedAt;
+    private final Long bookingVersion;
+
+    public EventListView(Long id, String title, String description, String category, String location,
+                         String address, String city, String country, Integer personLimit, String phone,
+                         LocalDateTime startDate, LocalDateTime endDate, Double ticketPrice,
+                         String photoId, String photoUrl, Integer ticketsSold,
+                         Long organizerId, String organizerUsername, String organizerName,
+                         LocalDateTime updatedAt, Long bookingVersion) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.location = location;
+        this.address = address;
+        this.city = city;
+        this.country = country;
+        this.personLimit = personLimit;
+        this.phone = phone;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.ticketPrice = ticketPrice;
+        this.photoId = photoId;
+        this.photoUrl = photoUrl;
+        this.ticketsSold = ticketsSold;
+        this.organizerId = organizerId;
+        this.organizerUsername = organizerUsername;
+        this.organizerName = organizerName;
+        this.updatedAt = updatedAt;
+        this.bookingVersion = bookingVersion;
+    }
+
+    /**
+     * Adapts an already loaded entity, for the write paths that still work on entities.
+     */
+    public static EventListView of(Event event) {
+        User organizer = event.getOrganizer();
+        return new EventListView(event.getId(), event.getTitle(), event.getDescription(), event.getCategory(),
+                event.getLocation(), event.getAddress(), event.getCity(), event.getCountry(),
+                event.getPersonLimit(), event.getPhone(), event.getStartDate(), event.getEndDate(),
+                event.getTicketPrice(), event.getPhotoId(), event.getPhotoUrl(), event.getTicketsSold(),
+                organizer != null ? organizer.getId() : null,
+                organizer != null ? organizer.getUsername() : null,
+                organizer != null ? organizer.getName() : null,
+                event.getUpdatedAt(), event.getBookingVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public Integer getPersonLimit() {
+        return personLimit;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public Double getTicketPrice() {
+        return ticketPrice;
+    }
+
+    public String getPhotoId() {
+        return photoId;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public Integer getTicketsSold() {
+        return ticketsSold;
+    }
+
+    public Long getOrganizerId() {
+        return organizerId;
+    }
+
+    public String getOrganizerUsername() {
+        return organizerUsername;
+    }
+
+    public String getOrganizerName() {
+        return organizerName;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getBookingVersion() {
+        return bookingVersion;
+    }
+}
@@ -2,13 +2,20 @@ package com.concert.repository;
 
 import com.concert.model.Event;
 import com.concert.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -17,7 +24,93 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     Page<Event> findByEndDateAfterOrderByStartDateAsc(LocalDateTime endDate, Pageable pageable);
 
+    @Query(value = EventListView.SELECT + "from Event e left join e.organizer o "
+            + "where e.endDate > :now order by e.startDate asc, e.id asc",
+            countQuery = "select count(e) from Event e where e.endDate > :now")
+    Page<EventListView> findUpcomingViews(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(EventListView.SELECT + "from Event e left join e.organizer o "
+            + "where e.endDate > :now order by e.startDate asc, e.id asc")
+    List<EventListView> findUpcomingViews(@Param("now") LocalDateTime now, Limit limit);
+
+    @Query(EventListView.SELECT + "from Event e left join e.organizer o where e.endDate > :now "
+            + "and (e.startDate > :startDate or (e.startDate = :startDate and e.id > :id)) "
+            + "order by e.startDate asc, e.id asc")
+    List<EventListView> findUpcomingViewsAfter(@Param("now") LocalDateTime now,
+                                               @Param("startDate") LocalDateTime startDate,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    @Query(EventListView.SELECT + "from Event e left join e.organizer o where e.id in :ids")
+    List<EventListView> findViewsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(EventListView.SELECT + "from Event e left join e.organizer o where e.id > :afterId order by e.id asc")
+    List<EventListView> findViewsAfterId(@Param("afterId") Long afterId, Limit limit);
+
     List<Event> findByOrganizerOrderByStartDateAsc(User organizer);
 
     List<Event> findByTitleContaining(String title);
+
+    /**
+     * Applies a booking delta to the counter and marks the event representation as
+     * changed (booking version and bookingChangedAt) for conditional GETs; updatedAt is
+     * left to edits of the event itself.
+     */
+    @Modifying
+    @Query("update Event e set e.ticketsSold = e.ticketsSold + :delta, "
+            + "e.bookingVersion = e.bookingVersion + 1, e.bookingChangedAt = :changedAt where e.id = :eventId")
+    int adjustTicketsSold(@Param("eventId") Long eventId, @Param("delta") int delta,
+                          @Param("changedAt") LocalDateTime changedAt);
+
+    default int adjustTicketsSold(Long eventId, int delta) {
+        return adjustTicketsSold(eventId, delta, LocalDateTime.now());
+    }
+
+    /**
+     * Atomically reserves tickets when the event has not ended and the sale stays within
+     * its person limit (no limit means unlimited). Returns 0 when it would oversell; the
+     * check and the increment are one statement, so concurrent callers never both pass.
+     * Runs in its own short transaction unless called inside one.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.ticketsSold = e.ticketsSold + :quantity, "
+            + "e.bookingVersion = e.bookingVersion + 1, e.bookingChangedAt = :changedAt "
+            + "where e.id = :eventId and (e.endDate is null or e.endDate > :changedAt) "
+            + "and (e.personLimit is null or e.ticketsSold + :quantity <= e.personLimit)")
+    int reserveTickets(@Param("eventId") Long eventId, @Param("quantity") int quantity,
+                       @Param("changedAt") LocalDateTime changedAt);
+
+    @Query("select e.id as id, e.title as title, e.location as location, e.startDate as startDate, "
+            + "e.endDate as endDate, e.ticketPrice as ticketPrice, e.personLimit as personLimit, "
+            + "e.ticketsSold as ticketsSold, e.highDemand as highDemand from Event e where e.id = :id")
+    Optional<EventBookingView> findBookingViewById(@Param("id") Long id);
+
+    @Query("select e.id as id, e.title as title, e.location as location, e.startDate as startDate, "
+            + "e.endDate as endDate, e.ticketPrice as ticketPrice, e.personLimit as personLimit, "
+            + "e.ticketsSold as ticketsSold, e.highDemand as highDemand from Event e where e.id in :ids")
+    List<EventBookingView> findBookingViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select e.id as id, e.updatedAt as updatedAt, e.bookingVersion as bookingVersion, "
+            + "e.bookingChangedAt as bookingChangedAt, e.organizer.id as organizerId from Event e where e.id = :id")
+    Optional<EventVersionView> findVersionById(@Param("id") Long id);
+
+    @Query("select count(e) as eventCount, max(e.updatedAt) as lastUpdated, "
+            + "coalesce(sum(e.bookingVersion), 0) as versionSum from Event e where e.endDate > :now")
+    ListingVersionView findUpcomingListingVersion(@Param("now") LocalDateTime now);
+
+    /**
+     * Locks the next {@code limit} event rows after {@code afterId}, in id order, and
+     * returns their counters. Bookings reserve and insert in one transaction that holds
+     * the event row, so once these locks are granted no booking for them is in flight.
+     */
+    @Query(value = "select e.event_id as id, e.tickets_sold as ticketsSold from events e where e.event_id > :afterId "
+            + "order by e.event_id limit :limit for update", nativeQuery = true)
+    List<TicketCounterView> lockCountersAfterId(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update Event e set e.ticketsSold = :ticketsSold, e.bookingVersion = e.bookingVersion + 1, "
+            + "e.bookingChangedAt = :changedAt where e.id = :eventId")
+    int setTicketsSold(@Param("eventId") Long eventId, @Param("ticketsSold") int ticketsSold,
+                       @Param("changedAt") LocalDateTime changedAt);
 }
@@ -0,0 +1,19 @@
+package com.concert.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a single event that change whenever its API representation changes.
+ */
+public interface EventVersionView {
+
+    Long getId();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getBookingVersion();
+
+    LocalDateTime getBookingChangedAt();
+
+    Long getOrganizerId();
+}
@@ -0,0 +1,13 @@
+package com.concert.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outstanding hold, as loaded into the expiry wheel at startup.
+ */
+public interface HoldView {
+
+    Long getId();
+
+    LocalDateTime getHoldExpiresAt();
+}
@@ -0,0 +1,16 @@
+package com.concert.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate over the upcoming events; any create, edit, delete, booking change or
+ * event ending moves at least one of the values.
+ */
+public interface ListingVersionView {
+
+    Long getEventCount();
+
+    LocalDateTime getLastUpdated();
+
+    Long getVersionSum();
+}
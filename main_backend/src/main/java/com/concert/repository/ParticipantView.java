@@ -0,0 +1,18 @@
+package com.concert.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a booking joined with its user, used to build
+ * participant summaries for a whole page of events in one query.
+ */
+public interface ParticipantView {
+
+    Long getEventId();
+
+    String getUserName();
+
+    Integer getTicketCount();
+
+    LocalDateTime getJoinedAt();
+}
@@ -0,0 +1,11 @@
+package com.concert.repository;
+
+/**
+ * An event id with a tickets-sold figure, either the stored counter or a recount.
+ */
+public interface TicketCounterView {
+
+    Long getId();
+
+    Long getTicketsSold();
+}
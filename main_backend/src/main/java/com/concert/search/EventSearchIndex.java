@@ -0,0 +1,368 @@
+package com.concert.search;
+
+import com.concert.repository.EventListView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over event text with BM25 ranking. Each indexed version of
+ * an event gets a dense ordinal; postings, document lengths and filter columns are
+ * primitive arrays indexed by ordinal. Updates tombstone the old ordinal and append a
+ * new one, so the index grows until it is rebuilt.
+ */
+class EventSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float CITY_WEIGHT = 2f;
+    private static final float LOCATION_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final int NO_CODE = -1;
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator
+            .comparingDouble((Hit hit) -> hit.score)
+            .thenComparing(hit -> hit.id, Comparator.reverseOrder());
+
+    private static final ThreadLocal<Accumulator> ACCUMULATOR = ThreadLocal.withInitial(Accumulator::new);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<String, Integer> valueCodes = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] ids = new long[1024];
+    private float[] lengths = new float[1024];
+    private long[] startDates = new long[1024];
+    private double[] prices = new double[1024];
+    private int[] cities = new int[1024];
+    private int[] categories = new int[1024];
+    private int nextOrdinal;
+    private int liveCount;
+    private double totalLength;
+
+    void upsert(EventListView event) {
+        Map<String, Float> termFrequencies = new HashMap<>();
+        float length = addTerms(termFrequencies, event.getTitle(), TITLE_WEIGHT)
+                + addTerms(termFrequencies, event.getCategory(), CATEGORY_WEIGHT)
+                + addTerms(termFrequencies, event.getCity(), CITY_WEIGHT)
+                + addTerms(termFrequencies, event.getLocation(), LOCATION_WEIGHT)
+                + addTerms(termFrequencies, event.getDescription(), DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(event.getId());
+            int ordinal = nextOrdinal++;
+            ensureCapacity(nextOrdinal);
+            ids[ordinal] = event.getId();
+            lengths[ordinal] = length;
+            startDates[ordinal] = toEpochSecond(event.getStartDate(), Long.MIN_VALUE);
+            prices[ordinal] = event.getTicketPrice() != null ? event.getTicketPrice() : Double.NaN;
+            cities[ordinal] = codeFor(event.getCity());
+            categories[ordinal] = codeFor(event.getCategory());
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new Postings()).add(ordinal, frequency));
+            ordinals.put(event.getId(), ordinal);
+            live.set(ordinal);
+            liveCount++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int tombstones() {
+        lock.readLock().lock();
+        try {
+            return nextOrdinal - liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks live events against the query terms (any term may match; more and rarer
+     * matches score higher) and returns the page after the query cursor. Without terms
+     * every event passing the filters matches with score zero, ordered by id.
+     */
+    SearchHits search(EventSearchQuery query, int pageSize) {
+        SearchCursor after = SearchCursor.decode(query.getCursor());
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query.getText())));
+        int limit = pageSize + 1;
+        PriorityQueue<Hit> heap = new PriorityQueue<>(limit + 1, WORST_FIRST);
+
+        lock.readLock().lock();
+        try {
+            Filter filter = compileFilter(query);
+            if (filter != null && terms.isEmpty()) {
+                for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                    if (filter.matches(ordinal)) {
+                        offer(heap, limit, after, 0f, ids[ordinal]);
+                    }
+                }
+            } else if (filter != null) {
+                Accumulator accumulator = ACCUMULATOR.get();
+                accumulator.ensureCapacity(nextOrdinal);
+                try {
+                    score(terms, accumulator);
+                    for (int i = 0; i < accumulator.touchedCount; i++) {
+                        int ordinal = accumulator.touched[i];
+                        if (filter.matches(ordinal)) {
+                            offer(heap, limit, after, accumulator.scores[ordinal], ids[ordinal]);
+                        }
+                    }
+                } finally {
+                    accumulator.clear();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(WORST_FIRST.reversed());
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            Hit last = hits.get(pageSize - 1);
+            nextCursor = new SearchCursor(last.score, last.id).encode();
+        }
+        List<Long> eventIds = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            eventIds.add(hit.id);
+        }
+        return new SearchHits(eventIds, nextCursor);
+    }
+
+    private void score(List<String> terms, Accumulator accumulator) {
+        float averageLength = liveCount == 0 ? 1f : (float) (totalLength / liveCount);
+        for (String term : terms) {
+            Postings termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            int documentFrequency = Math.min(termPostings.size, Math.max(liveCount, 1));
+            float idf = (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            for (int i = 0; i < termPostings.size; i++) {
+                int ordinal = termPostings.ordinals[i];
+                if (!live.get(ordinal)) {
+                    continue;
+                }
+                float frequency = termPostings.frequencies[i];
+                float norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                accumulator.add(ordinal, idf * frequency * (K1 + 1) / (frequency + norm));
+            }
+        }
+    }
+
+    private static void offer(PriorityQueue<Hit> heap, int limit, SearchCursor after, float score, long id) {
+        if (after != null && !after.precedes(score, id)) {
+            return;
+        }
+        if (heap.size() == limit) {
+            Hit worst = heap.peek();
+            if (score < worst.score || (score == worst.score && id > worst.id)) {
+                return;
+            }
+        }
+        heap.offer(new Hit(score, id));
+        if (heap.size() > limit) {
+            heap.poll();
+        }
+    }
+
+    /**
+     * Resolves the query filters against this index; null when no event can match (for
+     * example a city that was never indexed).
+     */
+    private Filter compileFilter(EventSearchQuery query) {
+        int city = NO_CODE;
+        if (query.getCity() != null && !query.getCity().isBlank()) {
+            Integer code = valueCodes.get(normalizeValue(query.getCity()));
+            if (code == null) {
+                return null;
+            }
+            city = code;
+        }
+        int category = NO_CODE;
+        if (query.getCategory() != null && !query.getCategory().isBlank()) {
+            Integer code = valueCodes.get(normalizeValue(query.getCategory()));
+            if (code == null) {
+                return null;
+            }
+            category = code;
+        }
+        return new Filter(toEpochSecond(query.getFrom(), Long.MIN_VALUE), toEpochSecond(query.getTo(), Long.MAX_VALUE),
+                query.getMinPrice(), query.getMaxPrice(), city, category);
+    }
+
+    private void removeLocked(Long eventId) {
+        Integer ordinal = ordinals.remove(eventId);
+        if (ordinal != null) {
+            live.clear(ordinal);
+            liveCount--;
+            totalLength -= lengths[ordinal];
+        }
+    }
+
+    private int codeFor(String value) {
+        if (value == null || value.isBlank()) {
+            return NO_CODE;
+        }
+        return valueCodes.computeIfAbsent(normalizeValue(value), key -> valueCodes.size());
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, grown);
+        lengths = Arrays.copyOf(lengths, grown);
+        startDates = Arrays.copyOf(startDates, grown);
+        prices = Arrays.copyOf(prices, grown);
+        cities = Arrays.copyOf(cities, grown);
+        categories = Arrays.copyOf(categories, grown);
+    }
+
+    private static float addTerms(Map<String, Float> termFrequencies, String text, float weight) {
+        List<String> terms = TextAnalyzer.tokenize(text);
+        for (String term : terms) {
+            termFrequencies.merge(term, weight, Float::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    private static String normalizeValue(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toEpochSecond(LocalDateTime timestamp, long fallback) {
+        return timestamp != null ? timestamp.toEpochSecond(ZoneOffset.UTC) : fallback;
+    }
+
+    private final class Filter {
+        private final long from;
+        private final long to;
+        private final Double minPrice;
+        private final Double maxPrice;
+        private final int city;
+        private final int category;
+
+        private Filter(long from, long to, Double minPrice, Double maxPrice, int city, int category) {
+            this.from = from;
+            this.to = to;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.city = city;
+            this.category = category;
+        }
+
+        private boolean matches(int ordinal) {
+            long start = startDates[ordinal];
+            if (start < from || start > to) {
+                return false;
+            }
+            double price = prices[ordinal];
+            if (minPrice != null && !(price >= minPrice)) {
+                return false;
+            }
+            if (maxPrice != null && !(price <= maxPrice)) {
+                return false;
+            }
+            if (city != NO_CODE && cities[ordinal] != city) {
+                return false;
+            }
+            return category == NO_CODE || categories[ordinal] == category;
+        }
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        private void add(int ordinal, float frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+
+    /**
+     * Per-thread score buffer indexed by ordinal; only touched slots are reset after a
+     * query, so its cost is proportional to the matches rather than the index size.
+     */
+    private static final class Accumulator {
+        private float[] scores = new float[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+
+        private void ensureCapacity(int capacity) {
+            if (scores.length < capacity) {
+                int grown = Math.max(capacity, scores.length * 2);
+                scores = new float[grown];
+                touched = new int[grown];
+            }
+        }
+
+        private void add(int ordinal, float score) {
+            if (scores[ordinal] == 0f) {
+                touched[touchedCount++] = ordinal;
+            }
+            scores[ordinal] += score;
+        }
+
+        private void clear() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0f;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    private static final class Hit {
+        private final float score;
+        private final long id;
+
+        private Hit(float score, long id) {
+            this.score = score;
+            this.id = id;
+        }
+    }
+}
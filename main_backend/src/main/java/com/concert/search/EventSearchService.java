@@ -0,0 +1,143 @@
+package com.concert.search;
+
+import com.concert.dto.CursorPage;
+import com.concert.repository.EventListView;
+import com.concert.repository.EventRepository;
+import com.concert.service.EventChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Owns the in-memory event search index: loads it from the database in id-ordered
+ * batches at startup, applies committed event changes incrementally, and answers
+ * queries without touching the database. Changes that arrive while a rebuild is
+ * loading are replayed onto the new index before it is swapped in.
+ *
+ * <p>Only local changes arrive as events, so the index is also rebuilt every
+ * {@code app.search.refresh-interval-ms}; that bounds how long an edit made on
+ * another replica stays invisible here.
+ */
+@Service
+public class EventSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchService.class);
+
+    private final EventRepository eventRepository;
+    private final int batchSize;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object rebuildLock = new Object();
+    private volatile EventSearchIndex index = new EventSearchIndex();
+    // Non-null while a rebuild is loading; guarded by rebuildLock
+    private Map<Long, EventListView> pendingChanges;
+
+    public EventSearchService(EventRepository eventRepository,
+                              @Value("${app.search.rebuild-batch-size:1000}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:60000}",
+            initialDelayString = "${app.search.refresh-interval-ms:60000}")
+    public void scheduledRebuild() {
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Loads every event into a fresh index and swaps it in. Also drops the tombstones
+     * left behind by incremental updates. Returns the number of indexed events, or -1
+     * when another rebuild is already running.
+     */
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            if (pendingChanges != null) {
+                return -1;
+            }
+            pendingChanges = new LinkedHashMap<>();
+        }
+        EventSearchIndex fresh = new EventSearchIndex();
+        try {
+            long lastId = 0;
+            List<EventListView> batch;
+            do {
+                batch = eventRepository.findViewsAfterId(lastId, Limit.of(batchSize));
+                for (EventListView event : batch) {
+                    fresh.upsert(event);
+                    lastId = event.getId();
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            synchronized (rebuildLock) {
+                pendingChanges = null;
+            }
+            logger.warn("Event search index rebuild failed; keeping the current index", e);
+            return -1;
+        }
+        synchronized (rebuildLock) {
+            pendingChanges.forEach((eventId, event) -> apply(fresh, eventId, event));
+            pendingChanges = null;
+            index = fresh;
+        }
+        logger.info("Event search index rebuilt with {} events", fresh.size());
+        return fresh.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        EventSearchIndex current;
+        synchronized (rebuildLock) {
+            if (pendingChanges != null) {
+                pendingChanges.put(change.getEventId(), change.getEvent());
+            }
+            current = index;
+            apply(current, change.getEventId(), change.getEvent());
+        }
+        if (current.tombstones() > Math.max(1024, current.size())) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    public SearchHits search(EventSearchQuery query) {
+        return index.search(query, CursorPage.clampSize(query.getSize()));
+    }
+
+    public int indexedEvents() {
+        return index.size();
+    }
+
+    private static void apply(EventSearchIndex target, Long eventId, EventListView event) {
+        if (event == null) {
+            target.remove(eventId);
+        } else {
+            target.upsert(event);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.concert.search;
+
+import com.concert.dto.EventSuggestion;
+import com.concert.repository.EventListView;
+import com.concert.repository.EventRepository;
+import com.concert.service.EventChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Type-ahead over upcoming event titles, cities, categories and locations. Requests
+ * are answered from an immutable {@link SuggestIndex} snapshot plus a small overlay
+ * of events changed since the snapshot was built, so they never reach the database.
+ * The snapshot is rebuilt in the background when the overlay grows and on a fixed
+ * delay, which is also when booking-driven weight changes are picked up.
+ */
+@Service
+public class EventSuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSuggestService.class);
+
+    public static final int MAX_LIMIT = 20;
+
+    private final EventRepository eventRepository;
+    private final int batchSize;
+    private final int overlayLimit;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-suggest-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile SuggestIndex index = SuggestIndex.EMPTY;
+    // Events changed since the snapshot was loaded; empty means deleted
+    private final Map<Long, Optional<EventListView>> overlay = new ConcurrentHashMap<>();
+
+    public EventSuggestService(EventRepository eventRepository,
+                               @Value("${app.search.rebuild-batch-size:1000}") int batchSize,
+                               @Value("${app.search.suggest.overlay-limit:512}") int overlayLimit) {
+        this.eventRepository = eventRepository;
+        this.batchSize = batchSize;
+        this.overlayLimit = overlayLimit;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.suggest.refresh-interval-ms:300000}",
+            initialDelayString = "${app.search.suggest.refresh-interval-ms:300000}")
+    public void scheduledRebuild() {
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Loads all events into a fresh snapshot and swaps it in. Overlay entries that were
+     * already present when loading started are dropped afterwards; later ones stay, as
+     * the load may have missed them. Returns the number of suggestions, or -1 when
+     * another rebuild is running or loading fails.
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            Map<Long, Optional<EventListView>> applied = new HashMap<>(overlay);
+            List<EventListView> events = new ArrayList<>();
+            long lastId = 0;
+            List<EventListView> batch;
+            do {
+                batch = eventRepository.findViewsAfterId(lastId, Limit.of(batchSize));
+                for (EventListView event : batch) {
+                    if (SuggestIndex.isUpcoming(event, LocalDateTime.now())) {
+                        events.add(event);
+                    }
+                    lastId = event.getId();
+                }
+            } while (batch.size() == batchSize);
+            SuggestIndex fresh = SuggestIndex.build(events, LocalDateTime.now());
+            index = fresh;
+            applied.forEach(overlay::remove);
+            logger.info("Event suggest index rebuilt with {} suggestions", fresh.size());
+            return fresh.size();
+        } catch (RuntimeException e) {
+            logger.warn("Event suggest index rebuild failed; keeping the current index", e);
+            return -1;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        overlay.put(change.getEventId(), Optional.ofNullable(change.getEvent()));
+        if (overlay.size() > overlayLimit) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Up to {@code limit} suggestions with a word starting with {@code prefix},
+     * heaviest first.
+     */
+    public List<EventSuggestion> suggest(String prefix, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String normalized = SuggestIndex.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<EventSuggestion> merged = new ArrayList<>(index.lookup(normalized, size, overlay::containsKey));
+        merged.addAll(overlaySuggestions(normalized, size));
+        merged.sort(Comparator.comparingLong(EventSuggestion::getWeight).reversed());
+
+        List<EventSuggestion> results = new ArrayList<>(size);
+        Set<String> seen = new HashSet<>();
+        for (EventSuggestion suggestion : merged) {
+            if (results.size() == size) {
+                break;
+            }
+            if (seen.add(suggestion.getType() + ":" + SuggestIndex.normalize(suggestion.getText()))) {
+                results.add(suggestion);
+            }
+        }
+        return results;
+    }
+
+    public int suggestions() {
+        return index.size();
+    }
+
+    private List<EventSuggestion> overlaySuggestions(String prefix, int size) {
+        if (overlay.isEmpty()) {
+            return List.of();
+        }
+        List<EventListView> changed = new ArrayList<>();
+        for (Optional<EventListView> event : overlay.values()) {
+            event.ifPresent(changed::add);
+        }
+        return SuggestIndex.build(changed, LocalDateTime.now()).lookup(prefix, size, eventId -> false);
+    }
+}
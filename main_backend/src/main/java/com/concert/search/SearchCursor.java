@@ -0,0 +1,57 @@
+package com.concert.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last hit of a ranked page: hits are ordered by score descending,
+ * then event id ascending. The float score is carried bit-exact so ties resolve the
+ * same way on the next request.
+ */
+final class SearchCursor {
+
+    private final float score;
+    private final long id;
+
+    SearchCursor(float score, long id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    float getScore() {
+        return score;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    /**
+     * True when a hit sorts strictly after this cursor.
+     */
+    boolean precedes(float hitScore, long hitId) {
+        return hitScore < score || (hitScore == score && hitId > id);
+    }
+
+    String encode() {
+        String raw = Integer.toHexString(Float.floatToIntBits(score)) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            float score = Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, separator), 16));
+            return new SearchCursor(score, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.concert.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked event ids, best first, and the cursor for the next page (null on
+ * the last page).
+ */
+public class SearchHits {
+
+    private final List<Long> eventIds;
+    private final String nextCursor;
+
+    public SearchHits(List<Long> eventIds, String nextCursor) {
+        this.eventIds = eventIds;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Long> getEventIds() {
+        return eventIds;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
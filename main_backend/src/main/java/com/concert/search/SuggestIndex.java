@@ -0,0 +1,233 @@
+package com.concert.search;
+
+import com.concert.dto.EventSuggestion;
+import com.concert.repository.EventListView;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable prefix index for type-ahead. Every word start of every suggestion text is a
+ * key in one sorted array; a prefix maps to a contiguous key range, and a max segment
+ * tree over the key weights yields the heaviest suggestions of that range in
+ * O(k log n) without scanning it.
+ */
+class SuggestIndex {
+
+    static final SuggestIndex EMPTY = build(List.of(), LocalDateTime.now());
+
+    private final String[] keys;
+    private final int[] keyEntries;
+    private final EventSuggestion[] entries;
+    private final long[] entryEventIds;
+    // Iterative max segment tree over key positions; leaves hold key positions
+    private final int[] tree;
+    private final int leaves;
+
+    private SuggestIndex(String[] keys, int[] keyEntries, EventSuggestion[] entries, long[] entryEventIds) {
+        this.keys = keys;
+        this.keyEntries = keyEntries;
+        this.entries = entries;
+        this.entryEventIds = entryEventIds;
+        int size = 1;
+        while (size < Math.max(keys.length, 1)) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[size * 2];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = heavier(tree[node * 2], tree[node * 2 + 1]);
+        }
+    }
+
+    /**
+     * Builds suggestions from the events that have not ended: one per title, weighted by
+     * its tickets sold, and one per distinct city, category and location, weighted by
+     * the tickets sold across its events plus the number of events.
+     */
+    static SuggestIndex build(Iterable<EventListView> events, LocalDateTime now) {
+        List<EventSuggestion> entries = new ArrayList<>();
+        Map<String, EventSuggestion> aggregates = new LinkedHashMap<>();
+        for (EventListView event : events) {
+            if (!isUpcoming(event, now)) {
+                continue;
+            }
+            long sold = event.getTicketsSold() != null ? event.getTicketsSold() : 0;
+            if (hasText(event.getTitle())) {
+                entries.add(new EventSuggestion(event.getTitle().trim(), EventSuggestion.Type.TITLE, event.getId(), sold));
+            }
+            aggregate(aggregates, event.getCity(), EventSuggestion.Type.CITY, sold);
+            aggregate(aggregates, event.getCategory(), EventSuggestion.Type.CATEGORY, sold);
+            aggregate(aggregates, event.getLocation(), EventSuggestion.Type.LOCATION, sold);
+        }
+        entries.addAll(aggregates.values());
+
+        List<String> keyList = new ArrayList<>();
+        List<Integer> keyEntryList = new ArrayList<>();
+        for (int entry = 0; entry < entries.size(); entry++) {
+            for (String key : keysFor(entries.get(entry).getText())) {
+                keyList.add(key);
+                keyEntryList.add(entry);
+            }
+        }
+        Integer[] order = new Integer[keyList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keyList.get(a).compareTo(keyList.get(b)));
+        String[] keys = new String[order.length];
+        int[] keyEntries = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = keyList.get(order[i]);
+            keyEntries[i] = keyEntryList.get(order[i]);
+        }
+        EventSuggestion[] entryArray = entries.toArray(new EventSuggestion[0]);
+        long[] eventIds = new long[entryArray.length];
+        for (int i = 0; i < entryArray.length; i++) {
+            eventIds[i] = entryArray[i].getEventId() != null ? entryArray[i].getEventId() : -1;
+        }
+        return new SuggestIndex(keys, keyEntries, entryArray, eventIds);
+    }
+
+    /**
+     * Heaviest suggestions whose text has a word starting with the prefix. Title entries
+     * of events rejected by {@code excludedEvents} are skipped.
+     */
+    List<EventSuggestion> lookup(String prefix, int limit, LongPredicate excludedEvents) {
+        String normalized = normalize(prefix);
+        List<EventSuggestion> results = new ArrayList<>();
+        if (normalized.isEmpty() || keys.length == 0) {
+            return results;
+        }
+        int from = lowerBound(normalized);
+        int to = lowerBound(normalized + Character.MAX_VALUE);
+        if (from >= to) {
+            return results;
+        }
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Long.compare(weightAt(b[2]), weightAt(a[2])));
+        ranges.add(new int[]{from, to, rangeMax(from, to)});
+        BitSet emitted = new BitSet(entries.length);
+        Set<String> texts = new HashSet<>();
+        while (!ranges.isEmpty() && results.size() < limit) {
+            int[] range = ranges.poll();
+            int position = range[2];
+            int entry = keyEntries[position];
+            if (!emitted.get(entry)) {
+                emitted.set(entry);
+                EventSuggestion suggestion = entries[entry];
+                boolean excluded = entryEventIds[entry] >= 0 && excludedEvents.test(entryEventIds[entry]);
+                if (!excluded && texts.add(suggestion.getType() + ":" + normalize(suggestion.getText()))) {
+                    results.add(suggestion);
+                }
+            }
+            if (range[0] < position) {
+                ranges.add(new int[]{range[0], position, rangeMax(range[0], position)});
+            }
+            if (position + 1 < range[1]) {
+                ranges.add(new int[]{position + 1, range[1], rangeMax(position + 1, range[1])});
+            }
+        }
+        return results;
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    static boolean isUpcoming(EventListView event, LocalDateTime now) {
+        return event.getEndDate() == null || event.getEndDate().isAfter(now);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The normalized text and every suffix of it that starts at a word boundary.
+     */
+    static List<String> keysFor(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static void aggregate(Map<String, EventSuggestion> aggregates, String value,
+                                  EventSuggestion.Type type, long sold) {
+        if (!hasText(value)) {
+            return;
+        }
+        EventSuggestion suggestion = aggregates.computeIfAbsent(type + ":" + normalize(value),
+                key -> new EventSuggestion(value.trim(), type, null, 0));
+        suggestion.setWeight(suggestion.getWeight() + sold + 1);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int rangeMax(int from, int to) {
+        int best = -1;
+        for (int low = from + leaves, high = to + leaves; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                best = heavier(best, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                best = heavier(best, tree[--high]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        long weightA = weightAt(a);
+        long weightB = weightAt(b);
+        return weightA > weightB || (weightA == weightB && a < b) ? a : b;
+    }
+
+    private long weightAt(int position) {
+        return entries[keyEntries[position]].getWeight();
+    }
+}
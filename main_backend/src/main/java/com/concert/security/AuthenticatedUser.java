@@ -0,0 +1,84 @@
+package com.concert.security;
+
+import com.concert.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Objects;
+
+/**
+ * Principal set by {@link JwtAuthenticationFilter}: the token subject plus the user id and
+ * profile version carried in its claims, so callers can identify the user without a
+ * query. Tokens issued before those claims existed give a principal without them.
+ */
+public final class AuthenticatedUser implements Principal, Serializable {
+
+    private final Long id;
+    private final String username;
+    private final Long profileVersion;
+
+    public AuthenticatedUser(Long id, String username, Long profileVersion) {
+        this.id = id;
+        this.username = username;
+        this.profileVersion = profileVersion;
+    }
+
+    public static AuthenticatedUser from(Claims claims) {
+        return new AuthenticatedUser(claims.get(JwtService.USER_ID_CLAIM, Long.class), claims.getSubject(),
+                claims.get(JwtService.PROFILE_VERSION_CLAIM, Long.class));
+    }
+
+    /**
+     * The principal of the current request, or null when the request was not
+     * authenticated by a bearer token.
+     */
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal;
+        }
+        return null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getProfileVersion() {
+        return profileVersion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AuthenticatedUser other)) {
+            return false;
+        }
+        return Objects.equals(id, other.id) && Objects.equals(username, other.username)
+                && Objects.equals(profileVersion, other.profileVersion);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, username, profileVersion);
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
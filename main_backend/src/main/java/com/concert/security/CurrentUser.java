@@ -0,0 +1,31 @@
+package com.concert.security;
+
+import com.concert.model.User;
+import com.concert.repository.UserRepository;
+
+import java.util.Optional;
+
+/**
+ * Resolves the user a request acts for without a query where the token allows it.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    /**
+     * The user named {@code username}. When that is the authenticated principal and its
+     * token carries the user id, this is a lazy reference that costs no query until a
+     * field other than the id is read; otherwise the user is looked up by username.
+     * {@link JwtAuthenticationFilter} only sets such a principal after finding the user
+     * through the user cache, so a deleted account gets a 401 rather than a dangling
+     * reference.
+     */
+    public static Optional<User> find(UserRepository userRepository, String username) {
+        AuthenticatedUser principal = AuthenticatedUser.current();
+        if (principal != null && principal.getId() != null && principal.getUsername().equals(username)) {
+            return Optional.of(userRepository.getReferenceById(principal.getId()));
+        }
+        return userRepository.findByUsername(username);
+    }
+}
@@ -1,6 +1,10 @@
 package com.concert.security;
 
-import com.concert.service.JwtService;
+import com.concert.cache.UserLookupCache;
+import com.concert.cache.UserSnapshot;
+import com.concert.cache.VerifiedTokenCache;
+import com.concert.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +22,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,7 +30,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Autowired
-    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Autowired
+    private UserRepository userRepository;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,7 +44,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        String username = null;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -43,18 +53,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            username = jwtService.extractUsername(jwt);
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtService.isTokenValid(jwt, username)) {
-                    logger.debug("Validated JWT for user: {}", username);
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            username,
-                            null,
-                            new ArrayList<>()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            // A token seen before is served from the cache; a new one is verified once
+            Claims claims = verifiedTokenCache.verify(jwt);
+            String username = claims.getSubject();
+            AuthenticatedUser principal = AuthenticatedUser.from(claims);
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
+                    && isCurrent(principal)) {
+                logger.debug("Validated JWT for user: {}", username);
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        new ArrayList<>()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             logger.debug("JWT validation failed", e);
@@ -62,4 +74,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Whether the account the token was issued for still exists and has not changed its
+     * username, email or password since. Checked against the user cache, which profile
+     * updates invalidate. Tokens without a user id predate these claims and are let through.
+     */
+    private boolean isCurrent(AuthenticatedUser principal) {
+        if (principal.getId() == null) {
+            return true;
+        }
+        Optional<UserSnapshot> user = userLookupCache.getById(principal.getId(), userRepository::findById);
+        if (user.isEmpty() || !user.get().getUsername().equals(principal.getUsername())) {
+            logger.debug("Rejecting JWT of unknown user {}", principal.getUsername());
+            return false;
+        }
+        if (principal.getProfileVersion() != null && principal.getProfileVersion() != user.get().getProfileVersion()) {
+            logger.debug("Rejecting JWT issued before an account change of {}", principal.getUsername());
+            return false;
+        }
+        return true;
+    }
 }
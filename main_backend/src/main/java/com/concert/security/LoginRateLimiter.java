@@ -0,0 +1,116 @@
+package com.concert.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Token buckets in front of password checks, one per account name and one per client
+ * address. Each login attempt takes a token from both; registrations only from the
+ * address bucket. Buckets hold {@code burst} tokens and refill at {@code per-minute};
+ * idle buckets are dropped once they would be full again. Per instance, so behind a
+ * load balancer the effective limits scale with the replica count.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final double accountBurst;
+    private final double accountPerNano;
+    private final double addressBurst;
+    private final double addressPerNano;
+    private final Cache<String, TokenBucket> accounts;
+    private final Cache<String, TokenBucket> addresses;
+    private final Counter accountRejections;
+    private final Counter addressRejections;
+
+    @Autowired
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${app.auth.login-limit.account.burst:10}") int accountBurst,
+                            @Value("${app.auth.login-limit.account.per-minute:10}") int accountPerMinute,
+                            @Value("${app.auth.login-limit.address.burst:50}") int addressBurst,
+                            @Value("${app.auth.login-limit.address.per-minute:120}") int addressPerMinute,
+                            @Value("${app.auth.login-limit.max-buckets:100000}") long maxBuckets) {
+        this.accountBurst = Math.max(1, accountBurst);
+        this.accountPerNano = Math.max(1, accountPerMinute) / (double) Duration.ofMinutes(1).toNanos();
+        this.addressBurst = Math.max(1, addressBurst);
+        this.addressPerNano = Math.max(1, addressPerMinute) / (double) Duration.ofMinutes(1).toNanos();
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofNanos((long) (this.accountBurst / accountPerNano)))
+                .build();
+        this.addresses = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofNanos((long) (this.addressBurst / addressPerNano)))
+                .build();
+        this.accountRejections = Counter.builder("auth.login.throttled")
+                .tag("scope", "account")
+                .description("Login attempts refused by the per-account limit")
+                .register(meterRegistry);
+        this.addressRejections = Counter.builder("auth.login.throttled")
+                .tag("scope", "address")
+                .description("Login attempts refused by the per-address limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for a login attempt and answers true when the attempt must be
+     * refused. A null account only charges the address, as for registrations. An
+     * attempt the account bucket refuses gives its address token back, so guessing at
+     * one locked account does not use up the address's budget for the others.
+     */
+    public boolean isThrottled(String account, String clientAddress) {
+        long now = System.nanoTime();
+        TokenBucket address = clientAddress != null
+                ? addresses.get(clientAddress, key -> new TokenBucket(addressBurst, now))
+                : null;
+        if (address != null && !address.tryTake(addressBurst, addressPerNano, now)) {
+            addressRejections.increment();
+            return true;
+        }
+        if (account != null) {
+            String key = account.trim().toLowerCase(Locale.ROOT);
+            if (!accounts.get(key, k -> new TokenBucket(accountBurst, now)).tryTake(accountBurst, accountPerNano, now)) {
+                if (address != null) {
+                    address.giveBack(addressBurst);
+                }
+                accountRejections.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class TokenBucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double tokens, long nowNanos) {
+            this.tokens = tokens;
+            this.refilledAt = nowNanos;
+        }
+
+        synchronized boolean tryTake(double capacity, double perNano, long nowNanos) {
+            if (nowNanos > refilledAt) {
+                tokens = Math.min(capacity, tokens + (nowNanos - refilledAt) * perNano);
+                refilledAt = nowNanos;
+            }
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized void giveBack(double capacity) {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.concert.security;
+
+/**
+ * Thrown when a password cannot be hashed or checked because the hashing pool and its
+ * queue are full.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
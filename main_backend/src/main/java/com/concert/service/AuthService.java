@@ -1,13 +1,15 @@
 package com.concert.service;
 
+import com.concert.cache.UserLookupCache;
+import com.concert.cache.UserSnapshot;
 import com.concert.dto.AuthResponse;
 import com.concert.dto.LoginRequest;
 import com.concert.dto.RegisterRequest;
 import com.concert.dto.UserProfileResponse;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
+import com.concert.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -16,16 +18,19 @@ import java.util.Optional;
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
+    private final UserLookupCache userLookupCache;
     
     // Constructor for dependency injection
     public AuthService(UserRepository userRepository, 
-                      PasswordEncoder passwordEncoder, 
-                      JwtService jwtService) {
+                      PasswordHasher passwordHasher, 
+                      JwtService jwtService,
+                      UserLookupCache userLookupCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
+        this.userLookupCache = userLookupCache;
     }
     
     public AuthResponse register(RegisterRequest registerRequest) {
@@ -43,7 +48,7 @@ public class AuthService {
         User user = new User(
             registerRequest.getUsername(), // This will be the name
             registerRequest.getEmail(),
-            passwordEncoder.encode(registerRequest.getPassword())
+            passwordHasher.encode(registerRequest.getPassword())
         );
         
         // Set username if provided
@@ -52,12 +57,13 @@ public class AuthService {
         User savedUser = userRepository.save(user);
         
         // Generate JWT token
-        String jwt = jwtService.generateToken(savedUser.getUsername());
+        String jwt = jwtService.generateToken(savedUser);
         
         return new AuthResponse(jwt, savedUser.getUsername(), savedUser.getEmail());
     }
     
     public AuthResponse login(LoginRequest loginRequest) {
+        // Read from the database, not the user cache, so password hashes are never cached
         Optional<User> userOptional = userRepository.findByUsernameOrEmail(
             loginRequest.getUsernameOrEmail(),
             loginRequest.getUsernameOrEmail()
@@ -69,24 +75,24 @@ public class AuthService {
         
         User user = userOptional.get();
         
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.getPassword())) {
             return new AuthResponse("Invalid username/email or password!");
         }
         
         // Generate JWT token
-        String jwt = jwtService.generateToken(user.getUsername());
+        String jwt = jwtService.generateToken(user);
         
         return new AuthResponse(jwt, user.getUsername(), user.getEmail());
     }
     
     public AuthResponse getCurrentUser(String username) {
-        Optional<User> userOptional = userRepository.findByUsername(username);
+        Optional<UserSnapshot> userOptional = userLookupCache.getByUsername(username, userRepository::findByUsername);
         
         if (userOptional.isEmpty()) {
             return new AuthResponse("User not found");
         }
         
-        User user = userOptional.get();
+        UserSnapshot user = userOptional.get();
         return new AuthResponse(null, user.getUsername(), user.getEmail());
     }
     
@@ -0,0 +1,87 @@
+package com.concert.service;
+
+import com.concert.model.Booking;
+import com.concert.model.BookingStatus;
+import com.concert.repository.BookingReferenceView;
+import com.concert.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills {@code bookings.event_ref} and {@code bookings.status_code} for rows written
+ * before those columns existed. Walks the table in id order in chunks of
+ * {@code app.bookings.backfill-batch-size}, each converted in its own short transaction
+ * with one UPDATE per (event, status) group, so it can run while bookings are served.
+ * Run by {@link TicketCounterReconciler} ahead of rebuilding counters from the typed columns.
+ */
+@Component
+public class BookingReferenceBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingReferenceBackfill.class);
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public BookingReferenceBackfill(BookingRepository bookingRepository, PlatformTransactionManager transactionManager,
+                                    @Value("${app.bookings.backfill-batch-size:1000}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Returns the number of rows converted. Rows with an unknown status are skipped.
+     */
+    public int backfill() {
+        long lastId = 0;
+        int converted = 0;
+        int unknown = 0;
+        List<BookingReferenceView> chunk;
+        do {
+            chunk = bookingRepository.findWithoutStatusCodeAfterId(lastId, Limit.of(batchSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+            Map<Long, Map<String, List<Long>>> groups = new HashMap<>();
+            for (BookingReferenceView row : chunk) {
+                if (BookingStatus.fromName(row.getStatus()) == null) {
+                    unknown++;
+                    continue;
+                }
+                groups.computeIfAbsent(Booking.toEventRef(row.getEventId()), ref -> new HashMap<>())
+                        .computeIfAbsent(row.getStatus(), status -> new ArrayList<>())
+                        .add(row.getId());
+            }
+            Integer updated = transactionTemplate.execute(status -> convert(groups));
+            converted += updated != null ? updated : 0;
+        } while (chunk.size() == batchSize);
+        if (converted > 0 || unknown > 0) {
+            logger.info("Backfilled event_ref/status_code for {} bookings ({} with unknown status skipped)",
+                    converted, unknown);
+        }
+        return converted;
+    }
+
+    private int convert(Map<Long, Map<String, List<Long>>> groups) {
+        int updated = 0;
+        for (Map.Entry<Long, Map<String, List<Long>>> event : groups.entrySet()) {
+            for (Map.Entry<String, List<Long>> status : event.getValue().entrySet()) {
+                updated += bookingRepository.backfillReferences(status.getValue(), event.getKey(),
+                        status.getKey(), BookingStatus.fromName(status.getKey()));
+            }
+        }
+        return updated;
+    }
+}
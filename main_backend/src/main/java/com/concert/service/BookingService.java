@@ -1,17 +1,44 @@
 package com.concert.service;
 
+import com.concert.cache.EventResponseCache;
+import com.concert.cache.EventSnapshot;
+import com.concert.cache.EventSnapshotCache;
+import com.concert.cache.SharedEventCache;
 import com.concert.dto.BookingResponse;
 import com.concert.dto.CreateBookingRequest;
+import com.concert.dto.CreateCartRequest;
+import com.concert.dto.CursorPage;
+import com.concert.dto.ResourceValidator;
+import com.concert.inventory.BookingPipeline;
+import com.concert.inventory.HighDemandInventory;
 import com.concert.model.Booking;
 import com.concert.model.User;
+import com.concert.repository.BookingCancelView;
+import com.concert.repository.BookingIdAllocator;
 import com.concert.repository.BookingRepository;
+import com.concert.repository.BookingsVersionView;
+import com.concert.repository.EventRepository;
 import com.concert.repository.UserRepository;
+import com.concert.security.CurrentUser;
+import com.concert.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,45 +46,283 @@ public class BookingService {
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final EventResponseCache eventResponseCache;
+    private final SharedEventCache sharedEventCache;
+    private final EventSnapshotCache eventSnapshotCache;
+    private final HighDemandInventory highDemandInventory;
+    private final HoldExpiryService holdExpiryService;
+    private final BookingPipeline bookingPipeline;
+    private final BookingIdAllocator bookingIdAllocator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.holds.duration-minutes:10}")
+    private long holdMinutes;
+
+    @Value("${app.bookings.cancel-batch-size:1000}")
+    private int cancelBatchSize;
 
     @Autowired
-    public BookingService(BookingRepository bookingRepository, UserRepository userRepository) {
+    public BookingService(BookingRepository bookingRepository, UserRepository userRepository,
+                          EventRepository eventRepository, EventResponseCache eventResponseCache,
+                          SharedEventCache sharedEventCache, EventSnapshotCache eventSnapshotCache,
+                          HighDemandInventory highDemandInventory,
+                          HoldExpiryService holdExpiryService, BookingPipeline bookingPipeline,
+                          BookingIdAllocator bookingIdAllocator,
+                          PlatformTransactionManager transactionManager) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.eventResponseCache = eventResponseCache;
+        this.sharedEventCache = sharedEventCache;
+        this.eventSnapshotCache = eventSnapshotCache;
+        this.highDemandInventory = highDemandInventory;
+        this.holdExpiryService = holdExpiryService;
+        this.bookingPipeline = bookingPipeline;
+        this.bookingIdAllocator = bookingIdAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
+    /**
+     * Books tickets for an event. For events stored here the price and event details
+     * come from the event's cached {@link EventSnapshot}, and inventory is reserved by one
+     * conditional UPDATE committed together with the booking insert, so the event row is
+     * locked only for those two statements and excess demand is rejected instead of
+     * queued. A counter never includes a booking that is not yet visible, which
+     * {@link TicketCounterReconciler} relies on. High-demand
+     * events go through {@link HighDemandInventory} instead. Bookings for event ids
+     * without a backing row (events kept outside this service) are recorded from the
+     * request as before.
+     *
+     * <p>Deliberately not transactional: a high-demand booking waits for its batch to
+     * be written and must not hold a pooled connection meanwhile.
+     */
     public BookingResponse createBooking(String username, CreateBookingRequest request) {
+        return book(username, request, false);
+    }
+
+    /**
+     * Places a PENDING hold that takes inventory like a booking and is released by
+     * {@link HoldExpiryService} unless confirmed within {@code app.holds.duration-minutes}.
+     * Only events stored here can be held.
+     */
+    public BookingResponse createHold(String username, CreateBookingRequest request) {
+        return book(username, request, true);
+    }
+
+    /**
+     * Pipeline variant of {@link #createBooking}: checks the request against the event
+     * snapshot, queues the booking on {@link BookingPipeline} under its final id and
+     * returns it as PENDING without waiting for the write. The outcome is read back with
+     * {@link #getBookingStatus}. Only events stored here can be booked this way, and not
+     * high-demand ones: those are written by {@link HighDemandInventory} alone.
+     */
+    public BookingResponse submitBooking(String username, CreateBookingRequest request) {
+        if (!bookingPipeline.isEnabled()) {
+            throw new IllegalStateException("Booking pipeline is disabled");
+        }
         if (request.getEventId() == null || request.getQuantity() == null || request.getQuantity() <= 0) {
             throw new IllegalArgumentException("Event ID and valid quantity are required");
         }
-        
-        User user = userRepository.findByUsername(username)
+
+        User user = CurrentUser.find(userRepository, username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Calculate total price
-        Double ticketPrice = request.getTicketPrice() != null ? request.getTicketPrice() : 0.0;
-        Double totalPrice = ticketPrice * request.getQuantity();
+        Long eventId = parseEventId(request.getEventId());
+        EventSnapshot event = eventId != null ? findSnapshot(eventId) : null;
+        if (event == null) {
+            throw new IllegalArgumentException("Event not found");
+        }
+        if (event.isHighDemand()) {
+            throw new IllegalArgumentException("High-demand events must be booked directly");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        checkAvailable(event, request.getQuantity(), now);
+        Booking booking = newBooking(user, request, event, now, false);
+        booking.setId(bookingIdAllocator.next());
+        bookingPipeline.submit(booking, eventId, request.getQuantity());
 
-        // Create booking with event data from request
-        Booking booking = new Booking();
-        booking.setUser(user);
-        booking.setEventId(request.getEventId());
-        booking.setEventTitle(request.getEventTitle() != null ? request.getEventTitle() : "Event");
-        booking.setEventLocation(request.getEventLocation() != null ? request.getEventLocation() : "TBA");
-        booking.setEventStartDate(request.getEventStartDate());
-        booking.setQuantity(request.getQuantity());
-        booking.setTotalPrice(totalPrice);
+        BookingResponse response = toResponse(booking);
+        response.setStatus(BookingPipeline.State.PENDING.name());
+        return response;
+    }
+
+    /**
+     * Outcome of a pipelined booking (PENDING, CONFIRMED, REJECTED or FAILED) while the
+     * pipeline still tracks it, otherwise the stored booking.
+     */
+    public BookingResponse getBookingStatus(Long id, String username) {
+        BookingPipeline.Request tracked = bookingPipeline.find(id).orElse(null);
+        if (tracked == null) {
+            return getBookingById(id, username);
+        }
+        Booking booking = tracked.getBooking();
+        User user = CurrentUser.find(userRepository, username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Compared by id: the tracked booking may hold a user reference from another session
+        if (!booking.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("Unauthorized access to booking");
+        }
+        BookingResponse response = toResponse(booking);
+        response.setStatus(tracked.getState().name());
+        return response;
+    }
+
+    @Transactional
+    public BookingResponse confirmHold(Long id, String username) {
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+
+        if (!booking.getUser().getUsername().equals(username)) {
+            throw new RuntimeException("Unauthorized access to booking");
+        }
+        if (!"PENDING".equals(booking.getStatus())) {
+            throw new IllegalStateException("Booking is not on hold");
+        }
+        if (bookingRepository.confirmHold(id, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Hold has expired");
+        }
         booking.setStatus("CONFIRMED");
-        booking.setBookingDate(LocalDateTime.now());
+        booking.setHoldExpiresAt(null);
+        return toResponse(booking);
+    }
 
-        booking = bookingRepository.save(booking);
+    private BookingResponse book(String username, CreateBookingRequest request, boolean hold) {
+        if (request.getEventId() == null || request.getQuantity() == null || request.getQuantity() <= 0) {
+            throw new IllegalArgumentException("Event ID and valid quantity are required");
+        }
+        
+        User user = CurrentUser.find(userRepository, username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Long eventId = parseEventId(request.getEventId());
+        EventSnapshot event = eventId != null ? findSnapshot(eventId) : null;
+        LocalDateTime now = LocalDateTime.now();
+        int quantity = request.getQuantity();
+
+        if (event == null) {
+            if (hold) {
+                throw new IllegalArgumentException("Event not found");
+            }
+            Booking booking = newBooking(user, request, null, now, false);
+            booking.setId(bookingIdAllocator.next());
+            return toResponse(bookingRepository.save(booking));
+        }
+
+        checkAvailable(event, quantity, now);
+        Booking booking = newBooking(user, request, event, now, hold);
+        booking.setId(bookingIdAllocator.next());
 
+        if (event.isHighDemand()) {
+            booking = highDemandInventory.book(booking, eventId, quantity, event.getPersonLimit());
+        } else {
+            Booking pending = booking;
+            booking = transactionTemplate.execute(status -> {
+                if (eventRepository.reserveTickets(eventId, quantity, now) == 0) {
+                    throw new TicketsUnavailableException("Not enough tickets left");
+                }
+                return bookingRepository.save(pending);
+            });
+        }
+        if (hold) {
+            holdExpiryService.schedule(booking.getId(), booking.getHoldExpiresAt());
+        }
+        invalidateEvent(eventId);
         return toResponse(booking);
     }
 
+    /**
+     * Books every item of a cart in one transaction: either all items are booked or
+     * none. The event snapshots are read together, quantities for the same event are merged
+     * into one conditional reservation taken in event id order (so concurrent carts
+     * cannot deadlock on event rows), and the bookings are written with batched inserts.
+     * High-demand events go through the waiting room and cannot be part of a cart. Ids
+     * are taken before the transaction opens.
+     */
+    public List<BookingResponse> createCart(String username, List<CreateBookingRequest> items) {
+        if (items == null || items.isEmpty() || items.size() > CreateCartRequest.MAX_ITEMS) {
+            throw new IllegalArgumentException("Cart must contain between 1 and " + CreateCartRequest.MAX_ITEMS + " items");
+        }
+        Set<Long> eventIds = new HashSet<>();
+        for (CreateBookingRequest item : items) {
+            if (item.getEventId() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Event ID and valid quantity are required");
+            }
+            Long eventId = parseEventId(item.getEventId());
+            if (eventId != null) {
+                eventIds.add(eventId);
+            }
+        }
+        long[] ids = bookingIdAllocator.next(items.size());
+        return transactionTemplate.execute(status -> bookCart(username, items, eventIds, ids));
+    }
+
+    private List<BookingResponse> bookCart(String username, List<CreateBookingRequest> items, Set<Long> eventIds,
+                                           long[] ids) {
+        User user = CurrentUser.find(userRepository, username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Map<Long, EventSnapshot> events = eventIds.isEmpty() ? Map.of() : findSnapshots(eventIds);
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        List<Booking> bookings = new ArrayList<>(items.size());
+        for (CreateBookingRequest item : items) {
+            EventSnapshot event = events.get(parseEventId(item.getEventId()));
+            if (event != null) {
+                if (event.isHighDemand()) {
+                    throw new IllegalArgumentException("High-demand events must be booked individually");
+                }
+                quantities.merge(event.getId(), item.getQuantity(), Integer::sum);
+            }
+            Booking booking = newBooking(user, item, event, now, false);
+            booking.setId(ids[bookings.size()]);
+            bookings.add(booking);
+        }
+        quantities.forEach((eventId, quantity) -> {
+            checkAvailable(events.get(eventId), quantity, now);
+            if (eventRepository.reserveTickets(eventId, quantity, now) == 0) {
+                throw new TicketsUnavailableException("Not enough tickets left");
+            }
+        });
+
+        List<BookingResponse> responses = bookingRepository.saveAll(bookings).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+        quantities.keySet().forEach(this::invalidateEvent);
+        return responses;
+    }
+
+    private Booking newBooking(User user, CreateBookingRequest request, EventSnapshot event,
+                               LocalDateTime now, boolean hold) {
+        int quantity = request.getQuantity();
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setQuantity(quantity);
+        booking.setStatus(hold ? "PENDING" : "CONFIRMED");
+        booking.setBookingDate(now);
+        if (hold) {
+            booking.setHoldExpiresAt(now.plusMinutes(holdMinutes));
+        }
+        if (event == null) {
+            Double ticketPrice = request.getTicketPrice() != null ? request.getTicketPrice() : 0.0;
+            booking.setEventId(request.getEventId());
+            booking.setEventTitle(request.getEventTitle() != null ? request.getEventTitle() : "Event");
+            booking.setEventLocation(request.getEventLocation() != null ? request.getEventLocation() : "TBA");
+            booking.setEventStartDate(request.getEventStartDate());
+            booking.setTotalPrice(ticketPrice * quantity);
+            return booking;
+        }
+        double ticketPrice = event.getTicketPrice() != null ? event.getTicketPrice() : 0.0;
+        booking.setEventId(String.valueOf(event.getId()));
+        booking.setEventTitle(event.getTitle());
+        booking.setEventLocation(event.getLocation() != null ? event.getLocation() : "TBA");
+        booking.setEventStartDate(event.getStartDate());
+        booking.setTotalPrice(ticketPrice * quantity);
+        return booking;
+    }
+
     public List<BookingResponse> getUserBookings(String username) {
-        User user = userRepository.findByUsername(username)
+        User user = CurrentUser.find(userRepository, username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         return bookingRepository.findByUserIdOrderByBookingDateDesc(user.getId())
@@ -66,6 +331,47 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * ETag for the caller's booking list, derived from per-status counts instead of
+     * loading the bookings.
+     */
+    public ResourceValidator getUserBookingsValidator(String username) {
+        User user = CurrentUser.find(userRepository, username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        BookingsVersionView version = bookingRepository.findVersionByUserId(user.getId());
+        String tag = "b" + user.getId() + "-" + version.getBookingCount() + "-" + version.getLatestId()
+                + "-" + version.getConfirmedCount() + "-" + version.getCancelledCount() + "-" + version.getPendingCount();
+        return ResourceValidator.weak(tag, null);
+    }
+
+    /**
+     * Keyset variant of {@link #getUserBookings(String)}, newest first, seeking past the
+     * (bookingDate, id) of the cursor. One extra row is read to decide whether a next
+     * cursor is returned.
+     */
+    public CursorPage<BookingResponse> getUserBookings(String username, String cursor, int size) {
+        User user = CurrentUser.find(userRepository, username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Booking> bookings = before == null
+                ? bookingRepository.findByUserIdOrderByBookingDateDescIdDesc(user.getId(), limit)
+                : bookingRepository.findByUserIdBefore(user.getId(), before.getTimestamp(), before.getId(), limit);
+
+        String nextCursor = null;
+        if (bookings.size() > pageSize) {
+            bookings = bookings.subList(0, pageSize);
+            Booking last = bookings.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getBookingDate(), last.getId()).encode();
+        }
+        List<BookingResponse> content = bookings.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, pageSize, nextCursor);
+    }
+
     public BookingResponse getBookingById(Long id, String username) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -87,17 +393,128 @@ public class BookingService {
             throw new RuntimeException("Unauthorized access to booking");
         }
 
-        booking.setStatus("CANCELLED");
-        bookingRepository.save(booking);
+        // Both updates are conditional on the current status, so a booking that a concurrent
+        // cancel, expiry or event cancellation got to first is not released twice. A hold
+        // confirmed since it was read is cancelled as a confirmed booking.
+        int cancelled = 0;
+        if ("PENDING".equals(booking.getStatus())) {
+            cancelled = bookingRepository.cancelHold(id);
+        }
+        if (cancelled == 0 && ("PENDING".equals(booking.getStatus()) || "CONFIRMED".equals(booking.getStatus()))) {
+            cancelled = bookingRepository.cancelConfirmed(id);
+        }
+        if (cancelled > 0) {
+            adjustTicketsSold(booking.getEventId(), -booking.getQuantity());
+        }
     }
 
-    @Transactional
     public void cancelAllBookingsForEvent(String eventId) {
-        List<Booking> bookings = bookingRepository.findByEventId(eventId);
-        for (Booking booking : bookings) {
-            booking.setStatus("CANCELLED");
+        cancelAllBookingsForEvent(eventId, userId -> { });
+    }
+
+    /**
+     * Cancels every booking of an event in chunks of {@code app.bookings.cancel-batch-size}.
+     * Each chunk is its own transaction: one locking select of the booking columns, one
+     * bulk status update and one tickets_sold update, so heap use and lock time stay
+     * bounded however many bookings the event has. The owners of each committed chunk
+     * are passed to {@code affectedUserIds} (distinct within a chunk) for notifications.
+     * Returns the number of bookings cancelled.
+     */
+    public int cancelAllBookingsForEvent(String eventId, LongConsumer affectedUserIds) {
+        int batchSize = Math.max(1, cancelBatchSize);
+        int cancelled = 0;
+        long lastId = 0;
+        List<BookingCancelView> chunk;
+        do {
+            long afterId = lastId;
+            Set<Long> userIds = new LinkedHashSet<>();
+            chunk = transactionTemplate.execute(status -> cancelChunk(eventId, afterId, batchSize, userIds));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+            cancelled += chunk.size();
+            userIds.forEach(affectedUserIds::accept);
+        } while (chunk.size() == batchSize);
+        return cancelled;
+    }
+
+    private List<BookingCancelView> cancelChunk(String eventId, long afterId, int batchSize, Set<Long> userIds) {
+        List<BookingCancelView> chunk = bookingRepository.lockActiveByEventAfterId(eventId, afterId, batchSize);
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        List<Long> ids = new ArrayList<>(chunk.size());
+        int releasedTickets = 0;
+        for (BookingCancelView booking : chunk) {
+            ids.add(booking.getId());
+            releasedTickets += booking.getQuantity();
+            userIds.add(booking.getUserId());
+        }
+        bookingRepository.cancelByIds(ids);
+        adjustTicketsSold(eventId, -releasedTickets);
+        return chunk;
+    }
+
+    /**
+     * Keeps the materialized tickets_sold counter on the event in step with confirmed
+     * bookings and drops the cached event responses. Bookings referencing a non-numeric
+     * event id have no backing event row.
+     */
+    private void adjustTicketsSold(String eventId, int delta) {
+        Long id = parseEventId(eventId);
+        if (id == null || delta == 0) {
+            return;
+        }
+        eventRepository.adjustTicketsSold(id, delta);
+        if (delta < 0) {
+            highDemandInventory.release(id, -delta);
+        }
+        invalidateEvent(id);
+    }
+
+    /**
+     * Rejects from the snapshot before inserting anything. The snapshot carries no sales
+     * count, so it only catches requests no amount of free inventory could satisfy; the
+     * conditional reservation remains the authority on what is left.
+     */
+    private void checkAvailable(EventSnapshot event, int quantity, LocalDateTime now) {
+        if (event.getEndDate() != null && !event.getEndDate().isAfter(now)) {
+            throw new IllegalArgumentException("Event has already ended");
+        }
+        if (event.getPersonLimit() != null && quantity > event.getPersonLimit()) {
+            throw new TicketsUnavailableException("Not enough tickets left");
+        }
+    }
+
+    private EventSnapshot findSnapshot(Long eventId) {
+        return eventSnapshotCache.get(eventId, id -> eventRepository.findBookingViewById(id).map(EventSnapshot::of))
+                .orElse(null);
+    }
+
+    private Map<Long, EventSnapshot> findSnapshots(Set<Long> eventIds) {
+        return eventSnapshotCache.getAll(eventIds, missing -> {
+            Map<Long, EventSnapshot> loaded = new HashMap<>();
+            eventRepository.findBookingViewsByIdIn(List.copyOf(missing))
+                    .forEach(view -> loaded.put(view.getId(), EventSnapshot.of(view)));
+            return loaded;
+        });
+    }
+
+    private void invalidateEvent(Long id) {
+        eventResponseCache.invalidate(id);
+        sharedEventCache.invalidateAvailability(id);
+    }
+
+    private Long parseEventId(String eventId) {
+        if (eventId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(eventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
         }
-        bookingRepository.saveAll(bookings);
     }
 
     private BookingResponse toResponse(Booking booking) {
@@ -111,6 +528,7 @@ public class BookingService {
         response.setBookingDate(booking.getBookingDate());
         response.setEventStartDate(booking.getEventStartDate());
         response.setEventLocation(booking.getEventLocation());
+        response.setHoldExpiresAt(booking.getHoldExpiresAt());
 
         return response;
     }
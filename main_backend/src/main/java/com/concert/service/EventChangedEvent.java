@@ -0,0 +1,39 @@
+package com.concert.service;
+
+import com.concert.repository.EventListView;
+
+/**
+ * Published by {@link EventService} when an event is created, edited or deleted, so
+ * in-memory read models (search, suggestions) can update without polling the database.
+ * {@code event} carries the new state and is null for deletions.
+ */
+public class EventChangedEvent {
+
+    private final Long eventId;
+    private final EventListView event;
+
+    public EventChangedEvent(Long eventId, EventListView event) {
+        this.eventId = eventId;
+        this.event = event;
+    }
+
+    public static EventChangedEvent saved(EventListView event) {
+        return new EventChangedEvent(event.getId(), event);
+    }
+
+    public static EventChangedEvent deleted(Long eventId) {
+        return new EventChangedEvent(eventId, null);
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public EventListView getEvent() {
+        return event;
+    }
+
+    public boolean isDeleted() {
+        return event == null;
+    }
+}
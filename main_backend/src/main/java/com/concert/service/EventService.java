@@ -1,18 +1,32 @@
 package com.concert.service;
 
+import com.concert.cache.CachedEventPage;
+import com.concert.cache.EventResponseCache;
+import com.concert.cache.EventSnapshotCache;
+import com.concert.cache.SharedEventCache;
 import com.concert.config.AwsProperties;
 import com.concert.dto.CreateEventRequest;
+import com.concert.dto.CursorPage;
 import com.concert.dto.EventPhotoResponse;
 import com.concert.dto.EventOrganizerSummary;
 import com.concert.dto.EventPhotoSummary;
 import com.concert.dto.EventResponse;
 import com.concert.dto.EventParticipantSummary;
+import com.concert.dto.ResourceValidator;
+import com.concert.model.BookingStatus;
 import com.concert.model.Event;
 import com.concert.model.User;
-import com.concert.model.Booking;
 import com.concert.repository.EventRepository;
 import com.concert.repository.BookingRepository;
+import com.concert.repository.EventListView;
+import com.concert.repository.EventVersionView;
+import com.concert.repository.ListingVersionView;
+import com.concert.repository.ParticipantView;
+import com.concert.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -33,8 +47,17 @@ import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignReques
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -50,15 +73,31 @@ public class EventService {
     private final BookingRepository bookingRepository;
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
+    private final EventResponseCache eventResponseCache;
+    private final SharedEventCache sharedEventCache;
+    private final EventSnapshotCache eventSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     private AwsProperties awsProperties;
 
-    public EventService(EventRepository eventRepository, BookingRepository bookingRepository, S3Client s3Client, S3Presigner s3Presigner) {
+    @Value("${app.cache.events.listing-version-ttl:5s}")
+    private Duration listingVersionTtl = Duration.ZERO;
+
+    private volatile ListingTag listingTag;
+
+    public EventService(EventRepository eventRepository, BookingRepository bookingRepository, S3Client s3Client,
+                        S3Presigner s3Presigner, EventResponseCache eventResponseCache,
+                        SharedEventCache sharedEventCache, EventSnapshotCache eventSnapshotCache,
+                        ApplicationEventPublisher eventPublisher) {
         this.eventRepository = eventRepository;
         this.bookingRepository = bookingRepository;
         this.s3Client = s3Client;
         this.s3Presigner = s3Presigner;
+        this.eventResponseCache = eventResponseCache;
+        this.sharedEventCache = sharedEventCache;
+        this.eventSnapshotCache = eventSnapshotCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -81,35 +120,291 @@ public class EventService {
         event.setStartDate(request.getStartDate());
         event.setEndDate(request.getEndDate());
         event.setTicketPrice(request.getTicketPrice());
+        event.setHighDemand(Boolean.TRUE.equals(request.getHighDemand()));
         event.setOrganizer(organizer);
 
         Event saved = eventRepository.save(event);
+        sharedEventCache.invalidateEvent(null);
+        listingTag = null;
+        eventPublisher.publishEvent(EventChangedEvent.saved(EventListView.of(saved)));
         return toResponse(saved, organizer);
     }
 
     public Page<EventResponse> getUpcomingEvents(Pageable pageable, User currentUser) {
+        return getUpcomingEvents(pageable, currentUser, null);
+    }
+
+    /**
+     * {@link #getUpcomingEvents(Pageable, User)} for a body that matches
+     * {@code listingVersion}, the version behind the ETag sent with it. Shared pages are
+     * keyed by that version and items are checked against their rows, so a fresh tag never
+     * goes out with a body built before it. Without a version the shared tier is skipped.
+     */
+    @Transactional(readOnly = true)
+    public Page<EventResponse> getUpcomingEvents(Pageable pageable, User currentUser, String listingVersion) {
         // Show events that haven't ended yet (filter by endDate)
         LocalDateTime now = LocalDateTime.now();
-        Page<Event> page = eventRepository.findByEndDateAfterOrderByStartDateAsc(now, pageable);
-        List<EventResponse> responses = page.getContent().stream()
-                .map(event -> toResponse(event, currentUser))
+        CachedEventPage cached = listingVersion == null ? null : sharedEventCache
+                .getUpcomingPage(now, pageable.getPageNumber(), pageable.getPageSize(), listingVersion)
+                .orElse(null);
+        if (cached == null) {
+            Page<EventListView> page = eventRepository.findUpcomingViews(now, pageable);
+            cached = new CachedEventPage(toBaseResponses(page.getContent()), page.getTotalElements());
+            if (listingVersion != null) {
+                sharedEventCache.putUpcomingPage(now, pageable.getPageNumber(), pageable.getPageSize(),
+                        listingVersion, cached);
+            }
+        }
+        List<EventResponse> responses = cached.getContent().stream()
+                .map(base -> personalize(base, currentUser))
                 .collect(Collectors.toList());
-        return new PageImpl<>(responses, pageable, page.getTotalElements());
+        return new PageImpl<>(responses, pageable, cached.getTotalElements());
     }
 
-    public List<EventResponse> getEventsForOrganizer(User organizer) {
-        return eventRepository.findByOrganizerOrderByStartDateAsc(organizer).stream()
-                .map(event -> toResponse(event, organizer))
+    /**
+     * Keyset variant of {@link #getUpcomingEvents}: seeks past the (startDate, id) of the
+     * cursor instead of skipping an offset, and reads one extra row to detect a next
+     * page rather than running a count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getUpcomingEvents(String cursor, int size, User currentUser) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        Limit limit = Limit.of(pageSize + 1);
+        List<EventListView> events = after == null
+                ? eventRepository.findUpcomingViews(now, limit)
+                : eventRepository.findUpcomingViewsAfter(now, after.getTimestamp(), after.getId(), limit);
+
+        String nextCursor = null;
+        if (events.size() > pageSize) {
+            events = events.subList(0, pageSize);
+            EventListView last = events.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getStartDate(), last.getId()).encode();
+        }
+        List<EventResponse> responses = toBaseResponses(events).stream()
+                .map(base -> personalize(base, currentUser))
                 .collect(Collectors.toList());
+        return new CursorPage<>(responses, pageSize, nextCursor);
+    }
+
+    public List<EventResponse> getEventsForOrganizer(User organizer) {
+        return toResponses(eventRepository.findByOrganizerOrderByStartDateAsc(organizer), organizer);
     }
 
     public EventResponse getEvent(Long id, User currentUser) {
+        return getEvent(id, currentUser, null);
+    }
+
+    /**
+     * {@link #getEvent(Long, User)} for a body that matches {@code version}, the version
+     * behind the validators sent with it. A cached body built from another version, e.g.
+     * one edited on another replica within the cache TTL, is reloaded from the database
+     * so a fresh ETag never goes out with a stale body.
+     */
+    public EventResponse getEvent(Long id, User currentUser, String version) {
+        EventResponse base = eventResponseCache.get(id, key -> sharedEventCache.getEvent(key)
+                .orElseGet(() -> loadBaseResponse(key)));
+        if (version != null && !version.equals(base.getVersion())) {
+            base = loadBaseResponse(id);
+            eventResponseCache.put(id, base);
+        }
+        return personalize(base, currentUser);
+    }
+
+    private EventResponse loadBaseResponse(Long id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
-        return toResponse(event, currentUser);
+        EventResponse built = buildBaseResponses(List.of(EventListView.of(event))).get(id);
+        sharedEventCache.putEvent(id, built);
+        return built;
+    }
+
+    /**
+     * Confirmed participants of one event in booking order, paged separately from the
+     * event payload so large events do not inflate every event response.
+     */
+    @Transactional(readOnly = true)
+    public Page<EventParticipantSummary> getParticipants(Long eventId, Pageable pageable) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new IllegalArgumentException("Event not found");
+        }
+        return bookingRepository.findParticipantsByEventId(eventId, BookingStatus.CONFIRMED, pageable)
+                .map(row -> new EventParticipantSummary(row.getUserName(), row.getTicketCount(), row.getJoinedAt()));
+    }
+
+    /**
+     * Validators for {@link #getEvent}: changes with edits (updatedAt), booking changes
+     * (bookingVersion) and with whether the caller owns the event. Last-Modified is the
+     * later of the last edit and the last booking change.
+     */
+    @Transactional(readOnly = true)
+    public ResourceValidator getEventValidator(Long id, User currentUser) {
+        EventVersionView version = eventRepository.findVersionById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        String rowVersion = versionOf(version.getUpdatedAt(), version.getBookingVersion());
+        String tag = "e" + id + "-" + rowVersion + (isOwner(version.getOrganizerId(), currentUser) ? "-o" : "");
+        return ResourceValidator.weak(tag, toInstant(latest(version.getUpdatedAt(), version.getBookingChangedAt())),
+                rowVersion);
+    }
+
+    /**
+     * ETag for the upcoming listing. Deletions and events ending do not move a timestamp,
+     * so no Last-Modified is offered here. The aggregate behind it is reused for
+     * {@code app.cache.events.listing-version-ttl} and dropped on local edits. Its version
+     * is what {@link #getUpcomingEvents(Pageable, User, String)} builds the body against.
+     */
+    @Transactional(readOnly = true)
+    public ResourceValidator getUpcomingEventsValidator(User currentUser) {
+        String listing = upcomingListingTag();
+        String tag = listing + (currentUser != null ? "-u" + currentUser.getId() : "");
+        return ResourceValidator.weak(tag, null, listing);
+    }
+
+    private String upcomingListingTag() {
+        ListingTag cached = listingTag;
+        long now = System.nanoTime();
+        if (cached != null && now - cached.computedAt < listingVersionTtl.toNanos()) {
+            return cached.tag;
+        }
+        ListingVersionView version = eventRepository.findUpcomingListingVersion(LocalDateTime.now());
+        String tag = "l-" + version.getEventCount() + "-" + toEpochMillis(version.getLastUpdated())
+                + "-" + version.getVersionSum();
+        listingTag = new ListingTag(tag, now);
+        return tag;
+    }
+
+    private static String versionOf(LocalDateTime updatedAt, Long bookingVersion) {
+        return toEpochMillis(updatedAt) + "-" + bookingVersion;
+    }
+
+    private static LocalDateTime latest(LocalDateTime updatedAt, LocalDateTime bookingChangedAt) {
+        if (bookingChangedAt == null || (updatedAt != null && !bookingChangedAt.isAfter(updatedAt))) {
+            return updatedAt;
+        }
+        return bookingChangedAt;
+    }
+
+    private static Instant toInstant(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        Instant instant = toInstant(timestamp);
+        return instant != null ? instant.toEpochMilli() : 0;
+    }
+
+    /**
+     * Responses for the given ids in the given order, e.g. ranked search hits. Cached
+     * bases are reused; the rest are loaded by primary key in one query. Ids that no
+     * longer exist are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<EventResponse> getEventsByIds(List<Long> ids, User currentUser) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EventResponse> bases = eventResponseCache.getAll(new LinkedHashSet<>(ids), missing ->
+                buildBaseResponses(eventRepository.findViewsByIds(new ArrayList<>(missing))));
+        return ids.stream()
+                .map(bases::get)
+                .filter(Objects::nonNull)
+                .map(base -> personalize(base, currentUser))
+                .collect(Collectors.toList());
     }
 
     private EventResponse toResponse(Event event, User currentUser) {
+        return toResponses(List.of(event), currentUser).get(0);
+    }
+
+    /**
+     * Builds responses for a batch of events. User-independent parts come from the
+     * response cache; misses are built together so the confirmed participants of every
+     * missing event are loaded in a single query.
+     */
+    private List<EventResponse> toResponses(List<Event> events, User currentUser) {
+        List<EventListView> views = events.stream().map(EventListView::of).collect(Collectors.toList());
+        return toBaseResponses(views).stream()
+                .map(base -> personalize(base, currentUser))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Base responses for freshly read rows. A cached base whose version differs from its
+     * row, e.g. one edited or booked on another replica within the cache TTL, is rebuilt
+     * and replaced, so listings never pair current rows with out-of-date bodies.
+     */
+    private List<EventResponse> toBaseResponses(List<EventListView> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EventListView> eventsById = new LinkedHashMap<>();
+        for (EventListView event : events) {
+            eventsById.put(event.getId(), event);
+        }
+        Map<Long, EventResponse> bases = new HashMap<>(eventResponseCache.getAll(eventsById.keySet(), missing ->
+                buildBaseResponses(missing.stream().map(eventsById::get).collect(Collectors.toList()))));
+        List<EventListView> stale = eventsById.values().stream()
+                .filter(event -> !versionOf(event.getUpdatedAt(), event.getBookingVersion())
+                        .equals(bases.get(event.getId()).getVersion()))
+                .collect(Collectors.toList());
+        if (!stale.isEmpty()) {
+            Map<Long, EventResponse> rebuilt = buildBaseResponses(stale);
+            rebuilt.forEach(eventResponseCache::put);
+            bases.putAll(rebuilt);
+        }
+        return events.stream()
+                .map(event -> bases.get(event.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, EventResponse> buildBaseResponses(List<EventListView> events) {
+        Map<Long, List<EventParticipantSummary>> participantsByEvent = loadParticipants(events);
+        Map<Long, EventResponse> responses = new HashMap<>();
+        for (EventListView event : events) {
+            List<EventParticipantSummary> participants =
+                    participantsByEvent.getOrDefault(event.getId(), List.of());
+            EventResponse response = buildBaseResponse(event, Collections.unmodifiableList(participants));
+            response.setVersion(versionOf(event.getUpdatedAt(), event.getBookingVersion()));
+            responses.put(event.getId(), response);
+        }
+        return responses;
+    }
+
+    private Map<Long, List<EventParticipantSummary>> loadParticipants(List<EventListView> events) {
+        List<Long> eventIds = events.stream()
+                .map(EventListView::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<EventParticipantSummary>> participantsByEvent = new HashMap<>();
+        for (ParticipantView row : bookingRepository.findParticipantsByEventIds(eventIds, BookingStatus.CONFIRMED)) {
+            participantsByEvent.computeIfAbsent(row.getEventId(), key -> new ArrayList<>())
+                    .add(new EventParticipantSummary(row.getUserName(), row.getTicketCount(), row.getJoinedAt()));
+        }
+        return participantsByEvent;
+    }
+
+    private void evictCachedEvent(Long eventId) {
+        eventResponseCache.invalidate(eventId);
+        sharedEventCache.invalidateEvent(eventId);
+        listingTag = null;
+    }
+
+    /**
+     * Overlays the per-request ownership flags onto a copy of a shared base response.
+     */
+    private EventResponse personalize(EventResponse base, User currentUser) {
+        EventResponse response = base.copy();
+        boolean owned = isOwner(base.getOrganizerId(), currentUser);
+        response.setOwnedByCurrentUser(owned);
+        response.setOwnedByRequester(owned);
+        return response;
+    }
+
+    private static boolean isOwner(Long organizerId, User currentUser) {
+        return currentUser != null && organizerId != null && organizerId.equals(currentUser.getId());
+    }
+
+    private EventResponse buildBaseResponse(EventListView event, List<EventParticipantSummary> participants) {
         EventResponse response = new EventResponse();
         response.setId(event.getId());
         response.setTitle(event.getTitle());
@@ -131,36 +426,21 @@ public class EventService {
             response.setPhoto(new EventPhotoSummary(event.getPhotoId(), event.getPhotoUrl()));
         }
 
-        if (event.getOrganizer() != null) {
-            User organizer = event.getOrganizer();
+        if (event.getOrganizerId() != null) {
             EventOrganizerSummary summary = new EventOrganizerSummary(
-                    organizer.getId(),
-                    organizer.getUsername(),
-                    organizer.getName()
+                    event.getOrganizerId(),
+                    event.getOrganizerUsername(),
+                    event.getOrganizerName()
             );
             response.setOrganizer(summary);
-            response.setOrganizerId(organizer.getId());
-            response.setOrganizerUsername(organizer.getUsername());
-            response.setOrganizerName(organizer.getName());
+            response.setOrganizerId(event.getOrganizerId());
+            response.setOrganizerUsername(event.getOrganizerUsername());
+            response.setOrganizerName(event.getOrganizerName());
         }
 
         // Add participant tracking
-        List<Booking> confirmedBookings = bookingRepository.findByEventIdAndStatus(String.valueOf(event.getId()), "CONFIRMED");
-        int totalTickets = confirmedBookings.stream().mapToInt(Booking::getQuantity).sum();
-        response.setParticipantsCount(totalTickets);
-        
-        List<EventParticipantSummary> participants = confirmedBookings.stream()
-            .map(booking -> new EventParticipantSummary(
-                booking.getUser().getName() != null ? booking.getUser().getName() : booking.getUser().getUsername(),
-                booking.getQuantity(),
-                booking.getBookingDate()
-            ))
-            .collect(Collectors.toList());
+        response.setParticipantsCount(event.getTicketsSold() != null ? event.getTicketsSold() : 0);
         response.setParticipants(participants);
-
-        boolean owned = currentUser != null && event.getOrganizer() != null && event.getOrganizer().getId().equals(currentUser.getId());
-        response.setOwnedByCurrentUser(owned);
-        response.setOwnedByRequester(owned);
         return response;
     }
 
@@ -190,11 +470,17 @@ public class EventService {
         event.setStartDate(request.getStartDate());
         event.setEndDate(request.getEndDate());
         event.setTicketPrice(request.getTicketPrice());
+        if (request.getHighDemand() != null) {
+            event.setHighDemand(request.getHighDemand());
+        }
         if (request.getPhotoUrl() != null) {
             event.setPhotoUrl(request.getPhotoUrl());
         }
 
         Event updated = eventRepository.save(event);
+        evictCachedEvent(eventId);
+        eventSnapshotCache.invalidate(eventId);
+        eventPublisher.publishEvent(EventChangedEvent.saved(EventListView.of(updated)));
         return toResponse(updated, organizer);
     }
 
@@ -208,6 +494,9 @@ public class EventService {
         }
 
         eventRepository.delete(event);
+        evictCachedEvent(eventId);
+        eventSnapshotCache.invalidate(eventId);
+        eventPublisher.publishEvent(EventChangedEvent.deleted(eventId));
     }
 
     @Transactional
@@ -255,6 +544,7 @@ public class EventService {
             // Update event with photo info
             event.setPhotoId(photoId);
             event.setPhotoUrl(photoUrl);
+            evictCachedEvent(eventId);
             try {
                 eventRepository.save(event);
             } catch (Exception dbEx) {
@@ -380,8 +670,19 @@ public class EventService {
         event.setPhotoId(photoId);
         event.setPhotoUrl(photoUrl);
         eventRepository.save(event);
+        evictCachedEvent(eventId);
 
         return new EventPhotoResponse(photoUrl, photoId, "Photo set successfully");
     }
 
+    private static final class ListingTag {
+
+        private final String tag;
+        private final long computedAt;
+
+        ListingTag(String tag, long computedAt) {
+            this.tag = tag;
+            this.computedAt = computedAt;
+        }
+    }
 }
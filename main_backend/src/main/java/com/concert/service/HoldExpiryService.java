@@ -0,0 +1,191 @@
+package com.concert.service;
+
+import com.concert.cache.EventResponseCache;
+import com.concert.cache.SharedEventCache;
+import com.concert.inventory.HighDemandInventory;
+import com.concert.model.Booking;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import com.concert.repository.HoldView;
+import com.concert.util.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Releases ticket holds that were not confirmed in time. Outstanding holds live in a
+ * {@link TimingWheel} keyed by booking id, filled as holds are placed and once from the
+ * database at startup, so expiry never polls SQL. Each tick, the due ids are released
+ * in batches: one locking select, one bulk status update and one tickets_sold update
+ * per event. Holds confirmed or cancelled meanwhile are skipped by the select.
+ * <p>
+ * A wheel only knows the holds placed on its own instance, so a hold whose replica
+ * went away would never expire. Every instance therefore also sweeps the database for
+ * overdue PENDING holds on a slower schedule; release is conditional, so a hold that
+ * two instances pick up at once is still released only once.
+ */
+@Service
+public class HoldExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldExpiryService.class);
+
+    private static final int RETRY_SECONDS = 30;
+
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final EventResponseCache eventResponseCache;
+    private final SharedEventCache sharedEventCache;
+    private final HighDemandInventory highDemandInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    // 1s ticks, 64 slots, 4 levels: about 194 days before the overflow bucket is used
+    private final TimingWheel wheel = new TimingWheel(1000, 64, 4, System.currentTimeMillis());
+
+    public HoldExpiryService(BookingRepository bookingRepository, EventRepository eventRepository,
+                             EventResponseCache eventResponseCache, SharedEventCache sharedEventCache,
+                             HighDemandInventory highDemandInventory, PlatformTransactionManager transactionManager,
+                             @Value("${app.holds.release-batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.eventResponseCache = eventResponseCache;
+        this.sharedEventCache = sharedEventCache;
+        this.highDemandInventory = highDemandInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public void schedule(Long bookingId, LocalDateTime expiresAt) {
+        long deadline = toEpochMillis(expiresAt);
+        synchronized (wheel) {
+            wheel.schedule(bookingId, deadline);
+        }
+    }
+
+    /**
+     * Re-arms the holds that were outstanding when the application stopped; the ones
+     * already due expire on the first tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOutstandingHolds() {
+        long lastId = 0;
+        int loaded = 0;
+        List<HoldView> batch;
+        do {
+            batch = bookingRepository.findHoldsAfterId(lastId, Limit.of(batchSize));
+            for (HoldView hold : batch) {
+                schedule(hold.getId(), hold.getHoldExpiresAt());
+                lastId = hold.getId();
+            }
+            loaded += batch.size();
+        } while (batch.size() == batchSize);
+        logger.info("Scheduled {} outstanding ticket holds for expiry", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.tick-ms:1000}")
+    public void expireDueHolds() {
+        List<Long> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), due::add);
+        }
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> chunk = due.subList(from, Math.min(due.size(), from + batchSize));
+            try {
+                release(chunk);
+            } catch (RuntimeException e) {
+                logger.warn("Releasing {} expired holds failed; retrying in {}s", chunk.size(), RETRY_SECONDS, e);
+                LocalDateTime retryAt = LocalDateTime.now().plusSeconds(RETRY_SECONDS);
+                chunk.forEach(bookingId -> schedule(bookingId, retryAt));
+            }
+        }
+    }
+
+    /**
+     * Releases the overdue holds no wheel expired, such as those placed on a replica
+     * that has since stopped. Returns the number released.
+     */
+    @Scheduled(fixedDelayString = "${app.holds.sweep-interval-ms:60000}",
+            initialDelayString = "${app.holds.sweep-interval-ms:60000}")
+    public int sweepOverdueHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        long lastId = 0;
+        int released = 0;
+        List<Long> batch;
+        do {
+            batch = bookingRepository.findOverdueHoldIdsAfterId(lastId, now, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1);
+            try {
+                released += release(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Sweeping {} overdue holds failed; the next sweep retries them", batch.size(), e);
+            }
+        } while (batch.size() == batchSize);
+        if (released > 0) {
+            logger.info("Swept {} overdue ticket holds", released);
+        }
+        return released;
+    }
+
+    /**
+     * Expires the given holds that are still PENDING and due. Returns the number released.
+     */
+    public int release(List<Long> bookingIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Integer> releasedByEvent = new HashMap<>();
+        Integer released = transactionTemplate.execute(status -> {
+            List<Booking> expired = bookingRepository.lockExpiredHolds(bookingIds, now);
+            if (expired.isEmpty()) {
+                return 0;
+            }
+            bookingRepository.markExpired(expired.stream().map(Booking::getId).toList());
+            for (Booking booking : expired) {
+                Long eventId = parseEventId(booking.getEventId());
+                if (eventId != null) {
+                    releasedByEvent.merge(eventId, booking.getQuantity(), Integer::sum);
+                }
+            }
+            releasedByEvent.forEach((eventId, quantity) -> eventRepository.adjustTicketsSold(eventId, -quantity, now));
+            return expired.size();
+        });
+        releasedByEvent.forEach((eventId, quantity) -> {
+            highDemandInventory.release(eventId, quantity);
+            eventResponseCache.invalidate(eventId);
+            sharedEventCache.invalidateAvailability(eventId);
+        });
+        return released != null ? released : 0;
+    }
+
+    public int outstandingHolds() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Long parseEventId(String eventId) {
+        try {
+            return eventId != null ? Long.valueOf(eventId.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.concert.service;
 
+import com.concert.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -9,25 +12,53 @@ import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String PROFILE_VERSION_CLAIM = "pv";
     
     @Value("${jwt.secret:mySecretKey}")
     private String jwtSecret;
     
     @Value("${jwt.expiration:604800000}")
     private int jwtExpirationInMs; // 7 days = 604800000ms
+
+    // Key and parser for the current secret, built once instead of per token
+    private volatile SigningMaterial signingMaterial;
     
     public String generateToken(String username) {
+        return buildToken(username, Map.of());
+    }
+
+    /**
+     * Token for a stored user, carrying its id and profile version so requests can be
+     * authenticated without loading the user.
+     */
+    public String generateToken(User user) {
+        return generateToken(user.getId(), user.getUsername(), user.getProfileVersion());
+    }
+
+    public String generateToken(Long userId, String username, long profileVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(PROFILE_VERSION_CLAIM, profileVersion);
+        return buildToken(username, claims);
+    }
+
+    private String buildToken(String username, Map<String, Object> claims) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
         
         return Jwts.builder()
+                .addClaims(claims)
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signing().key, SignatureAlgorithm.HS512)
                 .compact();
     }
     
@@ -45,11 +76,20 @@ public class JwtService {
     }
     
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return signing().parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verifies the signature and expiry of a token in one parse and returns its claims.
+     * Tokens without an expiry are rejected. Throws {@link JwtException} for any token
+     * that is not valid.
+     */
+    public Claims parseVerified(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        return claims;
     }
     
     public Boolean isTokenExpired(String token) {
@@ -64,17 +104,22 @@ public class JwtService {
     
     public Boolean validateToken(String token, String username) {
         try {
-            final String tokenUsername = getUsernameFromToken(token);
-            return (tokenUsername.equals(username) && !isTokenExpired(token));
+            // The parser itself rejects expired tokens
+            return parseVerified(token).getSubject().equals(username);
         } catch (Exception e) {
             // Token is invalid (expired, malformed, etc.)
             return false;
         }
     }
     
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private SigningMaterial signing() {
+        SigningMaterial material = signingMaterial;
+        String secret = jwtSecret;
+        if (material == null || !material.secret.equals(secret)) {
+            material = new SigningMaterial(secret);
+            signingMaterial = material;
+        }
+        return material;
     }
 
     // Alias methods for JwtAuthenticationFilter compatibility
@@ -94,4 +139,16 @@ public class JwtService {
     public void setJwtExpirationInMs(long jwtExpirationInMs) {
         this.jwtExpirationInMs = (int) jwtExpirationInMs;
     }
+
+    private static final class SigningMaterial {
+        private final String secret;
+        private final Key key;
+        private final JwtParser parser; // immutable and thread-safe
+
+        SigningMaterial(String secret) {
+            this.secret = secret;
+            this.key = Keys.hmacShaKeyFor(secret.getBytes());
+            this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        }
+    }
 }
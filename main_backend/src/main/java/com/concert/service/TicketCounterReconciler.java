@@ -0,0 +1,129 @@
+package com.concert.service;
+
+import com.concert.cache.EventResponseCache;
+import com.concert.cache.SharedEventCache;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import com.concert.repository.TicketCounterView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds the materialized {@code events.tickets_sold} counters from the bookings table.
+ * Runs once at startup (to seed counters for pre-existing data) and then on a schedule
+ * to repair any drift caused by writes that bypassed BookingService. The counters are
+ * summed over the typed booking columns, so {@link BookingReferenceBackfill} runs first.
+ *
+ * <p>Events are walked in id order, {@code app.events.ticket-counter.reconcile-batch-size}
+ * per transaction. Each chunk locks its event rows before recounting, so a booking that
+ * has reserved but not yet committed finishes first and is counted; bookings only
+ * releasing tickets change the row after the recount and apply their delta to it. Only
+ * counters that actually drifted are written; once their chunk commits, the local and
+ * shared cached responses of those events are invalidated so every replica picks up
+ * the corrected availability.
+ */
+@Component
+public class TicketCounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketCounterReconciler.class);
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final EventResponseCache eventResponseCache;
+    private final SharedEventCache sharedEventCache;
+    private final BookingReferenceBackfill bookingReferenceBackfill;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TicketCounterReconciler(EventRepository eventRepository, BookingRepository bookingRepository,
+                                   EventResponseCache eventResponseCache, SharedEventCache sharedEventCache,
+                                   BookingReferenceBackfill bookingReferenceBackfill,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.events.ticket-counter.reconcile-batch-size:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.eventResponseCache = eventResponseCache;
+        this.sharedEventCache = sharedEventCache;
+        this.bookingReferenceBackfill = bookingReferenceBackfill;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Returns the number of counters that were repaired.
+     */
+    @Scheduled(cron = "${app.events.ticket-counter.reconcile-cron:0 0 3 * * *}")
+    public int reconcile() {
+        bookingReferenceBackfill.backfill();
+        long afterId = 0;
+        int checked = 0;
+        int repaired = 0;
+        Chunk chunk;
+        do {
+            long from = afterId;
+            chunk = transactionTemplate.execute(status -> reconcileChunk(from));
+            checked += chunk.size;
+            repaired += chunk.repaired.size();
+            for (Long eventId : chunk.repaired) {
+                eventResponseCache.invalidate(eventId);
+                sharedEventCache.invalidateAvailability(eventId);
+            }
+            afterId = chunk.lastId;
+        } while (chunk.size == batchSize);
+        logger.info("Checked tickets_sold counters for {} events, repaired {}", checked, repaired);
+        return repaired;
+    }
+
+    private Chunk reconcileChunk(long afterId) {
+        List<TicketCounterView> counters = eventRepository.lockCountersAfterId(afterId, batchSize);
+        if (counters.isEmpty()) {
+            return new Chunk(0, afterId, List.of());
+        }
+        Map<Long, Long> recounted = new HashMap<>();
+        for (TicketCounterView row : bookingRepository.sumActiveQuantitiesByEventIds(
+                counters.stream().map(TicketCounterView::getId).toList())) {
+            recounted.put(row.getId(), row.getTicketsSold());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> repaired = new ArrayList<>();
+        for (TicketCounterView counter : counters) {
+            long actual = recounted.getOrDefault(counter.getId(), 0L);
+            if (counter.getTicketsSold() == null || counter.getTicketsSold() != actual) {
+                eventRepository.setTicketsSold(counter.getId(), (int) actual, now);
+                repaired.add(counter.getId());
+            }
+        }
+        return new Chunk(counters.size(), counters.get(counters.size() - 1).getId(), repaired);
+    }
+
+    private static final class Chunk {
+
+        private final int size;
+        private final long lastId;
+        private final List<Long> repaired;
+
+        Chunk(int size, long lastId, List<Long> repaired) {
+            this.size = size;
+            this.lastId = lastId;
+            this.repaired = repaired;
+        }
+    }
+}
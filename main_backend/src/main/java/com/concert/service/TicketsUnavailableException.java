@@ -0,0 +1,11 @@
+package com.concert.service;
+
+/**
+ * Thrown when a booking asks for more tickets than the event has left.
+ */
+public class TicketsUnavailableException extends RuntimeException {
+
+    public TicketsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,141 @@
+package com.concert.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical hashed timing wheel over long ids. Level {@code L} has {@code wheelSize}
+ * slots of {@code wheelSize^L} ticks each; an id sits in the lowest level whose current
+ * revolution contains its deadline and moves down one level each time its slot comes
+ * up, so scheduling and expiring are O(1) per id however many are outstanding. Ids
+ * beyond the top level wait in an overflow bucket that is re-placed once per top-level
+ * revolution. Slots are primitive arrays; nothing is allocated per id.
+ *
+ * <p>Deadlines are rounded up to whole ticks. There is no cancel: callers are expected
+ * to ignore expiries that no longer apply. Not thread-safe on its own.
+ */
+public class TimingWheel {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long startMillis;
+    private final long[] levelTicks;
+    private final Bucket[][] levels;
+    private final Bucket overflow = new Bucket();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.startMillis = startMillis;
+        this.levelTicks = new long[levelCount + 1];
+        this.levels = new Bucket[levelCount][wheelSize];
+        levelTicks[0] = 1;
+        for (int level = 1; level <= levelCount; level++) {
+            levelTicks[level] = levelTicks[level - 1] * wheelSize;
+        }
+        for (Bucket[] slots : levels) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Schedules {@code id} to expire at {@code deadlineMillis}; past deadlines expire
+     * on the next advance.
+     */
+    public void schedule(long id, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+        place(id, Math.max(deadlineTick, currentTick + 1));
+        size++;
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis}, handing every expired id to {@code expired}.
+     * Returns the number of ids expired.
+     */
+    public int advance(long nowMillis, LongConsumer expired) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        int count = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+            if (currentTick % levelTicks[levels.length] == 0) {
+                overflow.drainTo(this::place);
+            }
+            for (int level = levels.length - 1; level > 0; level--) {
+                if (currentTick % levelTicks[level] == 0) {
+                    levels[level][slotIndex(currentTick, level)].drainTo(this::place);
+                }
+            }
+            count += levels[0][slotIndex(currentTick, 0)].drainTo((id, deadlineTick) -> expired.accept(id));
+        }
+        size -= count;
+        return count;
+    }
+
+    /**
+     * Ids scheduled and not yet expired.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void place(long id, long deadlineTick) {
+        long tick = Math.max(deadlineTick, currentTick);
+        for (int level = 0; level < levels.length; level++) {
+            if (tick / levelTicks[level + 1] == currentTick / levelTicks[level + 1]) {
+                levels[level][slotIndex(tick, level)].add(id, tick);
+                return;
+            }
+        }
+        overflow.add(id, tick);
+    }
+
+    private int slotIndex(long tick, int level) {
+        return (int) ((tick / levelTicks[level]) % wheelSize);
+    }
+
+    private interface Entry {
+        void accept(long id, long deadlineTick);
+    }
+
+    private static final class Bucket {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private long[] deadlines = new long[INITIAL_CAPACITY];
+        private int count;
+
+        void add(long id, long deadlineTick) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                deadlines = Arrays.copyOf(deadlines, count * 2);
+            }
+            ids[count] = id;
+            deadlines[count] = deadlineTick;
+            count++;
+        }
+
+        /**
+         * Empties the bucket before handing out its entries, so they may be re-added
+         * to it. Returns the number of entries.
+         */
+        int drainTo(Entry consumer) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] drainedIds = ids;
+            long[] drainedDeadlines = deadlines;
+            int drained = count;
+            ids = new long[INITIAL_CAPACITY];
+            deadlines = new long[INITIAL_CAPACITY];
+            count = 0;
+            for (int i = 0; i < drained; i++) {
+                consumer.accept(drainedIds[i], drainedDeadlines[i]);
+            }
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.concert.waitingroom;
+
+/**
+ * FIFO admission queue per event. Waiters get increasing sequence numbers; a
+ * watermark advances at a fixed rate, never past the last issued number, and every
+ * sequence at or below it is admitted.
+ */
+public interface AdmissionQueue {
+
+    /**
+     * Sequence number of the user in the event's queue, starting at 1. Joining again
+     * returns the original number, so refreshing does not lose the place.
+     */
+    long join(long eventId, long userId);
+
+    /**
+     * Highest admitted sequence number, advanced to the current time.
+     */
+    long admittedThrough(long eventId);
+
+    /**
+     * Marks an admitted sequence number as used. Returns false if it already was.
+     */
+    boolean consume(long eventId, long sequence);
+
+    /**
+     * Marks a consumed sequence number as unused again, for a booking that failed.
+     */
+    void release(long eventId, long sequence);
+
+    /**
+     * Drops all state of the event's queue.
+     */
+    void clear(long eventId);
+}
@@ -0,0 +1,135 @@
+package com.concert.waitingroom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-instance admission queue. A waiter costs two longs in an open-addressing
+ * table (user id to sequence, for rejoins) plus one bit in the used-token bitmap, so
+ * millions of waiters stay in the tens of megabytes and create no per-waiter objects.
+ */
+@Component
+@ConditionalOnProperty(name = "app.waiting-room.store", havingValue = "local", matchIfMissing = true)
+public class LocalAdmissionQueue implements AdmissionQueue {
+
+    private final double admitPerSecond;
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+
+    public LocalAdmissionQueue(@Value("${app.waiting-room.admit-per-second:50}") double admitPerSecond) {
+        this.admitPerSecond = admitPerSecond;
+    }
+
+    @Override
+    public long join(long eventId, long userId) {
+        return queue(eventId).join(userId);
+    }
+
+    @Override
+    public long admittedThrough(long eventId) {
+        return queue(eventId).admittedThrough(System.nanoTime());
+    }
+
+    @Override
+    public boolean consume(long eventId, long sequence) {
+        return queue(eventId).consume(sequence);
+    }
+
+    @Override
+    public void release(long eventId, long sequence) {
+        queue(eventId).release(sequence);
+    }
+
+    @Override
+    public void clear(long eventId) {
+        queues.remove(eventId);
+    }
+
+    private EventQueue queue(long eventId) {
+        return queues.computeIfAbsent(eventId, id -> new EventQueue(admitPerSecond, System.nanoTime()));
+    }
+
+    static final class EventQueue {
+
+        private final double admitPerSecond;
+        // Open addressing with linear probing; user ids are positive, 0 marks a free slot
+        private long[] userIds = new long[1024];
+        private long[] sequences = new long[1024];
+        private int users;
+        private long[] used = new long[16];
+        private long issued;
+        private double admitted;
+        private long advancedAt;
+
+        EventQueue(double admitPerSecond, long nowNanos) {
+            this.admitPerSecond = admitPerSecond;
+            this.advancedAt = nowNanos;
+        }
+
+        synchronized long join(long userId) {
+            int slot = slot(userIds, userId);
+            if (userIds[slot] == userId) {
+                return sequences[slot];
+            }
+            userIds[slot] = userId;
+            sequences[slot] = ++issued;
+            if (++users * 2 > userIds.length) {
+                grow();
+            }
+            return issued;
+        }
+
+        synchronized long admittedThrough(long nowNanos) {
+            admitted = Math.min(issued, admitted + admitPerSecond * (nowNanos - advancedAt) / 1_000_000_000.0);
+            advancedAt = nowNanos;
+            return (long) admitted;
+        }
+
+        synchronized boolean consume(long sequence) {
+            int word = (int) (sequence >>> 6);
+            if (word >= used.length) {
+                used = Arrays.copyOf(used, Math.max(word + 1, used.length * 2));
+            }
+            long bit = 1L << sequence;
+            if ((used[word] & bit) != 0) {
+                return false;
+            }
+            used[word] |= bit;
+            return true;
+        }
+
+        synchronized void release(long sequence) {
+            int word = (int) (sequence >>> 6);
+            if (word < used.length) {
+                used[word] &= ~(1L << sequence);
+            }
+        }
+
+        private void grow() {
+            long[] oldUserIds = userIds;
+            long[] oldSequences = sequences;
+            userIds = new long[oldUserIds.length * 2];
+            sequences = new long[oldUserIds.length * 2];
+            for (int i = 0; i < oldUserIds.length; i++) {
+                if (oldUserIds[i] != 0) {
+                    int slot = slot(userIds, oldUserIds[i]);
+                    userIds[slot] = oldUserIds[i];
+                    sequences[slot] = oldSequences[i];
+                }
+            }
+        }
+
+        private static int slot(long[] table, long userId) {
+            int mask = table.length - 1;
+            int slot = (int) (userId * 0x9E3779B97F4A7C15L >>> 32) & mask;
+            while (table[slot] != 0 && table[slot] != userId) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
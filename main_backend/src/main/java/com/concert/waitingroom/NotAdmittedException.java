@@ -0,0 +1,12 @@
+package com.concert.waitingroom;
+
+/**
+ * Thrown when a booking for a high-demand event arrives without an admitted,
+ * unused waiting-room token.
+ */
+public class NotAdmittedException extends RuntimeException {
+
+    public NotAdmittedException(String eventId) {
+        super("Not admitted from the waiting room for event " + eventId);
+    }
+}
@@ -0,0 +1,80 @@
+package com.concert.waitingroom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * A waiter's place in an event queue, signed with HMAC-SHA256 so the server keeps no
+ * per-token state: {@code base64url(eventId:sequence:username).base64url(mac)}.
+ */
+public class QueueToken {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final long eventId;
+    private final long sequence;
+    private final String username;
+
+    public QueueToken(long eventId, long sequence, String username) {
+        this.eventId = eventId;
+        this.sequence = sequence;
+        this.username = username;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    String sign(byte[] secret) {
+        String payload = eventId + ":" + sequence + ":" + username;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(mac(secret, payload));
+    }
+
+    /**
+     * Returns the token's contents, or throws IllegalArgumentException when it is
+     * malformed or its signature does not match.
+     */
+    static QueueToken verify(String token, byte[] secret) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Missing queue token");
+        }
+        try {
+            int dot = token.indexOf('.');
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            String payload = new String(decoder.decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+            byte[] signature = decoder.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, mac(secret, payload))) {
+                throw new IllegalArgumentException("Invalid queue token");
+            }
+            String[] parts = payload.split(":", 3);
+            return new QueueToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException
+            throw new IllegalArgumentException("Invalid queue token", e);
+        }
+    }
+
+    private static byte[] mac(byte[] secret, String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.concert.waitingroom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Admission queue shared by all instances. The sequence is an INCR counter, rejoins
+ * are answered from a hash, used tokens are bits in a bitmap, and the watermark is
+ * advanced inside a script using the Redis clock so instances cannot double-advance it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.waiting-room.store", havingValue = "redis")
+public class RedisAdmissionQueue implements AdmissionQueue {
+
+    private static final RedisScript<Long> JOIN = new DefaultRedisScript<>(
+            "local s = redis.call('HGET', KEYS[2], ARGV[1]) "
+                    + "if s then return tonumber(s) end "
+                    + "s = redis.call('INCR', KEYS[1]) "
+                    + "redis.call('HSET', KEYS[2], ARGV[1], s) "
+                    + "return s", Long.class);
+
+    private static final RedisScript<Long> ADVANCE = new DefaultRedisScript<>(
+            "local issued = tonumber(redis.call('GET', KEYS[1]) or '0') "
+                    + "local t = redis.call('TIME') "
+                    + "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) "
+                    + "local admitted = tonumber(redis.call('HGET', KEYS[2], 'admitted') or '0') "
+                    + "local last = tonumber(redis.call('HGET', KEYS[2], 'at') or now) "
+                    + "admitted = math.min(issued, admitted + (now - last) * tonumber(ARGV[1]) / 1000) "
+                    + "redis.call('HSET', KEYS[2], 'admitted', tostring(admitted), 'at', now) "
+                    + "return math.floor(admitted)", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String admitPerSecond;
+
+    public RedisAdmissionQueue(StringRedisTemplate redisTemplate,
+                               @Value("${app.waiting-room.admit-per-second:50}") double admitPerSecond) {
+        this.redisTemplate = redisTemplate;
+        this.admitPerSecond = String.valueOf(admitPerSecond);
+    }
+
+    @Override
+    public long join(long eventId, long userId) {
+        Long sequence = redisTemplate.execute(JOIN, List.of(key(eventId, "seq"), key(eventId, "users")),
+                String.valueOf(userId));
+        return sequence != null ? sequence : 0L;
+    }
+
+    @Override
+    public long admittedThrough(long eventId) {
+        Long admitted = redisTemplate.execute(ADVANCE, List.of(key(eventId, "seq"), key(eventId, "watermark")),
+                admitPerSecond);
+        return admitted != null ? admitted : 0L;
+    }
+
+    @Override
+    public boolean consume(long eventId, long sequence) {
+        Boolean wasSet = redisTemplate.opsForValue().setBit(key(eventId, "used"), sequence, true);
+        return !Boolean.TRUE.equals(wasSet);
+    }
+
+    @Override
+    public void release(long eventId, long sequence) {
+        redisTemplate.opsForValue().setBit(key(eventId, "used"), sequence, false);
+    }
+
+    @Override
+    public void clear(long eventId) {
+        redisTemplate.delete(List.of(key(eventId, "seq"), key(eventId, "users"),
+                key(eventId, "watermark"), key(eventId, "used")));
+    }
+
+    private static String key(long eventId, String part) {
+        // Hash tag keeps an event's keys in one cluster slot for the scripts
+        return "waiting-room:{" + eventId + "}:" + part;
+    }
+}
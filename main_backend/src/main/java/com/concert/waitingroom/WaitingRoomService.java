@@ -0,0 +1,206 @@
+package com.concert.waitingroom;
+
+import com.concert.dto.QueueStatusResponse;
+import com.concert.model.User;
+import com.concert.repository.EventBookingView;
+import com.concert.repository.EventRepository;
+import com.concert.repository.UserRepository;
+import com.concert.security.CurrentUser;
+import com.concert.service.EventChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Virtual waiting room for high-demand events. Users join to get a signed queue token
+ * carrying their place, watch their position by polling or over server-sent events,
+ * and may book only once the admission watermark has passed them, at most once per
+ * token. The watermark moves at {@code app.waiting-room.admit-per-second}, which caps
+ * the rate at which bookings for a queued event reach BookingService.
+ *
+ * <p>Whether an event is queued is cached per instance, bounded by
+ * {@code app.waiting-room.event-cache-size} and refreshed after
+ * {@code event-cache-ttl} so a flag changed on another replica is picked up.
+ */
+@Service
+public class WaitingRoomService {
+
+    private final AdmissionQueue admissionQueue;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final byte[] secret;
+    private final double admitPerSecond;
+    private final long streamIntervalMillis;
+    // Whether an event is high-demand, cached so the booking gate does not hit the database
+    private final Cache<Long, Boolean> queuedEvents;
+    private final ScheduledExecutorService streamScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "waiting-room-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WaitingRoomService(AdmissionQueue admissionQueue, EventRepository eventRepository,
+                              UserRepository userRepository,
+                              @Value("${app.waiting-room.secret:${jwt.secret:mySecretKey}}") String secret,
+                              @Value("${app.waiting-room.admit-per-second:50}") double admitPerSecond,
+                              @Value("${app.waiting-room.stream-interval-ms:2000}") long streamIntervalMillis,
+                              @Value("${app.waiting-room.event-cache-size:10000}") long eventCacheSize,
+                              @Value("${app.waiting-room.event-cache-ttl:30s}") Duration eventCacheTtl) {
+        this.admissionQueue = admissionQueue;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.admitPerSecond = admitPerSecond;
+        this.streamIntervalMillis = streamIntervalMillis;
+        this.queuedEvents = Caffeine.newBuilder()
+                .maximumSize(eventCacheSize)
+                .expireAfterWrite(eventCacheTtl)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streamScheduler.shutdownNow();
+    }
+
+    public boolean requiresAdmission(Long eventId) {
+        return queuedEvents.get(eventId, id -> eventRepository.findBookingViewById(id)
+                .map(EventBookingView::getHighDemand)
+                .map(Boolean.TRUE::equals)
+                .orElse(false));
+    }
+
+    public QueueStatusResponse join(Long eventId, String username) {
+        if (!requiresAdmission(eventId)) {
+            throw new IllegalArgumentException("Event has no waiting room");
+        }
+        User user = CurrentUser.find(userRepository, username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        long sequence = admissionQueue.join(eventId, user.getId());
+        return status(new QueueToken(eventId, sequence, username));
+    }
+
+    public QueueStatusResponse status(Long eventId, String token) {
+        return status(verify(eventId, token));
+    }
+
+    /**
+     * Whether a booking must be turned away: the event is queued and the token is
+     * missing, foreign, not yet admitted or already used. Consumes the token otherwise.
+     */
+    public boolean holdsBack(String eventId, String username, String token) {
+        Long id = parseEventId(eventId);
+        if (id == null || !requiresAdmission(id)) {
+            return false;
+        }
+        QueueToken queueToken;
+        try {
+            queueToken = verify(id, token);
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+        return !queueToken.getUsername().equals(username)
+                || queueToken.getSequence() > admissionQueue.admittedThrough(id)
+                || !admissionQueue.consume(id, queueToken.getSequence());
+    }
+
+    /**
+     * Hands back the admission that {@link #holdsBack} consumed, for a booking that then
+     * failed (sold out or an error), so the waiter can try again with the same token.
+     */
+    public void restore(String eventId, String username, String token) {
+        Long id = parseEventId(eventId);
+        if (id == null || !requiresAdmission(id)) {
+            return;
+        }
+        QueueToken queueToken;
+        try {
+            queueToken = verify(id, token);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if (queueToken.getUsername().equals(username)) {
+            admissionQueue.release(id, queueToken.getSequence());
+        }
+    }
+
+    /**
+     * Pushes the status every {@code app.waiting-room.stream-interval-ms} until the
+     * waiter is admitted, then completes.
+     */
+    public SseEmitter stream(Long eventId, String token) {
+        QueueToken queueToken = verify(eventId, token);
+        SseEmitter emitter = new SseEmitter(0L);
+        AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+        Runnable cancel = () -> {
+            ScheduledFuture<?> future = task.get();
+            if (future != null) {
+                future.cancel(false);
+            }
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+        task.set(streamScheduler.scheduleAtFixedRate(() -> {
+            try {
+                QueueStatusResponse status = status(queueToken);
+                emitter.send(SseEmitter.event().name("status").data(status));
+                if (status.isAdmitted()) {
+                    emitter.complete();
+                    cancel.run();
+                }
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+                cancel.run();
+            }
+        }, 0, streamIntervalMillis, TimeUnit.MILLISECONDS));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        queuedEvents.invalidate(change.getEventId());
+        if (change.isDeleted()) {
+            admissionQueue.clear(change.getEventId());
+        }
+    }
+
+    private QueueToken verify(Long eventId, String token) {
+        QueueToken queueToken = QueueToken.verify(token, secret);
+        if (queueToken.getEventId() != eventId) {
+            throw new IllegalArgumentException("Queue token is for another event");
+        }
+        return queueToken;
+    }
+
+    private QueueStatusResponse status(QueueToken queueToken) {
+        long admitted = admissionQueue.admittedThrough(queueToken.getEventId());
+        long ahead = Math.max(0, queueToken.getSequence() - admitted);
+        long waitSeconds = admitPerSecond > 0 ? (long) Math.ceil(ahead / admitPerSecond) : -1;
+        return new QueueStatusResponse(queueToken.getEventId(), queueToken.sign(secret), ahead, ahead == 0, waitSeconds);
+    }
+
+    private Long parseEventId(String eventId) {
+        if (eventId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(eventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.concert.cache;
+
+import com.concert.dto.EventResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventResponseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new EventResponseCache(meterRegistry, 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGetLoadsOnceThenHits() {
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", EventResponseCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        cache.get(1L, this::load);
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetAllOnlyLoadsMissingIds() {
+        cache.get(1L, this::load);
+
+        Map<Long, EventResponse> result = cache.getAll(Set.of(1L, 2L, 3L), missing -> {
+            assertEquals(Set.of(2L, 3L), missing);
+            return Map.of(2L, load(2L), 3L, load(3L));
+        });
+
+        assertEquals(3, result.size());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() throws InterruptedException {
+        EventResponseCache shortLived = new EventResponseCache(meterRegistry, 100, Duration.ofMillis(20));
+        shortLived.get(1L, this::load);
+        Thread.sleep(50);
+        shortLived.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private EventResponse load(Long id) {
+        loads.incrementAndGet();
+        EventResponse response = new EventResponse();
+        response.setId(id);
+        return response;
+    }
+}
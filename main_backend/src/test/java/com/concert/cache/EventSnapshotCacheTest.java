@@ -0,0 +1,79 @@
+package com.concert.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSnapshotCacheTest {
+
+    private EventSnapshotCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EventSnapshotCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGetLoadsOnceThenHits() {
+        cache.get(1L, this::load);
+        Optional<EventSnapshot> snapshot = cache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals("Event 1", snapshot.orElseThrow().getTitle());
+    }
+
+    @Test
+    void testMissingEventIsCachedAsAbsent() {
+        cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<EventSnapshot> snapshot = cache.get(1L, this::load);
+
+        assertTrue(snapshot.isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        cache.get(1L, this::load);
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetAllLoadsMissingIdsTogetherAndRemembersAbsentOnes() {
+        cache.get(1L, this::load);
+
+        Map<Long, EventSnapshot> result = cache.getAll(Set.of(1L, 2L, 3L), missing -> {
+            assertEquals(Set.of(2L, 3L), Set.copyOf(missing));
+            return Map.of(2L, load(2L).orElseThrow());
+        });
+        Map<Long, EventSnapshot> again = cache.getAll(Set.of(2L, 3L), missing -> {
+            throw new AssertionError("Unexpected load of " + missing);
+        });
+
+        assertEquals(Set.of(1L, 2L), result.keySet());
+        assertEquals(Set.of(2L), again.keySet());
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<EventSnapshot> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(new EventSnapshot(id, "Event " + id, "Hall", LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), 40.0, 100, false));
+    }
+}
@@ -0,0 +1,65 @@
+package com.concert.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for Redis used by tests of the shared cache tier. Honors the store
+ * contract (byte values, counters defaulting to zero) but ignores TTLs.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+    private final Map<String, Long> counters = new ConcurrentHashMap<>();
+    private final AtomicInteger gets = new AtomicInteger();
+    private volatile boolean failing;
+
+    @Override
+    public byte[] get(String key) {
+        checkAvailable();
+        gets.incrementAndGet();
+        return values.get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        checkAvailable();
+        values.put(key, value);
+    }
+
+    @Override
+    public long getCounter(String key) {
+        checkAvailable();
+        return counters.getOrDefault(key, 0L);
+    }
+
+    @Override
+    public long increment(String key) {
+        checkAvailable();
+        return counters.merge(key, 1L, Long::sum);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public byte[] rawValue(String keyPrefix) {
+        return values.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(keyPrefix))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    private void checkAvailable() {
+        if (failing) {
+            throw new IllegalStateException("Redis unavailable");
+        }
+    }
+}
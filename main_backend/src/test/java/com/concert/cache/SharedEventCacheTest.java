@@ -0,0 +1,137 @@
+package com.concert.cache;
+
+import com.concert.dto.EventParticipantSummary;
+import com.concert.dto.EventResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedEventCacheTest {
+
+    private InMemorySharedCacheStore store;
+    private SharedEventCache cache;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemorySharedCacheStore();
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        cache = new SharedEventCache(Optional.of(store), objectMapper, Duration.ofMinutes(5), Duration.ofSeconds(60));
+        now = LocalDateTime.of(2030, 1, 1, 12, 0, 0);
+    }
+
+    @Test
+    void testDisabledWithoutStore() {
+        SharedEventCache disabled = new SharedEventCache(Optional.empty(), new ObjectMapper(),
+                Duration.ofMinutes(5), Duration.ofSeconds(60));
+
+        disabled.putEvent(1L, event(1L, "Concert"));
+
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.getEvent(1L).isEmpty());
+    }
+
+    @Test
+    void testUpcomingPageRoundTrip() {
+        cache.putUpcomingPage(now, 0, 12, "l-1", new CachedEventPage(List.of(event(1L, "A"), event(2L, "B")), 42));
+
+        CachedEventPage page = cache.getUpcomingPage(now.plusSeconds(30), 0, 12, "l-1").orElseThrow();
+
+        assertEquals(42, page.getTotalElements());
+        assertEquals("B", page.getContent().get(1).getTitle());
+        assertTrue(cache.getUpcomingPage(now, 1, 12, "l-1").isEmpty());
+    }
+
+    @Test
+    void testEventVersionSurvivesSharedTierButNotApiJson() throws Exception {
+        EventResponse response = event(1L, "Concert");
+        response.setVersion("1700000000000-3");
+
+        cache.putEvent(1L, response);
+
+        assertEquals("1700000000000-3", cache.getEvent(1L).orElseThrow().getVersion());
+        assertFalse(new ObjectMapper().findAndRegisterModules().writeValueAsString(response).contains("version"));
+    }
+
+    @Test
+    void testPageBuiltUnderAnotherListingVersionIsNotServed() {
+        cache.putUpcomingPage(now, 0, 12, "l-1", new CachedEventPage(List.of(event(1L, "A")), 1));
+
+        assertTrue(cache.getUpcomingPage(now, 0, 12, "l-2").isEmpty());
+    }
+
+    @Test
+    void testListingKeyRollsOverWithTimeBucket() {
+        cache.putUpcomingPage(now, 0, 12, "l-1", new CachedEventPage(List.of(event(1L, "A")), 1));
+
+        assertTrue(cache.getUpcomingPage(now.plusMinutes(2), 0, 12, "l-1").isEmpty());
+    }
+
+    @Test
+    void testInvalidateEventOrphansDetailAndListingEntries() {
+        cache.putEvent(1L, event(1L, "Old"));
+        cache.putEvent(2L, event(2L, "Untouched"));
+        cache.putUpcomingPage(now, 0, 12, "l-1", new CachedEventPage(List.of(event(1L, "Old")), 1));
+
+        cache.invalidateEvent(1L);
+
+        assertTrue(cache.getEvent(1L).isEmpty());
+        assertTrue(cache.getUpcomingPage(now, 0, 12, "l-1").isEmpty());
+        assertEquals("Untouched", cache.getEvent(2L).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testAvailabilityChangeKeepsListingPages() {
+        cache.putEvent(1L, event(1L, "Old"));
+        cache.putUpcomingPage(now, 0, 12, "l-1", new CachedEventPage(List.of(event(1L, "Old")), 1));
+
+        for (int i = 0; i < 100; i++) {
+            cache.invalidateAvailability(1L);
+        }
+
+        assertTrue(cache.getEvent(1L).isEmpty());
+        assertEquals(1, cache.getUpcomingPage(now, 0, 12, "l-1").orElseThrow().getTotalElements());
+    }
+
+    @Test
+    void testLargePayloadsAreCompressed() {
+        EventResponse big = event(1L, "Big");
+        List<EventParticipantSummary> participants = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            participants.add(new EventParticipantSummary("participant-" + i, 1, now));
+        }
+        big.setParticipants(participants);
+
+        cache.putEvent(1L, big);
+
+        byte[] raw = store.rawValue("events:detail:1:");
+        assertEquals(1, raw[0]);
+        assertEquals(500, cache.getEvent(1L).orElseThrow().getParticipants().size());
+    }
+
+    @Test
+    void testStoreFailuresDegradeToMiss() {
+        store.setFailing(true);
+
+        assertDoesNotThrow(() -> cache.putEvent(1L, event(1L, "A")));
+        assertTrue(cache.getEvent(1L).isEmpty());
+        assertDoesNotThrow(() -> cache.invalidateEvent(1L));
+    }
+
+    private EventResponse event(Long id, String title) {
+        EventResponse response = new EventResponse();
+        response.setId(id);
+        response.setTitle(title);
+        response.setStartDate(now.plusDays(1));
+        return response;
+    }
+}
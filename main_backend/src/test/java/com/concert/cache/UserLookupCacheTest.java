@@ -0,0 +1,100 @@
+package com.concert.cache;
+
+import com.concert.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLookupCacheTest {
+
+    private RecordingChannel channel;
+    private UserLookupCache cache;
+    private AtomicInteger loads;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        channel = new RecordingChannel();
+        cache = new UserLookupCache(new SimpleMeterRegistry(), Optional.of(channel), 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+        user = new User("Alice", "alice", "alice@example.com", "hash");
+        user.setId(7L);
+    }
+
+    @Test
+    void testLookupByUsernameAlsoFillsIdKey() {
+        cache.getByUsername("alice", this::load);
+        Optional<UserSnapshot> byId = cache.getById(7L, id -> {
+            throw new AssertionError("Unexpected load of " + id);
+        });
+
+        assertEquals("alice", byId.orElseThrow().getUsername());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        cache.getByUsername("bob", username -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        cache.getByUsername("bob", username -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidateEvictsBothKeysAndNotifiesReplicas() {
+        cache.getByUsername("alice", this::load);
+
+        cache.invalidate(7L, "alice");
+        cache.getByUsername("alice", this::load);
+        cache.invalidate(7L, "alice");
+        cache.getById(7L, id -> load("alice"));
+
+        assertEquals(3, loads.get());
+        assertEquals(List.of("7:alice", "7:alice"), channel.published);
+    }
+
+    @Test
+    void testInvalidationFromAnotherReplicaEvicts() {
+        cache.getByUsername("alice", this::load);
+
+        channel.listener.accept(7L, "alice");
+        cache.getByUsername("alice", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<User> load(String username) {
+        loads.incrementAndGet();
+        return Optional.of(user);
+    }
+
+    private static final class RecordingChannel implements UserInvalidationChannel {
+        private final List<String> published = new ArrayList<>();
+        private BiConsumer<Long, String> listener;
+
+        @Override
+        public void publish(Long userId, String username) {
+            published.add(userId + ":" + username);
+        }
+
+        @Override
+        public void subscribe(BiConsumer<Long, String> listener) {
+            this.listener = listener;
+        }
+    }
+}
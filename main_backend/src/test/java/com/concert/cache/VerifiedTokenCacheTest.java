@@ -0,0 +1,103 @@
+package com.concert.cache;
+
+import com.concert.service.JwtService;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast512BitsLongForHS512AlgorithmSecurityRequirements12345";
+
+    private JwtService jwtService;
+    private LocalTokenRevocationList revocationList;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService());
+        jwtService.setJwtSecret(SECRET);
+        jwtService.setJwtExpirationInMs(3600000L);
+        revocationList = new LocalTokenRevocationList();
+        cache = new VerifiedTokenCache(jwtService, revocationList, new SimpleMeterRegistry(), 100);
+    }
+
+    @Test
+    void testRepeatTokenIsVerifiedOnce() {
+        String token = jwtService.generateToken("alice");
+
+        assertEquals("alice", cache.verify(token).getSubject());
+        assertEquals("alice", cache.verify(token).getSubject());
+
+        verify(jwtService, times(1)).parseVerified(token);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        assertThrows(JwtException.class, () -> cache.verify("not.a.token"));
+        assertThrows(JwtException.class, () -> cache.verify("not.a.token"));
+
+        verify(jwtService, times(2)).parseVerified("not.a.token");
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testRevokedTokenIsRejectedUntilItExpires() {
+        String token = jwtService.generateToken("alice");
+        String other = jwtService.generateToken("bob");
+        cache.verify(token);
+
+        assertTrue(cache.revoke(token));
+
+        assertThrows(JwtException.class, () -> cache.verify(token));
+        assertEquals("bob", cache.verify(other).getSubject());
+    }
+
+    @Test
+    void testRevocationsOutnumberingTheCacheAreAllKept() {
+        cache = new VerifiedTokenCache(jwtService, revocationList, new SimpleMeterRegistry(), 2);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String token = jwtService.generateToken("user" + i);
+            tokens.add(token);
+            assertTrue(cache.revoke(token));
+        }
+
+        assertEquals(50, revocationList.size());
+        tokens.forEach(token -> assertThrows(JwtException.class, () -> cache.verify(token)));
+    }
+
+    @Test
+    void testRevocationOnAnotherInstanceRejectsCachedToken() {
+        VerifiedTokenCache otherInstance = new VerifiedTokenCache(jwtService, revocationList, new SimpleMeterRegistry(), 100);
+        String token = jwtService.generateToken("alice");
+        assertEquals("alice", cache.verify(token).getSubject());
+
+        assertTrue(otherInstance.revoke(token));
+
+        assertThrows(JwtException.class, () -> cache.verify(token));
+    }
+
+    @Test
+    void testUnreachableRevocationListRejectsToken() {
+        TokenRevocationList unreachable = mock(TokenRevocationList.class);
+        when(unreachable.isRevoked(anyString())).thenThrow(new IllegalStateException("redis down"));
+        cache = new VerifiedTokenCache(jwtService, unreachable, new SimpleMeterRegistry(), 100);
+        String token = jwtService.generateToken("alice");
+
+        assertThrows(JwtException.class, () -> cache.verify(token));
+    }
+
+    @Test
+    void testRevokingInvalidTokenIsNoop() {
+        assertFalse(cache.revoke("not.a.token"));
+    }
+}
@@ -1,9 +1,12 @@
 package com.concert.controller;
 
+import com.concert.cache.VerifiedTokenCache;
 import com.concert.dto.AuthResponse;
 import com.concert.dto.LoginRequest;
 import com.concert.dto.RegisterRequest;
 import com.concert.dto.UserProfileResponse;
+import com.concert.security.LoginRateLimiter;
+import com.concert.security.PasswordHashingOverloadedException;
 import com.concert.service.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -31,6 +38,12 @@ class AuthControllerTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
     @InjectMocks
     private AuthController authController;
 
@@ -108,6 +121,31 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Error message"));
     }
 
+    @Test
+    void testThrottledLoginIsRejectedBeforePasswordCheck() throws Exception {
+        when(loginRateLimiter.isThrottled(eq("testuser"), anyString())).thenReturn(true);
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+        verify(authService, never()).login(any(LoginRequest.class));
+    }
+
+    @Test
+    void testSaturatedPasswordHashingAnswersTooManyRequests() throws Exception {
+        when(authService.register(any(RegisterRequest.class)))
+                .thenThrow(new PasswordHashingOverloadedException("Password hashing queue is full"));
+
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void testTestEndpoint() throws Exception {
         mockMvc.perform(get("/api/auth/test"))
@@ -115,6 +153,22 @@ class AuthControllerTest {
                 .andExpect(content().string("Auth API is working!"));
     }
 
+    @Test
+    void testLogoutRevokesBearerToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer some-token"))
+                .andExpect(status().isNoContent());
+
+        verify(verifiedTokenCache).revoke("some-token");
+    }
+
+    @Test
+    void testLogoutWithoutBearerToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isUnauthorized());
+
+        verify(verifiedTokenCache, never()).revoke(any());
+    }
+
     // New tests to cover exception catch blocks
     @Test
     void testRegisterServiceException() throws Exception {
@@ -2,24 +2,36 @@ package com.concert.controller;
 
 import com.concert.dto.BookingResponse;
 import com.concert.dto.CreateBookingRequest;
+import com.concert.dto.CreateCartRequest;
+import com.concert.dto.CursorPage;
+import com.concert.dto.ResourceValidator;
+import com.concert.idempotency.IdempotencyService;
+import com.concert.idempotency.InMemoryIdempotencyStore;
+import com.concert.inventory.PipelineOverloadedException;
 import com.concert.service.BookingService;
+import com.concert.service.TicketsUnavailableException;
+import com.concert.waitingroom.WaitingRoomService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +48,13 @@ class BookingControllerTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private WaitingRoomService waitingRoomService;
+
+    @Spy
+    private IdempotencyService idempotencyService =
+            new IdempotencyService(new InMemoryIdempotencyStore(Duration.ofHours(1), 100));
+
     @InjectMocks
     private BookingController bookingController;
 
@@ -86,6 +105,180 @@ class BookingControllerTest {
         verify(bookingService, times(1)).createBooking(eq("testuser"), any(CreateBookingRequest.class));
     }
 
+    @Test
+    void testCreateBooking_SoldOutIsConflict() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.createBooking(eq("testuser"), any(CreateBookingRequest.class)))
+                .thenThrow(new TicketsUnavailableException("Not enough tickets left"));
+
+        mockMvc.perform(post("/api/bookings")
+                        .principal(authentication)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBookingRequest)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testCreateBooking_EndedEventIsBadRequest() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.createBooking(eq("testuser"), any(CreateBookingRequest.class)))
+                .thenThrow(new IllegalArgumentException("Event has already ended"));
+
+        mockMvc.perform(post("/api/bookings")
+                        .principal(authentication)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBookingRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCreateBooking_NotAdmittedFromWaitingRoom() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(waitingRoomService.holdsBack(createBookingRequest.getEventId(), "testuser", "early-token")).thenReturn(true);
+
+        mockMvc.perform(post("/api/bookings")
+                        .principal(authentication)
+                        .header("X-Queue-Token", "early-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBookingRequest)))
+                .andExpect(status().isTooManyRequests());
+
+        verify(bookingService, never()).createBooking(any(), any());
+    }
+
+    @Test
+    void testCreateBooking_SoldOutHandsAdmissionBack() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.createBooking(eq("testuser"), any(CreateBookingRequest.class)))
+                .thenThrow(new TicketsUnavailableException("Not enough tickets left"));
+
+        mockMvc.perform(post("/api/bookings")
+                        .principal(authentication)
+                        .header("X-Queue-Token", "admitted-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBookingRequest)))
+                .andExpect(status().isConflict());
+
+        verify(waitingRoomService).restore(createBookingRequest.getEventId(), "testuser", "admitted-token");
+    }
+
+    @Test
+    void testCreateBooking_RetryWithIdempotencyKeyReplaysResponse() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.createBooking(eq("testuser"), any(CreateBookingRequest.class)))
+                .thenReturn(bookingResponse);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/bookings")
+                            .principal(authentication)
+                            .header("Idempotency-Key", "order-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createBookingRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(1));
+        }
+
+        verify(bookingService, times(1)).createBooking(eq("testuser"), any(CreateBookingRequest.class));
+        verify(waitingRoomService, times(1)).holdsBack(any(), any(), any());
+    }
+
+    @Test
+    void testCreateBooking_IdempotencyKeyReusedForOtherRequest() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.createBooking(eq("testuser"), any(CreateBookingRequest.class)))
+                .thenReturn(bookingResponse);
+
+        mockMvc.perform(post("/api/bookings")
+                        .principal(authentication)
+                        .header("Idempotency-Key", "order-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBookingRequest)))
+                .andExpect(status().isOk());
+
+        createBookingRequest.setQuantity(3);
+        mockMvc.perform(post("/api/bookings")
+                        .principal(authentication)
+                        .header("Idempotency-Key", "order-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBookingRequest)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void testSubmitBooking_AcceptedAsPending() throws Exception {
+        bookingResponse.setStatus("PENDING");
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.submitBooking(eq("testuser"), any(CreateBookingRequest.class)))
+                .thenReturn(bookingResponse);
+
+        mockMvc.perform(post("/api/bookings/async")
+                        .principal(authentication)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBookingRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void testSubmitBooking_FullPipelineAsksClientToRetry() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.submitBooking(eq("testuser"), any(CreateBookingRequest.class)))
+                .thenThrow(new PipelineOverloadedException("Booking pipeline is full"));
+
+        mockMvc.perform(post("/api/bookings/async")
+                        .principal(authentication)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBookingRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void testGetBookingStatus_Success() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.getBookingStatus(1L, "testuser")).thenReturn(bookingResponse);
+
+        mockMvc.perform(get("/api/bookings/1/status").principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+    }
+
+    @Test
+    void testCreateCart_Success() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.createCart(eq("testuser"), anyList())).thenReturn(List.of(bookingResponse));
+
+        mockMvc.perform(post("/api/bookings/cart")
+                        .principal(authentication)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateCartRequest(List.of(createBookingRequest)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void testCreateCart_UnavailableItemIsConflict() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.createCart(eq("testuser"), anyList()))
+                .thenThrow(new TicketsUnavailableException("Not enough tickets left"));
+
+        mockMvc.perform(post("/api/bookings/cart")
+                        .principal(authentication)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateCartRequest(List.of(createBookingRequest)))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testConfirmHold_ExpiredIsConflict() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.confirmHold(5L, "testuser")).thenThrow(new IllegalStateException("Hold has expired"));
+
+        mockMvc.perform(post("/api/bookings/5/confirm").principal(authentication))
+                .andExpect(status().isConflict());
+    }
+
     // Note: No-authentication tests omitted - Spring Security handles auth in production
     // Unit tests focus on business logic with valid authentication
 
@@ -113,6 +306,7 @@ class BookingControllerTest {
         List<BookingResponse> bookings = Arrays.asList(bookingResponse, booking2);
 
         when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.getUserBookingsValidator("testuser")).thenReturn(ResourceValidator.weak("b1-2-2-2-0", null));
         when(bookingService.getUserBookings("testuser")).thenReturn(bookings);
 
         mockMvc.perform(get("/api/bookings/me")
@@ -126,11 +320,55 @@ class BookingControllerTest {
         verify(bookingService, times(1)).getUserBookings("testuser");
     }
 
+    @Test
+    void testGetMyBookings_NotModified() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.getUserBookingsValidator("testuser")).thenReturn(ResourceValidator.weak("b1-2-2-2-0", null));
+
+        mockMvc.perform(get("/api/bookings/me")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"b1-2-2-2-0\"")
+                        .principal(authentication))
+                .andExpect(status().isNotModified());
+
+        verify(bookingService, never()).getUserBookings("testuser");
+    }
+
+    @Test
+    void testGetMyBookings_CursorMode() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.getUserBookings("testuser", "", 1))
+                .thenReturn(new CursorPage<>(List.of(bookingResponse), 1, "next-token"));
+
+        mockMvc.perform(get("/api/bookings/me")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(bookingService, never()).getUserBookings("testuser");
+    }
+
+    @Test
+    void testGetMyBookings_InvalidCursor() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.getUserBookings("testuser", "garbage", 20))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/bookings/me")
+                        .param("cursor", "garbage")
+                        .principal(authentication))
+                .andExpect(status().isBadRequest());
+    }
+
     // Note: No-authentication test omitted - Spring Security handles auth
 
     @Test
     void testGetMyBookings_EmptyList() throws Exception {
         when(authentication.getName()).thenReturn("testuser");
+        when(bookingService.getUserBookingsValidator("testuser")).thenReturn(ResourceValidator.weak("b1-0-0-0-0", null));
         when(bookingService.getUserBookings("testuser")).thenReturn(Arrays.asList());
 
         mockMvc.perform(get("/api/bookings/me")
@@ -1,9 +1,16 @@
 package com.concert.controller;
 
 import com.concert.dto.CreateEventRequest;
+import com.concert.dto.EventParticipantSummary;
 import com.concert.dto.EventResponse;
+import com.concert.dto.EventSuggestion;
+import com.concert.dto.ResourceValidator;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
+import com.concert.search.EventSearchQuery;
+import com.concert.search.EventSearchService;
+import com.concert.search.EventSuggestService;
+import com.concert.search.SearchHits;
 import com.concert.service.EventService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,17 +23,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -58,6 +68,12 @@ class EventControllerTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EventSearchService eventSearchService;
+
+    @Mock
+    private EventSuggestService eventSuggestService;
+
     @Mock
     private Authentication authentication;
 
@@ -129,7 +145,8 @@ class EventControllerTest {
 
         when(authentication.getName()).thenReturn("testuser");
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(eventService.getUpcomingEvents(any(Pageable.class), any(User.class)))
+        when(eventService.getUpcomingEventsValidator(testUser)).thenReturn(ResourceValidator.weak("l-1", null));
+        when(eventService.getUpcomingEvents(any(Pageable.class), any(User.class), any()))
                 .thenReturn(eventPage);
 
         mockMvc.perform(get("/api/events")
@@ -149,7 +166,8 @@ class EventControllerTest {
         eventList.add(eventResponse);
         Page<EventResponse> eventPage = new PageImpl<>(eventList, PageRequest.of(0, 12), 1);
 
-        when(eventService.getUpcomingEvents(any(Pageable.class), isNull()))
+        when(eventService.getUpcomingEventsValidator(null)).thenReturn(ResourceValidator.weak("l-1", null));
+        when(eventService.getUpcomingEvents(any(Pageable.class), isNull(), any()))
                 .thenReturn(eventPage);
 
         mockMvc.perform(get("/api/events")
@@ -184,7 +202,8 @@ class EventControllerTest {
     void testGetEvent_Success() throws Exception {
         when(authentication.getName()).thenReturn("testuser");
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(eventService.getEvent(1L, testUser)).thenReturn(eventResponse);
+        when(eventService.getEventValidator(1L, testUser)).thenReturn(ResourceValidator.weak("e1-0-0-o", null));
+        when(eventService.getEvent(1L, testUser, null)).thenReturn(eventResponse);
 
         mockMvc.perform(get("/api/events/1")
                         .principal(authentication))
@@ -192,18 +211,179 @@ class EventControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("Test Event"));
 
-        verify(eventService, times(1)).getEvent(1L, testUser);
+        verify(eventService, times(1)).getEvent(1L, testUser, null);
     }
 
     @Test
     void testGetEvent_NoAuthentication() throws Exception {
-        when(eventService.getEvent(eq(1L), eq(null))).thenReturn(eventResponse);
+        when(eventService.getEventValidator(1L, null)).thenReturn(ResourceValidator.weak("e1-0-0", null));
+        when(eventService.getEvent(eq(1L), eq(null), eq(null))).thenReturn(eventResponse);
 
         mockMvc.perform(get("/api/events/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1));
     }
 
+    @Test
+    void testGetEvent_MatchingETagReturnsNotModifiedWithoutBuildingResponse() throws Exception {
+        when(eventService.getEventValidator(1L, null)).thenReturn(ResourceValidator.weak("e1-100-3", null));
+
+        mockMvc.perform(get("/api/events/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"e1-100-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(eventService, never()).getEvent(anyLong(), any(), any());
+    }
+
+    @Test
+    void testGetEvent_NotModifiedSinceLastModified() throws Exception {
+        Instant updatedAt = Instant.parse("2030-01-01T10:00:00Z");
+        when(eventService.getEventValidator(1L, null)).thenReturn(ResourceValidator.weak("e1-100-3", updatedAt));
+
+        mockMvc.perform(get("/api/events/1")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 01 Jan 2030 10:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(eventService, never()).getEvent(anyLong(), any(), any());
+    }
+
+    @Test
+    void testGetEvent_StaleETagReturnsBodyWithValidators() throws Exception {
+        Instant updatedAt = Instant.parse("2030-01-01T10:00:00Z");
+        when(eventService.getEventValidator(1L, null)).thenReturn(ResourceValidator.weak("e1-200-4", updatedAt));
+        when(eventService.getEvent(1L, null, null)).thenReturn(eventResponse);
+
+        mockMvc.perform(get("/api/events/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"e1-100-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"e1-200-4\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void testListEvents_AnonymousResponseIsPubliclyCacheable() throws Exception {
+        when(eventService.getUpcomingEventsValidator(null)).thenReturn(ResourceValidator.weak("l-1", null));
+        when(eventService.getUpcomingEvents(any(Pageable.class), isNull(), any()))
+                .thenReturn(new PageImpl<>(List.of(eventResponse), PageRequest.of(0, 12), 1));
+
+        mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, org.hamcrest.Matchers.containsString("public")))
+                .andExpect(header().stringValues(HttpHeaders.VARY, org.hamcrest.Matchers.hasItem(HttpHeaders.AUTHORIZATION)));
+    }
+
+    @Test
+    void testListEvents_AuthenticatedResponseIsPrivateAndRevalidatable() throws Exception {
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventService.getUpcomingEventsValidator(testUser)).thenReturn(ResourceValidator.weak("l-1-u1", null));
+
+        mockMvc.perform(get("/api/events")
+                        .principal(authentication)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"l-1-u1\""))
+                .andExpect(status().isNotModified());
+
+        verify(eventService, never()).getUpcomingEvents(any(Pageable.class), any(), any());
+    }
+
+    @Test
+    void testListEvents_SummaryViewOmitsParticipants() throws Exception {
+        eventResponse.setParticipants(List.of(new EventParticipantSummary("Alice", 2, LocalDateTime.now())));
+        eventResponse.setParticipantsCount(2);
+        when(eventService.getUpcomingEventsValidator(null)).thenReturn(ResourceValidator.weak("l-1", null));
+        when(eventService.getUpcomingEvents(any(Pageable.class), isNull(), any()))
+                .thenReturn(new PageImpl<>(List.of(eventResponse), PageRequest.of(0, 12), 1));
+
+        mockMvc.perform(get("/api/events").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].participantsCount").value(2))
+                .andExpect(jsonPath("$.content[0].participants").doesNotExist())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+    }
+
+    @Test
+    void testGetEvent_FieldsSelection() throws Exception {
+        when(eventService.getEventValidator(1L, null)).thenReturn(ResourceValidator.weak("e1-0-0", null));
+        when(eventService.getEvent(1L, null, null)).thenReturn(eventResponse);
+
+        mockMvc.perform(get("/api/events/1").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.title").value("Test Event"))
+                .andExpect(jsonPath("$.category").doesNotExist());
+    }
+
+    @Test
+    void testGetEvent_UnknownViewIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/events/1").param("view", "everything"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void testGetParticipants_Paged() throws Exception {
+        Page<EventParticipantSummary> participants = new PageImpl<>(
+                List.of(new EventParticipantSummary("Alice", 2, LocalDateTime.now())), PageRequest.of(1, 100), 101);
+        when(eventService.getParticipants(eq(1L), eq(PageRequest.of(1, 100)))).thenReturn(participants);
+
+        mockMvc.perform(get("/api/events/1/participants")
+                        .param("page", "1")
+                        .param("size", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].userName").value("Alice"))
+                .andExpect(jsonPath("$.totalElements").value(101));
+    }
+
+    @Test
+    void testSearchEvents_RendersRankedHitsAsSummaries() throws Exception {
+        EventResponse second = new EventResponse();
+        second.setId(2L);
+        second.setTitle("Jazz Night");
+        when(eventSearchService.search(any(EventSearchQuery.class))).thenReturn(new SearchHits(List.of(2L, 1L), "next"));
+        when(eventService.getEventsByIds(List.of(2L, 1L), null)).thenReturn(List.of(second, eventResponse));
+
+        mockMvc.perform(get("/api/events/search")
+                        .param("q", "jazz")
+                        .param("city", "Bangkok")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("minPrice", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(2))
+                .andExpect(jsonPath("$.content[1].id").value(1))
+                .andExpect(jsonPath("$.content[0].participants").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(eventSearchService).search(argThat(query -> "jazz".equals(query.getText())
+                && "Bangkok".equals(query.getCity())
+                && LocalDateTime.of(2030, 1, 1, 0, 0).equals(query.getFrom())
+                && query.getMinPrice() == 10.0));
+    }
+
+    @Test
+    void testSearchEvents_InvalidCursorIsBadRequest() throws Exception {
+        when(eventSearchService.search(any(EventSearchQuery.class))).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/events/search").param("q", "jazz").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSuggestEvents_ReturnsSuggestionsWithPublicCaching() throws Exception {
+        when(eventSuggestService.suggest("jaz", 5)).thenReturn(List.of(
+                new EventSuggestion("Jazz Night", EventSuggestion.Type.TITLE, 2L, 40)));
+
+        mockMvc.perform(get("/api/events/suggest").param("q", "jaz").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")))
+                .andExpect(jsonPath("$[0].text").value("Jazz Night"))
+                .andExpect(jsonPath("$[0].type").value("TITLE"))
+                .andExpect(jsonPath("$[0].eventId").value(2));
+    }
+
     // Note: Error test testGetEvent_NotFound omitted
 
     @Test
@@ -213,7 +393,8 @@ class EventControllerTest {
 
         when(authentication.getName()).thenReturn("testuser");
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(eventService.getUpcomingEvents(any(Pageable.class), any(User.class)))
+        when(eventService.getUpcomingEventsValidator(testUser)).thenReturn(ResourceValidator.weak("l-1", null));
+        when(eventService.getUpcomingEvents(any(Pageable.class), any(User.class), any()))
                 .thenReturn(eventPage);
 
         mockMvc.perform(get("/api/events")
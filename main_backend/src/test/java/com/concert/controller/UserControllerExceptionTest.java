@@ -35,6 +35,12 @@ public class UserControllerExceptionTest {
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private com.concert.cache.VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private com.concert.cache.UserLookupCache userLookupCache;
+
     @Test
     @WithMockUser(username = "testuser")
     void testGetAllUsersWithException() throws Exception {
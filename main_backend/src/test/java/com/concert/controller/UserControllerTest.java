@@ -38,6 +38,12 @@ class UserControllerTest {
     @MockBean
     private com.concert.service.JwtService jwtService;
 
+    @MockBean
+    private com.concert.cache.VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private com.concert.cache.UserLookupCache userLookupCache;
+
     @MockBean
     private com.concert.service.UserProfileService userProfileService;
 
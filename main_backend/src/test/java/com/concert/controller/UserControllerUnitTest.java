@@ -1,5 +1,6 @@
 package com.concert.controller;
 
+import com.concert.cache.UserLookupCache;
 import com.concert.repository.UserRepository;
 import com.concert.service.UserProfileService;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,7 +21,7 @@ class UserControllerUnitTest {
     void setup() {
         userRepository = Mockito.mock(UserRepository.class);
         userProfileService = Mockito.mock(UserProfileService.class);
-        controller = new UserController(userRepository, userProfileService);
+        controller = new UserController(userRepository, userProfileService, Mockito.mock(UserLookupCache.class));
     }
 
     @Test
@@ -0,0 +1,66 @@
+package com.concert.controller;
+
+import com.concert.dto.QueueStatusResponse;
+import com.concert.waitingroom.WaitingRoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private WaitingRoomService waitingRoomService;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private WaitingRoomController waitingRoomController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(waitingRoomController).build();
+    }
+
+    @Test
+    void testJoinQueue_ReturnsTokenAndPosition() throws Exception {
+        when(authentication.getName()).thenReturn("fan");
+        when(waitingRoomService.join(42L, "fan")).thenReturn(new QueueStatusResponse(42L, "signed", 120, false, 12));
+
+        mockMvc.perform(post("/api/events/42/queue").principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("signed"))
+                .andExpect(jsonPath("$.position").value(120))
+                .andExpect(jsonPath("$.admitted").value(false));
+    }
+
+    @Test
+    void testQueueStatus_ReadsTokenFromHeader() throws Exception {
+        when(waitingRoomService.status(42L, "signed")).thenReturn(new QueueStatusResponse(42L, "signed", 0, true, 0));
+
+        mockMvc.perform(get("/api/events/42/queue").header("X-Queue-Token", "signed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.admitted").value(true));
+    }
+
+    @Test
+    void testQueueStatus_InvalidTokenIsBadRequest() throws Exception {
+        when(waitingRoomService.status(42L, "forged")).thenThrow(new IllegalArgumentException("Invalid queue token"));
+
+        mockMvc.perform(get("/api/events/42/queue").param("token", "forged"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,88 @@
+package com.concert.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventViewTest {
+
+    private EventResponse event;
+
+    @BeforeEach
+    void setUp() {
+        event = new EventResponse();
+        event.setId(1L);
+        event.setTitle("Music Festival");
+        event.setDescription("A very long description");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setPhotoId("photo.jpg");
+        event.setPhotoUrl("https://cdn.example.com/photo.jpg");
+        event.setPhoto(new EventPhotoSummary("photo.jpg", "https://cdn.example.com/photo.jpg"));
+        event.setOrganizer(new EventOrganizerSummary(5L, "organizer", "Organizer"));
+        event.setOrganizerId(5L);
+        event.setOrganizerUsername("organizer");
+        event.setOrganizerName("Organizer");
+        event.setOwnedByCurrentUser(true);
+        event.setParticipantsCount(2000);
+        List<EventParticipantSummary> participants = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            participants.add(new EventParticipantSummary("user-" + i, 1, LocalDateTime.now()));
+        }
+        event.setParticipants(participants);
+    }
+
+    @Test
+    void testDefaultViewReturnsEventUnchanged() {
+        EventView view = EventView.of(null, null);
+
+        assertTrue(view.isDefault());
+        assertSame(event, view.render(event));
+        assertTrue(EventView.of("detail", " ").isDefault());
+    }
+
+    @Test
+    void testSummaryDropsParticipantsAndDuplicates() throws Exception {
+        Object rendered = EventView.of("summary", null).render(event);
+
+        EventSummaryResponse summary = assertInstanceOf(EventSummaryResponse.class, rendered);
+        assertEquals(2000, summary.getParticipantsCount());
+        assertEquals(5L, summary.getOrganizer().getId());
+        assertTrue(summary.isOwnedByCurrentUser());
+
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        String summaryJson = mapper.writeValueAsString(rendered);
+        String detailJson = mapper.writeValueAsString(event);
+        assertFalse(summaryJson.contains("participants\""));
+        assertFalse(summaryJson.contains("organizerUsername"));
+        assertFalse(summaryJson.contains("description"));
+        assertTrue(summaryJson.length() * 10 < detailJson.length());
+    }
+
+    @Test
+    void testFieldsSelectsRequestedPropertiesOnly() {
+        Object rendered = EventView.of("detail", "id, title,unknown,class").render(event);
+
+        Map<?, ?> selected = assertInstanceOf(Map.class, rendered);
+        assertEquals(List.of("id", "title"), new ArrayList<>(selected.keySet()));
+        assertEquals("Music Festival", selected.get("title"));
+    }
+
+    @Test
+    void testFieldsApplyOnTopOfSummary() {
+        Map<?, ?> selected = assertInstanceOf(Map.class, EventView.of("summary", "id,description").render(event));
+
+        assertEquals(List.of("id"), new ArrayList<>(selected.keySet()));
+    }
+
+    @Test
+    void testUnknownViewRejected() {
+        assertThrows(IllegalArgumentException.class, () -> EventView.of("full", null));
+    }
+}
@@ -0,0 +1,126 @@
+package com.concert.idempotency;
+
+import com.concert.dto.BookingResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(Duration.ofHours(1), 3);
+        service = new IdempotencyService(store);
+    }
+
+    @Test
+    void retryReplaysStoredResponse() {
+        AtomicInteger runs = new AtomicInteger();
+
+        BookingResponse first = service.execute("alice", "k1", "booking|1|2", () -> response(runs.incrementAndGet()));
+        BookingResponse second = service.execute("alice", "k1", "booking|1|2", () -> response(runs.incrementAndGet()));
+
+        assertEquals(1, runs.get());
+        assertSame(first, second);
+    }
+
+    @Test
+    void keysAreScopedPerUser() {
+        AtomicInteger runs = new AtomicInteger();
+
+        service.execute("alice", "k1", "booking|1|2", () -> response(runs.incrementAndGet()));
+        service.execute("bob", "k1", "booking|1|2", () -> response(runs.incrementAndGet()));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void reusedKeyForDifferentRequestIsRejected() {
+        service.execute("alice", "k1", "booking|1|2", () -> response(1));
+
+        IdempotencyKeyException e = assertThrows(IdempotencyKeyException.class,
+                () -> service.execute("alice", "k1", "booking|1|3", () -> response(2)));
+        assertFalse(e.isInProgress());
+    }
+
+    @Test
+    void failuresAreNotStored() {
+        assertThrows(IllegalStateException.class, () -> service.execute("alice", "k1", "booking|1|2", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(7L, service.execute("alice", "k1", "booking|1|2", () -> response(7)).getId());
+    }
+
+    @Test
+    void missingKeyAlwaysRuns() {
+        AtomicInteger runs = new AtomicInteger();
+
+        service.execute("alice", null, "booking|1|2", () -> response(runs.incrementAndGet()));
+        service.execute("alice", " ", "booking|1|2", () -> response(runs.incrementAndGet()));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void concurrentDuplicatesCollapseIntoOneExecution() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<BookingResponse>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> service.execute("alice", "k1", "booking|1|2", () -> {
+                    runs.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return response(1);
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<BookingResponse> result : results) {
+                assertEquals(1L, result.get(5, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void storeEvictsOldestBeyondCapacity() {
+        for (int i = 0; i < 5; i++) {
+            service.execute("alice", "k" + i, "booking|1|2", () -> response(1));
+        }
+
+        assertEquals(3, store.size());
+        assertNull(store.get("alice:k0"));
+        assertNotNull(store.get("alice:k4"));
+    }
+
+    private static BookingResponse response(long id) {
+        BookingResponse response = new BookingResponse();
+        response.setId(id);
+        return response;
+    }
+}
@@ -0,0 +1,150 @@
+package com.concert.integration;
+
+import com.concert.ConcertBackendApplication;
+import com.concert.dto.CreateBookingRequest;
+import com.concert.inventory.HighDemandInventory;
+import com.concert.model.Event;
+import com.concert.model.User;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import com.concert.repository.UserRepository;
+import com.concert.service.BookingService;
+import com.concert.service.TicketsUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires far more concurrent bookings than an event can hold and checks that inventory
+ * ends exactly at the limit. Not transactional: every booking commits on its own.
+ */
+@SpringBootTest(classes = ConcertBackendApplication.class, properties = "app.bookings.cancel-batch-size=128")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingCapacityIntegrationTest {
+
+    private static final int PERSON_LIMIT = 500;
+    private static final int ATTEMPTS = 2000;
+    private static final int BUYERS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private HighDemandInventory highDemandInventory;
+
+    private Event event;
+    private List<String> buyers;
+
+    @BeforeEach
+    void setUp() {
+        String run = String.valueOf(System.nanoTime());
+        User organizer = userRepository.save(new User("Organizer", "capacity-organizer-" + run, "capacity" + run + "@example.com", "password123"));
+        buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            User buyer = userRepository.save(new User("Buyer " + i, "capacity-buyer-" + run + "-" + i,
+                    "buyer" + run + "-" + i + "@example.com", "password123"));
+            buyers.add(buyer.getUsername());
+        }
+        event = new Event();
+        event.setTitle("On-sale Event");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setPersonLimit(PERSON_LIMIT);
+        event.setTicketPrice(40.0);
+        event.setOrganizer(organizer);
+        event = eventRepository.saveAndFlush(event);
+    }
+
+    @Test
+    void testConcurrentBookingsNeverOversell() throws Exception {
+        assertExactInventoryUnderLoad();
+    }
+
+    @Test
+    void testHighDemandBookingsNeverOversell() throws Exception {
+        event.setHighDemand(true);
+        event = eventRepository.saveAndFlush(event);
+
+        assertExactInventoryUnderLoad();
+        assertEquals(0, highDemandInventory.remaining(event.getId()));
+    }
+
+    @Test
+    void testCancelAllBookingsForEventReleasesEverySeatInChunks() throws Exception {
+        assertExactInventoryUnderLoad();
+        Set<Long> notified = new HashSet<>();
+
+        int cancelled = bookingService.cancelAllBookingsForEvent(String.valueOf(event.getId()), notified::add);
+
+        assertEquals(PERSON_LIMIT, cancelled);
+        assertEquals(BUYERS, notified.size());
+        assertEquals(0, eventRepository.findById(event.getId()).orElseThrow().getTicketsSold());
+        assertTrue(bookingRepository.findByEventId(String.valueOf(event.getId())).stream()
+                .allMatch(booking -> "CANCELLED".equals(booking.getStatus())));
+    }
+
+    private void assertExactInventoryUnderLoad() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            String buyer = buyers.get(i % BUYERS);
+            pool.execute(() -> {
+                CreateBookingRequest request = new CreateBookingRequest();
+                request.setEventId(String.valueOf(event.getId()));
+                request.setQuantity(1);
+                request.setTicketPrice(0.0);
+                try {
+                    start.await();
+                    bookingService.createBooking(buyer, request);
+                    confirmed.incrementAndGet();
+                } catch (TicketsUnavailableException e) {
+                    rejected.incrementAndGet();
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected.peek());
+        assertEquals(PERSON_LIMIT, confirmed.get());
+        assertEquals(ATTEMPTS - PERSON_LIMIT, rejected.get());
+        assertEquals(PERSON_LIMIT, eventRepository.findById(event.getId()).orElseThrow().getTicketsSold());
+        assertEquals(PERSON_LIMIT, bookingRepository.findByEventId(String.valueOf(event.getId())).stream()
+                .filter(booking -> "CONFIRMED".equals(booking.getStatus()))
+                .peek(booking -> assertEquals(40.0, booking.getTotalPrice()))
+                .count());
+    }
+}
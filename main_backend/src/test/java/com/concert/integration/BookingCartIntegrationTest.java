@@ -0,0 +1,104 @@
+package com.concert.integration;
+
+import com.concert.ConcertBackendApplication;
+import com.concert.dto.BookingResponse;
+import com.concert.dto.CreateBookingRequest;
+import com.concert.model.Event;
+import com.concert.model.User;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import com.concert.repository.UserRepository;
+import com.concert.service.BookingService;
+import com.concert.service.TicketsUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Carts against a real schema: all items are booked together, and one unavailable
+ * item rolls back the reservations already taken for the others.
+ */
+@SpringBootTest(classes = ConcertBackendApplication.class)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingCartIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Event concert;
+    private Event festival;
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        String run = String.valueOf(System.nanoTime());
+        username = "cart-fan-" + run;
+        User fan = userRepository.save(new User("Fan", username, "cart" + run + "@example.com", "password123"));
+        concert = eventRepository.saveAndFlush(event("Concert", 10, 20.0, fan));
+        festival = eventRepository.saveAndFlush(event("Festival", 3, 50.0, fan));
+    }
+
+    @Test
+    void testCartBooksEveryItemWithServerPrices() {
+        List<BookingResponse> booked = bookingService.createCart(username, List.of(
+                item(concert, 2), item(festival, 1), item(concert, 3)));
+
+        assertEquals(3, booked.size());
+        assertEquals(3, booked.stream().map(BookingResponse::getId).distinct().count());
+        assertEquals(List.of(40.0, 50.0, 60.0), booked.stream().map(BookingResponse::getTotalPrice).toList());
+        assertEquals(5, ticketsSold(concert));
+        assertEquals(1, ticketsSold(festival));
+    }
+
+    @Test
+    void testUnavailableItemRollsBackWholeCart() {
+        long bookingsBefore = bookingRepository.count();
+
+        assertThrows(TicketsUnavailableException.class, () -> bookingService.createCart(username, List.of(
+                item(concert, 2), item(festival, 4))));
+
+        assertEquals(0, ticketsSold(concert));
+        assertEquals(0, ticketsSold(festival));
+        assertEquals(bookingsBefore, bookingRepository.count());
+    }
+
+    private int ticketsSold(Event event) {
+        return eventRepository.findById(event.getId()).orElseThrow().getTicketsSold();
+    }
+
+    private static Event event(String title, int personLimit, double ticketPrice, User organizer) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setPersonLimit(personLimit);
+        event.setTicketPrice(ticketPrice);
+        event.setOrganizer(organizer);
+        return event;
+    }
+
+    private static CreateBookingRequest item(Event event, int quantity) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setEventId(String.valueOf(event.getId()));
+        request.setQuantity(quantity);
+        return request;
+    }
+}
@@ -0,0 +1,124 @@
+package com.concert.integration;
+
+import com.concert.ConcertBackendApplication;
+import com.concert.dto.BookingResponse;
+import com.concert.dto.CreateBookingRequest;
+import com.concert.model.Booking;
+import com.concert.model.Event;
+import com.concert.model.User;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import com.concert.repository.UserRepository;
+import com.concert.service.BookingService;
+import com.concert.service.HoldExpiryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Holds against a real schema: placing one takes inventory, releasing an expired one
+ * gives it back exactly once, and a confirmed one is left alone.
+ */
+@SpringBootTest(classes = ConcertBackendApplication.class)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingHoldIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private HoldExpiryService holdExpiryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Event event;
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        String run = String.valueOf(System.nanoTime());
+        username = "hold-fan-" + run;
+        User fan = userRepository.save(new User("Fan", username, "fan" + run + "@example.com", "password123"));
+        event = new Event();
+        event.setTitle("Held Event");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setPersonLimit(10);
+        event.setTicketPrice(15.0);
+        event.setOrganizer(fan);
+        event = eventRepository.saveAndFlush(event);
+    }
+
+    @Test
+    void testExpiredHoldReleasesInventoryOnce() {
+        int outstanding = holdExpiryService.outstandingHolds();
+        BookingResponse hold = bookingService.createHold(username, request(4));
+        assertEquals(4, ticketsSold());
+        assertEquals(outstanding + 1, holdExpiryService.outstandingHolds());
+
+        // Not due yet: nothing is released
+        assertEquals(0, holdExpiryService.release(List.of(hold.getId())));
+
+        Booking booking = bookingRepository.findById(hold.getId()).orElseThrow();
+        booking.setHoldExpiresAt(LocalDateTime.now().minusSeconds(1));
+        bookingRepository.saveAndFlush(booking);
+
+        assertEquals(1, holdExpiryService.release(List.of(hold.getId())));
+        assertEquals(0, holdExpiryService.release(List.of(hold.getId())));
+        assertEquals(0, ticketsSold());
+        assertEquals("EXPIRED", bookingRepository.findById(hold.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testSweepReleasesOverdueHoldsPlacedElsewhere() {
+        BookingResponse hold = bookingService.createHold(username, request(2));
+        Booking booking = bookingRepository.findById(hold.getId()).orElseThrow();
+        booking.setHoldExpiresAt(LocalDateTime.now().minusMinutes(5));
+        bookingRepository.saveAndFlush(booking);
+
+        // The sweep does not depend on this instance's wheel having the hold
+        assertTrue(holdExpiryService.sweepOverdueHolds() >= 1);
+        assertEquals(0, holdExpiryService.sweepOverdueHolds());
+        assertEquals(0, ticketsSold());
+        assertEquals("EXPIRED", bookingRepository.findById(hold.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testConfirmedHoldKeepsInventory() {
+        BookingResponse hold = bookingService.createHold(username, request(3));
+
+        BookingResponse confirmed = bookingService.confirmHold(hold.getId(), username);
+
+        assertEquals("CONFIRMED", confirmed.getStatus());
+        assertEquals(0, holdExpiryService.release(List.of(hold.getId())));
+        assertEquals(3, ticketsSold());
+        assertNull(bookingRepository.findById(hold.getId()).orElseThrow().getHoldExpiresAt());
+    }
+
+    private CreateBookingRequest request(int quantity) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setEventId(String.valueOf(event.getId()));
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private int ticketsSold() {
+        return eventRepository.findById(event.getId()).orElseThrow().getTicketsSold();
+    }
+}
@@ -0,0 +1,128 @@
+package com.concert.integration;
+
+import com.concert.ConcertBackendApplication;
+import com.concert.dto.BookingResponse;
+import com.concert.dto.CreateBookingRequest;
+import com.concert.model.Event;
+import com.concert.model.User;
+import com.concert.repository.EventRepository;
+import com.concert.repository.UserRepository;
+import com.concert.service.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Submits far more bookings than an event can hold through the asynchronous pipeline,
+ * waits for every one to settle and checks that exactly the limit was confirmed.
+ */
+@SpringBootTest(classes = ConcertBackendApplication.class, properties = {
+        "app.bookings.pipeline.enabled=true",
+        "app.bookings.pipeline.partitions=2",
+        "app.bookings.pipeline.batch-size=50"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingPipelineIntegrationTest {
+
+    private static final int PERSON_LIMIT = 300;
+    private static final int ATTEMPTS = 1000;
+    private static final int BUYERS = 10;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Event event;
+    private List<String> buyers;
+
+    @BeforeEach
+    void setUp() {
+        String run = String.valueOf(System.nanoTime());
+        User organizer = userRepository.save(new User("Organizer", "pipeline-organizer-" + run, "pipeline" + run + "@example.com", "password123"));
+        buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            User buyer = userRepository.save(new User("Buyer " + i, "pipeline-buyer-" + run + "-" + i,
+                    "pipeline-buyer" + run + "-" + i + "@example.com", "password123"));
+            buyers.add(buyer.getUsername());
+        }
+        event = new Event();
+        event.setTitle("Pipelined On-sale");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setPersonLimit(PERSON_LIMIT);
+        event.setTicketPrice(40.0);
+        event.setOrganizer(organizer);
+        event = eventRepository.saveAndFlush(event);
+    }
+
+    @Test
+    void testPipelinedBookingsSettleAtExactlyTheLimit() throws Exception {
+        Map<Long, String> submitted = new ConcurrentHashMap<>();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            String buyer = buyers.get(i % BUYERS);
+            pool.execute(() -> {
+                CreateBookingRequest request = new CreateBookingRequest();
+                request.setEventId(String.valueOf(event.getId()));
+                request.setQuantity(1);
+                try {
+                    start.await();
+                    BookingResponse response = bookingService.submitBooking(buyer, request);
+                    assertEquals("PENDING", response.getStatus());
+                    submitted.put(response.getId(), buyer);
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected.peek());
+        assertEquals(ATTEMPTS, submitted.size());
+
+        Map<String, Integer> outcomes = awaitOutcomes(submitted);
+
+        assertEquals(PERSON_LIMIT, outcomes.getOrDefault("CONFIRMED", 0));
+        assertEquals(ATTEMPTS - PERSON_LIMIT, outcomes.getOrDefault("REJECTED", 0));
+        assertEquals(PERSON_LIMIT, eventRepository.findById(event.getId()).orElseThrow().getTicketsSold());
+    }
+
+    private Map<String, Integer> awaitOutcomes(Map<Long, String> submitted) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (true) {
+            Map<String, Integer> outcomes = new HashMap<>();
+            submitted.forEach((id, buyer) ->
+                    outcomes.merge(bookingService.getBookingStatus(id, buyer).getStatus(), 1, Integer::sum));
+            if (!outcomes.containsKey("PENDING") || System.nanoTime() > deadline) {
+                return outcomes;
+            }
+            Thread.sleep(100);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.concert.integration;
+
+import com.concert.ConcertBackendApplication;
+import com.concert.model.Booking;
+import com.concert.model.BookingStatus;
+import com.concert.model.Event;
+import com.concert.model.User;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import com.concert.repository.UserRepository;
+import com.concert.service.BookingReferenceBackfill;
+import com.concert.service.EventService;
+import com.concert.service.TicketCounterReconciler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rows written before bookings.event_ref/status_code existed are invisible to the typed
+ * queries until the backfill converts them; counters rebuilt afterwards include them.
+ */
+@SpringBootTest(classes = ConcertBackendApplication.class, properties = "app.bookings.backfill-batch-size=2")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingReferenceBackfillIntegrationTest {
+
+    @Autowired
+    private BookingReferenceBackfill bookingReferenceBackfill;
+
+    @Autowired
+    private TicketCounterReconciler ticketCounterReconciler;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testLegacyRowsAreBackfilledAndCounted() {
+        String run = String.valueOf(System.nanoTime());
+        User fan = userRepository.save(new User("Fan", "backfill-fan-" + run, "backfill" + run + "@example.com", "password123"));
+        Event event = new Event();
+        event.setTitle("Backfilled Event");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setPersonLimit(100);
+        event.setOrganizer(fan);
+        event = eventRepository.saveAndFlush(event);
+
+        long first = insertLegacy(9_000_001L, fan, String.valueOf(event.getId()), 2, "CONFIRMED");
+        insertLegacy(9_000_002L, fan, String.valueOf(event.getId()), 3, "CONFIRMED");
+        insertLegacy(9_000_003L, fan, String.valueOf(event.getId()), 4, "PENDING");
+        insertLegacy(9_000_004L, fan, String.valueOf(event.getId()), 5, "CANCELLED");
+        insertLegacy(9_000_005L, fan, "external-" + run, 1, "CONFIRMED");
+        assertEquals(0, eventService.getParticipants(event.getId(), PageRequest.of(0, 10)).getTotalElements());
+
+        assertEquals(5, bookingReferenceBackfill.backfill());
+        assertEquals(0, bookingReferenceBackfill.backfill());
+
+        Booking converted = bookingRepository.findById(first).orElseThrow();
+        assertEquals(event.getId(), converted.getEventRef());
+        assertEquals(BookingStatus.CONFIRMED, converted.getStatusCode());
+        assertNull(bookingRepository.findById(9_000_005L).orElseThrow().getEventRef());
+        assertEquals(2, eventService.getParticipants(event.getId(), PageRequest.of(0, 10)).getTotalElements());
+
+        ticketCounterReconciler.reconcile();
+        assertEquals(9, eventRepository.findById(event.getId()).orElseThrow().getTicketsSold());
+    }
+
+    private long insertLegacy(long id, User user, String eventId, int quantity, String status) {
+        jdbcTemplate.update("insert into bookings (id, user_id, event_id, event_title, quantity, total_price, status, "
+                        + "booking_date, created_at) values (?, ?, ?, 'Legacy', ?, 0, ?, ?, ?)",
+                id, user.getId(), eventId, quantity, status, LocalDateTime.now(), LocalDateTime.now());
+        return id;
+    }
+}
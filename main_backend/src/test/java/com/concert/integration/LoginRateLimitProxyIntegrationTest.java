@@ -0,0 +1,62 @@
+package com.concert.integration;
+
+import com.concert.ConcertBackendApplication;
+import com.concert.dto.AuthResponse;
+import com.concert.dto.LoginRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Logins arriving through the load balancer: the embedded server takes the client
+ * address from X-Forwarded-For when the peer (here loopback) is a trusted proxy, so each
+ * client gets its own address bucket instead of all sharing the proxy's.
+ */
+@SpringBootTest(classes = ConcertBackendApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "app.auth.login-limit.address.burst=2",
+                "app.auth.login-limit.address.per-minute=1",
+                "app.auth.login-limit.account.burst=100"
+        })
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class LoginRateLimitProxyIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testClientsBehindProxyGetSeparateBuckets() {
+        assertEquals(HttpStatus.BAD_REQUEST, login("203.0.113.10", "nobody-a"));
+        assertEquals(HttpStatus.BAD_REQUEST, login("203.0.113.10", "nobody-b"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.10", "nobody-c"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, login("203.0.113.20", "nobody-d"));
+    }
+
+    @Test
+    void testForwardedChainUsesTheClientAddress() {
+        // The right-most entry is our own proxy; the client is the first untrusted address
+        assertEquals(HttpStatus.BAD_REQUEST, login("198.51.100.7, 10.0.0.5", "nobody-e"));
+        assertEquals(HttpStatus.BAD_REQUEST, login("198.51.100.7", "nobody-f"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, login("198.51.100.7, 10.0.0.9", "nobody-g"));
+    }
+
+    private HttpStatus login(String forwardedFor, String username) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        HttpEntity<LoginRequest> request = new HttpEntity<>(new LoginRequest(username, "wrong-password"), headers);
+        return HttpStatus.valueOf(restTemplate.postForEntity("/api/auth/login", request, AuthResponse.class)
+                .getStatusCode().value());
+    }
+}
@@ -0,0 +1,89 @@
+package com.concert.inventory;
+
+import com.concert.model.Booking;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventBookingView;
+import com.concert.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HighDemandInventoryTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EventBookingView event;
+
+    private HighDemandInventory inventory;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        // One booking per batch and a wait far shorter than the stalled write below
+        inventory = new HighDemandInventory(eventRepository, bookingRepository, transactionManager, 4, 1, 10, 100);
+        inventory.start();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        inventory.stop();
+    }
+
+    @Test
+    void testBookingStillQueuedAfterMaxWaitIsNeverWritten() throws Exception {
+        when(event.getPersonLimit()).thenReturn(10);
+        when(event.getTicketsSold()).thenReturn(0);
+        when(eventRepository.findBookingViewById(1L)).thenReturn(Optional.of(event));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(eventRepository.reserveTickets(eq(1L), anyInt(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        Booking first = new Booking();
+        Booking second = new Booking();
+
+        Future<Booking> inFlight = executor.submit(() -> inventory.book(first, 1L, 2, 10));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IllegalStateException.class, () -> inventory.book(second, 1L, 3, 10));
+        assertEquals(8, inventory.remaining(1L));
+
+        release.countDown();
+        // The first caller outlived its wait too, but its batch was already being written
+        assertSame(first, inFlight.get(5, TimeUnit.SECONDS));
+        verify(eventRepository, times(1)).reserveTickets(eq(1L), anyInt(), any(LocalDateTime.class));
+        verify(bookingRepository).saveAll(List.of(first));
+        verifyNoMoreInteractions(bookingRepository);
+    }
+}
@@ -0,0 +1,59 @@
+package com.concert.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedCounterTest {
+
+    @Test
+    void testTakesAcrossStripesUntilDry() {
+        StripedCounter counter = new StripedCounter(10, 4);
+
+        assertTrue(counter.tryTake(3));
+        assertTrue(counter.tryTake(3));
+        // No single stripe holds 4 any more; the rebalance pools them
+        assertTrue(counter.tryTake(4));
+        assertEquals(0, counter.remaining());
+        assertFalse(counter.tryTake(1));
+
+        counter.release(2);
+        assertTrue(counter.tryTake(2));
+        assertFalse(counter.tryTake(1));
+    }
+
+    @Test
+    void testConcurrentTakersNeverExceedStock() throws Exception {
+        StripedCounter counter = new StripedCounter(1000, 8);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger taken = new AtomicInteger();
+        for (int i = 0; i < 5000; i++) {
+            int quantity = 1 + i % 3;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (counter.tryTake(quantity)) {
+                    taken.addAndGet(quantity);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1000, taken.get() + counter.remaining());
+        // Demand far exceeds stock, so at most a sub-3 remainder can be left over
+        assertTrue(counter.remaining() < 3);
+    }
+}
@@ -80,6 +80,24 @@ class UserTest {
         assertTrue(user.getUpdatedAt().isAfter(initialUpdatedAt));
     }
 
+    @Test
+    void testPreUpdateBumpsProfileVersionOnAccountChangesOnly() {
+        user.setId(1L);
+        user.setPassword("old-hash");
+        user.preUpdate();
+        long version = user.getProfileVersion();
+
+        user.setName("New Name");
+        user.setPassword("old-hash");
+        user.preUpdate();
+        assertEquals(version, user.getProfileVersion());
+
+        user.setPassword("new-hash");
+        user.preUpdate();
+        user.preUpdate();
+        assertEquals(version + 1, user.getProfileVersion());
+    }
+
     @Test
     void testAllAdditionalSetters() {
         user.setName("Test Name");
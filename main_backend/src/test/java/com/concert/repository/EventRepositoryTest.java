@@ -0,0 +1,193 @@
+package com.concert.repository;
+
+import com.concert.model.Booking;
+import com.concert.model.Event;
+import com.concert.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(BookingIdAllocator.class)
+@ActiveProfiles("test")
+class EventRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User organizer;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        organizer = entityManager.persistAndFlush(new User("Organizer", "organizer", "organizer@example.com", "password123"));
+
+        event = persistEvent("Counter Event");
+    }
+
+    @Test
+    void testAdjustTicketsSold() {
+        eventRepository.adjustTicketsSold(event.getId(), 5);
+        eventRepository.adjustTicketsSold(event.getId(), -2);
+        entityManager.clear();
+
+        assertEquals(3, eventRepository.findById(event.getId()).orElseThrow().getTicketsSold());
+    }
+
+    @Test
+    void testAdjustTicketsSoldMovesValidators() {
+        EventVersionView before = eventRepository.findVersionById(event.getId()).orElseThrow();
+        ListingVersionView listingBefore = eventRepository.findUpcomingListingVersion(LocalDateTime.now());
+
+        LocalDateTime changedAt = before.getUpdatedAt().plusSeconds(1);
+        eventRepository.adjustTicketsSold(event.getId(), 2, changedAt);
+        entityManager.clear();
+
+        EventVersionView after = eventRepository.findVersionById(event.getId()).orElseThrow();
+        ListingVersionView listingAfter = eventRepository.findUpcomingListingVersion(LocalDateTime.now());
+        assertEquals(before.getBookingVersion() + 1, after.getBookingVersion());
+        assertEquals(before.getUpdatedAt(), after.getUpdatedAt());
+        assertEquals(changedAt, after.getBookingChangedAt());
+        assertEquals(organizer.getId(), after.getOrganizerId());
+        assertEquals(listingBefore.getEventCount(), listingAfter.getEventCount());
+        assertEquals(listingBefore.getVersionSum() + 1, listingAfter.getVersionSum());
+    }
+
+    @Test
+    void testEditingEventKeepsBulkMaintainedCounter() {
+        eventRepository.adjustTicketsSold(event.getId(), 4);
+        entityManager.clear();
+
+        Event loaded = eventRepository.findById(event.getId()).orElseThrow();
+        loaded.setTicketsSold(0);
+        loaded.setTitle("Renamed");
+        entityManager.flush();
+        entityManager.clear();
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals("Renamed", reloaded.getTitle());
+        assertEquals(4, reloaded.getTicketsSold());
+    }
+
+    @Test
+    void testRecountSumsOnlyActiveBookingsOfLockedEvents() {
+        // Push ids past a single digit so a truncating id-to-string cast would be caught
+        for (int i = 0; i < 10; i++) {
+            event = persistEvent("Counter Event " + i);
+        }
+        persistBooking(String.valueOf(event.getId()), 2, "CONFIRMED");
+        persistBooking(String.valueOf(event.getId()), 3, "CONFIRMED");
+        persistBooking(String.valueOf(event.getId()), 7, "CANCELLED");
+        persistBooking("not-an-event", 9, "CONFIRMED");
+        eventRepository.adjustTicketsSold(event.getId(), 100);
+
+        List<TicketCounterView> locked = eventRepository.lockCountersAfterId(event.getId() - 1, 10);
+        List<TicketCounterView> recounted = bookingRepository.sumActiveQuantitiesByEventIds(List.of(event.getId()));
+        eventRepository.setTicketsSold(event.getId(), recounted.get(0).getTicketsSold().intValue(), LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(1, locked.size());
+        assertEquals(100L, locked.get(0).getTicketsSold());
+        assertEquals(5, eventRepository.findById(event.getId()).orElseThrow().getTicketsSold());
+    }
+
+    @Test
+    void testKeysetPagingWalksTiedStartDatesWithoutGapsOrDuplicates() {
+        LocalDateTime sharedStart = LocalDateTime.now().plusDays(3).withNano(0);
+        List<Long> expected = new ArrayList<>(List.of(event.getId()));
+        for (int i = 0; i < 4; i++) {
+            expected.add(persistEvent("Tied " + i, sharedStart).getId());
+        }
+        expected.add(persistEvent("Later", sharedStart.plusDays(1)).getId());
+        persistEvent("Past", LocalDateTime.now().minusDays(5));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> walked = new ArrayList<>();
+        List<EventListView> slice = eventRepository.findUpcomingViews(now, Limit.of(2));
+        while (!slice.isEmpty()) {
+            slice.forEach(e -> walked.add(e.getId()));
+            EventListView last = slice.get(slice.size() - 1);
+            slice = eventRepository.findUpcomingViewsAfter(now, last.getStartDate(), last.getId(), Limit.of(2));
+        }
+
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void testListingViewsJoinOrganizerInOneStatementWithoutLoadingEntities() {
+        for (int i = 0; i < 5; i++) {
+            persistEvent("Listed " + i);
+        }
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<EventListView> rows = eventRepository.findUpcomingViews(LocalDateTime.now(), Limit.of(10));
+
+        assertEquals(6, rows.size());
+        assertEquals("organizer", rows.get(0).getOrganizerUsername());
+        assertEquals(organizer.getId(), rows.get(5).getOrganizerId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testPagedListingViewsSkipCountOnPartialFirstPage() {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<EventListView> page = eventRepository.findUpcomingViews(LocalDateTime.now(), PageRequest.of(0, 12));
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Organizer", page.getContent().get(0).getOrganizerName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private Event persistEvent(String title) {
+        return persistEvent(title, LocalDateTime.now().plusDays(1));
+    }
+
+    private Event persistEvent(String title, LocalDateTime startDate) {
+        Event newEvent = new Event();
+        newEvent.setTitle(title);
+        newEvent.setStartDate(startDate);
+        newEvent.setEndDate(startDate.plusDays(1));
+        newEvent.setOrganizer(organizer);
+        return entityManager.persistAndFlush(newEvent);
+    }
+
+    private void persistBooking(String eventId, int quantity, String status) {
+        Booking booking = new Booking();
+        booking.setUser(organizer);
+        booking.setEventId(eventId);
+        booking.setQuantity(quantity);
+        booking.setTotalPrice(0.0);
+        booking.setStatus(status);
+        entityManager.persistAndFlush(booking);
+    }
+}
@@ -0,0 +1,135 @@
+package com.concert.search;
+
+import com.concert.repository.EventListView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSearchIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 6, 1, 20, 0);
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex();
+        index.upsert(event(1L, "Jazz Night", "Smooth jazz and blues", "Music", "Bangkok", 50.0, 0));
+        index.upsert(event(2L, "Rock Festival", "Loud guitars with a jazz interlude", "Music", "Chiang Mai", 80.0, 5));
+        index.upsert(event(3L, "Startup Meetup", "Pitch night for founders", "Business", "Bangkok", null, 10));
+        index.upsert(event(4L, "Jazz Jazz Jazz", "All jazz, all night", "Music", "Bangkok", 120.0, 20));
+    }
+
+    @Test
+    void testTitleMatchesOutrankDescriptionMatches() {
+        List<Long> ids = search(query("jazz"));
+
+        assertEquals(3, ids.size());
+        assertEquals(2L, ids.get(2));
+        assertTrue(ids.containsAll(List.of(1L, 4L)));
+    }
+
+    @Test
+    void testMultipleTermsScoreHigherThanOne() {
+        List<Long> ids = search(query("jazz blues"));
+
+        assertEquals(1L, ids.get(0));
+    }
+
+    @Test
+    void testFiltersNarrowResults() {
+        EventSearchQuery byCity = query("night");
+        byCity.setCity("bangkok");
+        assertEquals(List.of(1L, 3L, 4L), sorted(search(byCity)));
+
+        EventSearchQuery byPrice = query("jazz");
+        byPrice.setMinPrice(60.0);
+        byPrice.setMaxPrice(100.0);
+        assertEquals(List.of(2L), search(byPrice));
+
+        EventSearchQuery byDate = query(null);
+        byDate.setFrom(BASE.plusDays(5));
+        byDate.setTo(BASE.plusDays(10));
+        byDate.setCategory("MUSIC");
+        assertEquals(List.of(2L), search(byDate));
+
+        EventSearchQuery unknownCity = query("jazz");
+        unknownCity.setCity("Atlantis");
+        assertTrue(search(unknownCity).isEmpty());
+    }
+
+    @Test
+    void testKeysetPagingVisitsEveryHitOnce() {
+        for (long id = 10; id < 60; id++) {
+            index.upsert(event(id, "Jazz Session " + id, null, "Music", "Phuket", 10.0, (int) id));
+        }
+        EventSearchQuery query = query("jazz");
+        List<Long> seen = new ArrayList<>();
+        SearchHits page;
+        do {
+            page = index.search(query, 7);
+            seen.addAll(page.getEventIds());
+            query.setCursor(page.getNextCursor());
+        } while (page.getNextCursor() != null);
+
+        assertEquals(53, seen.size());
+        assertEquals(53, seen.stream().distinct().count());
+        assertEquals(search(query("jazz"), 100), seen);
+    }
+
+    @Test
+    void testUpsertReplacesAndRemoveDeletes() {
+        index.upsert(event(1L, "Classical Evening", "Strings", "Music", "Bangkok", 50.0, 0));
+        index.remove(4L);
+
+        assertEquals(List.of(2L), search(query("jazz")));
+        assertEquals(List.of(1L), search(query("classical")));
+        assertEquals(3, index.size());
+        assertEquals(2, index.tombstones());
+    }
+
+    @Test
+    void testThaiTextIsSearchable() {
+        index.upsert(event(5L, "คอนเสิร์ต ดนตรี", null, "ดนตรี", "เชียงใหม่", 0.0, 1));
+
+        assertEquals(List.of(5L), search(query("คอนเสิร์ต")));
+    }
+
+    @Test
+    void testInvalidCursorRejected() {
+        EventSearchQuery query = query("jazz");
+        query.setCursor("%%%");
+
+        assertThrows(IllegalArgumentException.class, () -> index.search(query, 10));
+    }
+
+    private List<Long> search(EventSearchQuery query) {
+        return search(query, 20);
+    }
+
+    private List<Long> search(EventSearchQuery query, int size) {
+        return index.search(query, size).getEventIds();
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+
+    private static EventSearchQuery query(String text) {
+        EventSearchQuery query = new EventSearchQuery();
+        query.setText(text);
+        return query;
+    }
+
+    private static EventListView event(Long id, String title, String description, String category, String city,
+                                       Double price, int dayOffset) {
+        return new EventListView(id, title, description, category, null, null, city, "Thailand", 100, null,
+                BASE.plusDays(dayOffset), BASE.plusDays(dayOffset).plusHours(3), price, null, null, 0,
+                1L, "organizer", "Organizer", null, 0L);
+    }
+}
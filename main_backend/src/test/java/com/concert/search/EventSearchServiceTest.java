@@ -0,0 +1,95 @@
+package com.concert.search;
+
+import com.concert.repository.EventListView;
+import com.concert.repository.EventRepository;
+import com.concert.service.EventChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventSearchServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new EventSearchService(eventRepository, 2);
+    }
+
+    @Test
+    void testRebuildLoadsAllBatches() {
+        when(eventRepository.findViewsAfterId(0L, Limit.of(2))).thenReturn(List.of(event(1L, "Jazz"), event(2L, "Rock")));
+        when(eventRepository.findViewsAfterId(2L, Limit.of(2))).thenReturn(List.of(event(5L, "Jazz Rock")));
+
+        assertEquals(3, searchService.rebuild());
+        // The shorter title wins on length normalization
+        assertEquals(List.of(2L, 5L), searchService.search(query("rock")).getEventIds());
+    }
+
+    @Test
+    void testChangesApplyIncrementally() {
+        searchService.onEventChanged(EventChangedEvent.saved(event(7L, "Folk Evening")));
+        assertEquals(List.of(7L), searchService.search(query("folk")).getEventIds());
+
+        searchService.onEventChanged(EventChangedEvent.saved(event(7L, "Opera Evening")));
+        assertTrue(searchService.search(query("folk")).getEventIds().isEmpty());
+
+        searchService.onEventChanged(EventChangedEvent.deleted(7L));
+        assertTrue(searchService.search(query("opera")).getEventIds().isEmpty());
+        assertEquals(0, searchService.indexedEvents());
+    }
+
+    @Test
+    void testScheduledRebuildPicksUpChangesMadeOnOtherReplicas() {
+        when(eventRepository.findViewsAfterId(0L, Limit.of(2)))
+                .thenReturn(List.of(event(1L, "Jazz Night")), List.of(event(2L, "Blues Night")));
+        searchService.rebuild();
+        assertEquals(List.of(1L), searchService.search(query("jazz")).getEventIds());
+
+        // Event 1 deleted and event 2 created elsewhere; no local change event arrives
+        searchService.scheduledRebuild();
+
+        verify(eventRepository, timeout(5000).times(2)).findViewsAfterId(0L, Limit.of(2));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (!searchService.search(query("blues")).getEventIds().equals(List.of(2L))) {
+                Thread.onSpinWait();
+            }
+        });
+        assertTrue(searchService.search(query("jazz")).getEventIds().isEmpty());
+    }
+
+    @Test
+    void testFailedRebuildKeepsCurrentIndex() {
+        searchService.onEventChanged(EventChangedEvent.saved(event(7L, "Folk Evening")));
+        when(eventRepository.findViewsAfterId(0L, Limit.of(2))).thenThrow(new IllegalStateException("db down"));
+
+        assertEquals(-1, searchService.rebuild());
+        assertEquals(List.of(7L), searchService.search(query("folk")).getEventIds());
+    }
+
+    private static EventSearchQuery query(String text) {
+        EventSearchQuery query = new EventSearchQuery();
+        query.setText(text);
+        return query;
+    }
+
+    private static EventListView event(Long id, String title) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 19, 0);
+        return new EventListView(id, title, null, "Music", null, null, "Bangkok", "Thailand", 100, null,
+                start, start.plusHours(2), 20.0, null, null, 0, 1L, "organizer", "Organizer", null, 0L);
+    }
+}
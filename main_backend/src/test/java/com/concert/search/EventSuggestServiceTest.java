@@ -0,0 +1,72 @@
+package com.concert.search;
+
+import com.concert.dto.EventSuggestion;
+import com.concert.repository.EventRepository;
+import com.concert.service.EventChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.concert.search.SuggestIndexTest.event;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventSuggestServiceTest {
+
+    private static final LocalDateTime LATER = LocalDateTime.now().plusDays(30);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventSuggestService suggestService;
+
+    @BeforeEach
+    void setUp() {
+        suggestService = new EventSuggestService(eventRepository, 2, 512);
+    }
+
+    @Test
+    void testRebuildLoadsAllBatches() {
+        when(eventRepository.findViewsAfterId(0L, Limit.of(2))).thenReturn(List.of(
+                event(1L, "Jazz Night", null, 3, LATER), event(2L, "Rock Fest", null, 9, LATER)));
+        when(eventRepository.findViewsAfterId(2L, Limit.of(2))).thenReturn(List.of(event(5L, "Jazz Brunch", null, 7, LATER)));
+
+        assertEquals(3, suggestService.rebuild());
+        assertEquals(List.of("Jazz Brunch", "Jazz Night"), texts(suggestService.suggest("ja", 5)));
+    }
+
+    @Test
+    void testChangesOverlayTheSnapshot() {
+        when(eventRepository.findViewsAfterId(0L, Limit.of(2))).thenReturn(List.of(event(1L, "Jazz Night", null, 3, LATER)));
+        suggestService.rebuild();
+
+        suggestService.onEventChanged(EventChangedEvent.saved(event(1L, "Opera Night", null, 3, LATER)));
+        suggestService.onEventChanged(EventChangedEvent.saved(event(4L, "Jazz Picnic", null, 1, LATER)));
+
+        assertEquals(List.of("Jazz Picnic"), texts(suggestService.suggest("jazz", 5)));
+        assertEquals(List.of("Opera Night"), texts(suggestService.suggest("op", 5)));
+
+        suggestService.onEventChanged(EventChangedEvent.deleted(4L));
+        assertTrue(suggestService.suggest("jazz", 5).isEmpty());
+    }
+
+    @Test
+    void testFailedRebuildKeepsOverlay() {
+        suggestService.onEventChanged(EventChangedEvent.saved(event(7L, "Folk Evening", null, 0, LATER)));
+        when(eventRepository.findViewsAfterId(0L, Limit.of(2))).thenThrow(new IllegalStateException("db down"));
+
+        assertEquals(-1, suggestService.rebuild());
+        assertEquals(List.of("Folk Evening"), texts(suggestService.suggest("folk", 5)));
+    }
+
+    private static List<String> texts(List<EventSuggestion> suggestions) {
+        return suggestions.stream().map(EventSuggestion::getText).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.concert.search;
+
+import com.concert.dto.EventSuggestion;
+import com.concert.repository.EventListView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2029, 6, 1, 12, 0);
+
+    @Test
+    void testPrefixMatchesAnyWordAndRanksBySales() {
+        SuggestIndex index = SuggestIndex.build(List.of(
+                event(1L, "Bangkok Jazz Night", "Bangkok", 10, NOW.plusDays(5)),
+                event(2L, "Jazz Brunch", "Chiang Mai", 50, NOW.plusDays(5)),
+                event(3L, "Rock Fest", "Bangkok", 5, NOW.plusDays(5))), NOW);
+
+        List<EventSuggestion> results = index.lookup("JAZ", 10, eventId -> false);
+
+        assertEquals(List.of("Jazz Brunch", "Bangkok Jazz Night"), texts(results));
+        assertEquals(2L, results.get(0).getEventId());
+    }
+
+    @Test
+    void testAggregatesCitiesAndSkipsEndedEvents() {
+        SuggestIndex index = SuggestIndex.build(List.of(
+                event(1L, "Jazz Night", "Bangkok", 10, NOW.plusDays(5)),
+                event(2L, "Rock Fest", "Bangkok", 5, NOW.plusDays(5)),
+                event(3L, "Old Show", "Bangna", 500, NOW.minusDays(1))), NOW);
+
+        List<EventSuggestion> results = index.lookup("bang", 10, eventId -> false);
+
+        assertEquals(1, results.size());
+        assertEquals(EventSuggestion.Type.CITY, results.get(0).getType());
+        assertEquals(17, results.get(0).getWeight());
+        assertTrue(index.lookup("old", 10, eventId -> false).isEmpty());
+    }
+
+    @Test
+    void testLimitAndExclusions() {
+        List<EventListView> events = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            events.add(event(id, "Concert " + id, null, (int) id, NOW.plusDays(1)));
+        }
+        SuggestIndex index = SuggestIndex.build(events, NOW);
+
+        List<EventSuggestion> results = index.lookup("concert", 3, eventId -> eventId == 50L);
+
+        assertEquals(List.of("Concert 49", "Concert 48", "Concert 47"), texts(results));
+        assertTrue(index.lookup("", 3, eventId -> false).isEmpty());
+        assertTrue(index.lookup("zzz", 3, eventId -> false).isEmpty());
+    }
+
+    private static List<String> texts(List<EventSuggestion> suggestions) {
+        return suggestions.stream().map(EventSuggestion::getText).toList();
+    }
+
+    static EventListView event(Long id, String title, String city, int ticketsSold, LocalDateTime endDate) {
+        return new EventListView(id, title, null, null, null, null, city, "Thailand", 100, null,
+                endDate.minusHours(2), endDate, 20.0, null, null, ticketsSold, 1L, "organizer", "Organizer", null, 0L);
+    }
+}
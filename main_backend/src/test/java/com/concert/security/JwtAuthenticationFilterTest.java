@@ -1,6 +1,13 @@
 package com.concert.security;
 
+import com.concert.cache.UserLookupCache;
+import com.concert.cache.UserSnapshot;
+import com.concert.cache.VerifiedTokenCache;
+import com.concert.repository.UserRepository;
 import com.concert.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,15 +21,24 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class JwtAuthenticationFilterTest {
 
     @Mock
-    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private UserLookupCache userLookupCache;
+
+    @Mock
+    private UserRepository userRepository;
 
     @Mock
     private HttpServletRequest request;
@@ -51,7 +67,7 @@ public class JwtAuthenticationFilterTest {
 
         // Then
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(verifiedTokenCache, never()).verify(anyString());
     }
 
     @Test
@@ -64,7 +80,7 @@ public class JwtAuthenticationFilterTest {
 
         // Then
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(verifiedTokenCache, never()).verify(anyString());
     }
 
     @Test
@@ -75,39 +91,36 @@ public class JwtAuthenticationFilterTest {
         String authHeader = "Bearer " + token;
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(token)).thenReturn(username);
-        when(jwtService.isTokenValid(token, username)).thenReturn(true);
+        when(verifiedTokenCache.verify(token)).thenReturn(Jwts.claims().setSubject(username));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
-        verify(jwtService).isTokenValid(token, username);
+        verify(verifiedTokenCache, times(1)).verify(token);
+        verifyNoMoreInteractions(verifiedTokenCache);
         verify(filterChain).doFilter(request, response);
         
         // Verify authentication is set in SecurityContext
         assert SecurityContextHolder.getContext().getAuthentication() != null;
-        assert SecurityContextHolder.getContext().getAuthentication().getPrincipal().equals(username);
+        assert SecurityContextHolder.getContext().getAuthentication().getName().equals(username);
+        assert SecurityContextHolder.getContext().getAuthentication().getPrincipal() instanceof AuthenticatedUser;
     }
 
     @Test
     void testDoFilterInternal_InvalidJwtToken() throws ServletException, IOException {
         // Given
         String token = "invalid-jwt-token";
-        String username = "testuser";
         String authHeader = "Bearer " + token;
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(token)).thenReturn(username);
-        when(jwtService.isTokenValid(token, username)).thenReturn(false);
+        when(verifiedTokenCache.verify(token)).thenThrow(new JwtException("Invalid signature"));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
-        verify(jwtService).isTokenValid(token, username);
+        verify(verifiedTokenCache).verify(token);
         verify(filterChain).doFilter(request, response);
         
         // Verify authentication is NOT set in SecurityContext
@@ -121,14 +134,13 @@ public class JwtAuthenticationFilterTest {
         String authHeader = "Bearer " + token;
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(token)).thenReturn(null);
+        when(verifiedTokenCache.verify(token)).thenReturn(Jwts.claims());
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
-        verify(jwtService, never()).isTokenValid(anyString(), anyString());
+        verify(verifiedTokenCache).verify(token);
         verify(filterChain).doFilter(request, response);
         
         // Verify authentication is NOT set in SecurityContext
@@ -143,19 +155,66 @@ public class JwtAuthenticationFilterTest {
         String authHeader = "Bearer " + token;
 
         // Set existing authentication
-        SecurityContextHolder.getContext().setAuthentication(
-            mock(org.springframework.security.core.Authentication.class)
-        );
+        org.springframework.security.core.Authentication existing =
+            mock(org.springframework.security.core.Authentication.class);
+        SecurityContextHolder.getContext().setAuthentication(existing);
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(token)).thenReturn(username);
+        when(verifiedTokenCache.verify(token)).thenReturn(Jwts.claims().setSubject(username));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
-        verify(jwtService, never()).isTokenValid(anyString(), anyString());
+        verify(verifiedTokenCache).verify(token);
         verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication() == existing;
+    }
+
+    @Test
+    void testDoFilterInternal_CurrentProfileVersion() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer current-token");
+        when(verifiedTokenCache.verify("current-token")).thenReturn(claims(5L, "testuser", 2L));
+        when(userLookupCache.getById(eq(5L), any())).thenReturn(Optional.of(snapshot(5L, "testuser", 2L)));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication() != null;
+    }
+
+    @Test
+    void testDoFilterInternal_StaleProfileVersion() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer stale-token");
+        when(verifiedTokenCache.verify("stale-token")).thenReturn(claims(5L, "testuser", 1L));
+        when(userLookupCache.getById(eq(5L), any())).thenReturn(Optional.of(snapshot(5L, "testuser", 2L)));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication() == null;
+    }
+
+    @Test
+    void testDoFilterInternal_DeletedUser() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer orphan-token");
+        when(verifiedTokenCache.verify("orphan-token")).thenReturn(claims(5L, "testuser", 2L));
+        when(userLookupCache.getById(eq(5L), any())).thenReturn(Optional.empty());
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication() == null;
+    }
+
+    private static Claims claims(Long userId, String username, Long profileVersion) {
+        Claims claims = Jwts.claims().setSubject(username);
+        claims.put(JwtService.USER_ID_CLAIM, userId);
+        claims.put(JwtService.PROFILE_VERSION_CLAIM, profileVersion);
+        return claims;
+    }
+
+    private static UserSnapshot snapshot(Long id, String username, long profileVersion) {
+        return new UserSnapshot(id, username, username + "@example.com", "Test User", profileVersion);
     }
 }
@@ -0,0 +1,61 @@
+package com.concert.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void accountIsThrottledAfterItsBurstWhateverTheAddress() {
+        LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry, 3, 1, 100, 1, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(limiter.isThrottled("alice", "10.0.0." + i));
+        }
+
+        assertTrue(limiter.isThrottled("Alice ", "10.0.0.9"));
+        assertFalse(limiter.isThrottled("bob", "10.0.0.9"));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("scope", "account").counter().count());
+    }
+
+    @Test
+    void addressIsThrottledAfterItsBurstAcrossAccounts() {
+        LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry, 100, 1, 2, 1, 1000);
+
+        assertFalse(limiter.isThrottled("alice", "10.0.0.1"));
+        assertFalse(limiter.isThrottled(null, "10.0.0.1"));
+
+        assertTrue(limiter.isThrottled("carol", "10.0.0.1"));
+        assertFalse(limiter.isThrottled("carol", "10.0.0.2"));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("scope", "address").counter().count());
+    }
+
+    @Test
+    void attemptRefusedByAccountKeepsAddressBudget() {
+        LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry, 1, 1, 2, 1, 1000);
+
+        assertFalse(limiter.isThrottled("alice", "10.0.0.1"));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.isThrottled("alice", "10.0.0.1"));
+        }
+
+        assertFalse(limiter.isThrottled("bob", "10.0.0.1"));
+        assertTrue(limiter.isThrottled("carol", "10.0.0.1"));
+        assertEquals(5.0, meterRegistry.get("auth.login.throttled").tag("scope", "account").counter().count());
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("scope", "address").counter().count());
+    }
+
+    @Test
+    void bucketRefillsOverTime() {
+        LoginRateLimiter.TokenBucket bucket = new LoginRateLimiter.TokenBucket(1, 0L);
+        double perNano = 1.0 / 1_000_000_000L;
+
+        assertTrue(bucket.tryTake(1, perNano, 0L));
+        assertFalse(bucket.tryTake(1, perNano, 500_000_000L));
+        assertTrue(bucket.tryTake(1, perNano, 1_000_000_000L));
+    }
+}
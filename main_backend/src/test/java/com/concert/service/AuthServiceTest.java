@@ -1,10 +1,13 @@
 package com.concert.service;
 
+import com.concert.cache.UserLookupCache;
 import com.concert.dto.AuthResponse;
 import com.concert.dto.LoginRequest;
 import com.concert.dto.RegisterRequest;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
+import com.concert.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,7 +50,8 @@ class AuthServiceTest {
         jwtService.setJwtSecret("testSecretKeyThatIsAtLeast512BitsLongForHS512AlgorithmSecurityRequirements12345");
         jwtService.setJwtExpirationInMs(604800000L);
         
-        authService = new AuthService(userRepository, passwordEncoder, jwtService);
+        authService = new AuthService(userRepository, new PasswordHasher(passwordEncoder, new SimpleMeterRegistry(), 1, 4), jwtService,
+                new UserLookupCache(new SimpleMeterRegistry(), Optional.empty(), 100, Duration.ofMinutes(1)));
         
         registerRequest = new RegisterRequest("testuser", "test@example.com", "password123");
         loginRequest = new LoginRequest("testuser", "password123");
@@ -138,6 +143,22 @@ class AuthServiceTest {
         // No verification needed for real JwtService
     }
 
+    @Test
+    void testLoginChecksTheStoredPasswordHashEachTime() {
+        User changed = new User("Test User", "testuser", "test@example.com", "newEncodedPassword");
+        changed.setId(1L);
+        when(userRepository.findByUsernameOrEmail("testuser", "testuser"))
+                .thenReturn(Optional.of(testUser), Optional.of(changed));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.matches("password123", "newEncodedPassword")).thenReturn(false);
+
+        assertNotNull(authService.login(loginRequest).getToken());
+        AuthResponse response = authService.login(loginRequest);
+
+        assertNull(response.getToken());
+        verify(userRepository, times(2)).findByUsernameOrEmail("testuser", "testuser");
+    }
+
     @Test
     void testLoginUserNotFound() {
         // Arrange
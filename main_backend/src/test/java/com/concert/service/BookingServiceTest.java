@@ -1,19 +1,40 @@
 package com.concert.service;
 
+import com.concert.cache.EventResponseCache;
+import com.concert.cache.EventSnapshotCache;
+import com.concert.cache.SharedEventCache;
 import com.concert.dto.BookingResponse;
 import com.concert.dto.CreateBookingRequest;
+import com.concert.dto.CursorPage;
+import com.concert.inventory.BookingPipeline;
+import com.concert.inventory.HighDemandInventory;
 import com.concert.model.Booking;
 import com.concert.model.User;
+import com.concert.repository.BookingCancelView;
+import com.concert.repository.BookingIdAllocator;
 import com.concert.repository.BookingRepository;
+import com.concert.repository.EventBookingView;
+import com.concert.repository.EventRepository;
 import com.concert.repository.UserRepository;
+import com.concert.security.AuthenticatedUser;
+import com.concert.util.KeysetCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +52,34 @@ class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventResponseCache eventResponseCache;
+
+    @Mock
+    private SharedEventCache sharedEventCache;
+
+    @Spy
+    private EventSnapshotCache eventSnapshotCache =
+            new EventSnapshotCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Mock
+    private HighDemandInventory highDemandInventory;
+
+    @Mock
+    private HoldExpiryService holdExpiryService;
+
+    @Mock
+    private BookingPipeline bookingPipeline;
+
+    @Mock
+    private BookingIdAllocator bookingIdAllocator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -162,6 +211,23 @@ class BookingServiceTest {
         verify(bookingRepository, times(1)).findByUserIdOrderByBookingDateDesc(1L);
     }
 
+    @Test
+    void testGetUserBookings_TokenPrincipal_SkipsUserLookup() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1L, "testuser", 0L), null, List.of()));
+        try {
+            when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+            when(bookingRepository.findByUserIdOrderByBookingDateDesc(1L)).thenReturn(List.of(testBooking));
+
+            List<BookingResponse> result = bookingService.getUserBookings("testuser");
+
+            assertEquals(1, result.size());
+            verify(userRepository, never()).findByUsername(anyString());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     @Test
     void testGetUserBookings_EmptyResult() {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
@@ -174,6 +240,55 @@ class BookingServiceTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    void testGetUserBookingsByCursor_ReturnsNextCursorFromLastRow() {
+        Booking booking2 = new Booking();
+        booking2.setId(2L);
+        booking2.setUser(testUser);
+        booking2.setEventId("event789");
+        booking2.setQuantity(1);
+        booking2.setBookingDate(testBooking.getBookingDate().minusHours(1));
+        Booking lookahead = new Booking();
+        lookahead.setId(3L);
+        lookahead.setUser(testUser);
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(bookingRepository.findByUserIdOrderByBookingDateDescIdDesc(1L, Limit.of(3)))
+                .thenReturn(Arrays.asList(testBooking, booking2, lookahead));
+
+        CursorPage<BookingResponse> result = bookingService.getUserBookings("testuser", "", 2);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(2L, next.getId());
+        assertEquals(booking2.getBookingDate(), next.getTimestamp());
+        verify(bookingRepository, never()).count();
+    }
+
+    @Test
+    void testGetUserBookingsByCursor_SeeksPastCursor() {
+        LocalDateTime seek = LocalDateTime.now().minusDays(1);
+        String cursor = new KeysetCursor(seek, 9L).encode();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(bookingRepository.findByUserIdBefore(1L, seek, 9L, Limit.of(21)))
+                .thenReturn(List.of(testBooking));
+
+        CursorPage<BookingResponse> result = bookingService.getUserBookings("testuser", cursor, 20);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testGetUserBookingsByCursor_InvalidCursor() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getUserBookings("testuser", "not*base64", 20));
+    }
+
     @Test
     void testGetUserBookings_UserNotFound_ThrowsException() {
         when(userRepository.findByUsername("unknownuser")).thenReturn(Optional.empty());
@@ -229,12 +344,12 @@ class BookingServiceTest {
     @Test
     void testCancelBooking_Success() {
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(bookingRepository.cancelConfirmed(1L)).thenReturn(1);
 
         assertDoesNotThrow(() -> bookingService.cancelBooking(1L, "testuser"));
 
         verify(bookingRepository, times(1)).findById(1L);
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).cancelConfirmed(1L);
     }
 
     @Test
@@ -264,4 +379,358 @@ class BookingServiceTest {
         verify(bookingRepository, times(1)).findById(1L);
         verify(bookingRepository, never()).save(any(Booking.class));
     }
+
+    @Test
+    void testCreateBooking_ReservesTicketsAtServerPrice() {
+        createRequest.setEventId("42");
+        createRequest.setTicketPrice(0.01);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.of(bookingView(100, 10, LocalDateTime.now().plusDays(3))));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventRepository.reserveTickets(eq(42L), eq(3), any(LocalDateTime.class))).thenReturn(1);
+
+        BookingResponse response = bookingService.createBooking("testuser", createRequest);
+
+        assertEquals(75.0, response.getTotalPrice());
+        assertEquals("Server Event", response.getEventTitle());
+        verify(eventRepository, never()).adjustTicketsSold(anyLong(), anyInt());
+        verify(eventResponseCache, times(1)).invalidate(42L);
+        verify(sharedEventCache, times(1)).invalidateAvailability(42L);
+    }
+
+    @Test
+    void testCreateBooking_QuantityOverLimit_RejectsBeforeInsert() {
+        createRequest.setEventId("42");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.of(bookingView(2, 0, LocalDateTime.now().plusDays(3))));
+
+        assertThrows(TicketsUnavailableException.class, () -> bookingService.createBooking("testuser", createRequest));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(eventRepository, never()).reserveTickets(anyLong(), anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testCreateBooking_LostReservationRace_Throws() {
+        createRequest.setEventId("42");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.of(bookingView(100, 90, LocalDateTime.now().plusDays(3))));
+        when(eventRepository.reserveTickets(eq(42L), eq(3), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(TicketsUnavailableException.class, () -> bookingService.createBooking("testuser", createRequest));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(eventResponseCache, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void testCreateBooking_FailedInsert_RollsBackReservation() {
+        createRequest.setEventId("42");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.of(bookingView(100, 10, LocalDateTime.now().plusDays(3))));
+        when(eventRepository.reserveTickets(eq(42L), eq(3), any(LocalDateTime.class))).thenReturn(1);
+        when(bookingRepository.save(any(Booking.class))).thenThrow(new IllegalStateException("insert failed"));
+
+        assertThrows(IllegalStateException.class, () -> bookingService.createBooking("testuser", createRequest));
+
+        // Reservation and insert share one transaction, so nothing needs handing back
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(eventRepository, never()).adjustTicketsSold(anyLong(), anyInt());
+    }
+
+    @Test
+    void testCreateBooking_HighDemandEvent_UsesStripedInventory() {
+        createRequest.setEventId("42");
+        EventBookingView event = bookingView(100, 10, LocalDateTime.now().plusDays(3), true);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.of(event));
+        when(highDemandInventory.book(any(Booking.class), eq(42L), eq(3), eq(100))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(9L);
+            return booking;
+        });
+
+        BookingResponse response = bookingService.createBooking("testuser", createRequest);
+
+        assertEquals(9L, response.getId());
+        assertEquals(75.0, response.getTotalPrice());
+        verify(eventRepository, never()).reserveTickets(anyLong(), anyInt(), any(LocalDateTime.class));
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(eventResponseCache).invalidate(42L);
+    }
+
+    @Test
+    void testCreateBooking_EndedEvent_ThrowsException() {
+        createRequest.setEventId("42");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.of(bookingView(null, 0, LocalDateTime.now().minusDays(1))));
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBooking("testuser", createRequest));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testCreateBooking_NonNumericEventId_SkipsTicketCounter() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        bookingService.createBooking("testuser", createRequest);
+
+        verify(eventRepository, never()).adjustTicketsSold(anyLong(), anyInt());
+    }
+
+    @Test
+    void testCreateHold_ReservesAndSchedulesExpiry() {
+        createRequest.setEventId("42");
+        ReflectionTestUtils.setField(bookingService, "holdMinutes", 10L);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.of(bookingView(100, 10, LocalDateTime.now().plusDays(3))));
+        when(eventRepository.reserveTickets(eq(42L), eq(3), any(LocalDateTime.class))).thenReturn(1);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(7L);
+            return booking;
+        });
+
+        BookingResponse response = bookingService.createHold("testuser", createRequest);
+
+        assertEquals("PENDING", response.getStatus());
+        assertNotNull(response.getHoldExpiresAt());
+        assertTrue(response.getHoldExpiresAt().isAfter(LocalDateTime.now().plusMinutes(9)));
+        verify(holdExpiryService).schedule(7L, response.getHoldExpiresAt());
+    }
+
+    @Test
+    void testSubmitBooking_QueuesWithoutWriting() {
+        createRequest.setEventId("42");
+        when(bookingPipeline.isEnabled()).thenReturn(true);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.of(bookingView(100, 10, LocalDateTime.now().plusDays(3))));
+        when(bookingIdAllocator.next()).thenReturn(7L);
+
+        BookingResponse response = bookingService.submitBooking("testuser", createRequest);
+
+        assertEquals(7L, response.getId());
+        assertEquals("PENDING", response.getStatus());
+        verify(bookingPipeline).submit(argThat(booking -> booking.getId() == 7L), eq(42L), eq(3));
+        verify(eventRepository, never()).reserveTickets(anyLong(), anyInt(), any(LocalDateTime.class));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testSubmitBooking_HighDemandEventIsNotPipelined() {
+        createRequest.setEventId("42");
+        when(bookingPipeline.isEnabled()).thenReturn(true);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findBookingViewById(42L))
+                .thenReturn(Optional.of(bookingView(100, 10, LocalDateTime.now().plusDays(3), true)));
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.submitBooking("testuser", createRequest));
+
+        verify(bookingPipeline, never()).submit(any(Booking.class), anyLong(), anyInt());
+        verifyNoInteractions(highDemandInventory);
+    }
+
+    @Test
+    void testSubmitBooking_PipelineDisabled_ThrowsException() {
+        assertThrows(IllegalStateException.class, () -> bookingService.submitBooking("testuser", createRequest));
+
+        verify(bookingPipeline, never()).submit(any(Booking.class), anyLong(), anyInt());
+    }
+
+    @Test
+    void testCreateHold_ExternalEvent_ThrowsException() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createHold("testuser", createRequest));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testConfirmHold_Success() {
+        testBooking.setStatus("PENDING");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.confirmHold(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+
+        BookingResponse response = bookingService.confirmHold(1L, "testuser");
+
+        assertEquals("CONFIRMED", response.getStatus());
+        assertNull(response.getHoldExpiresAt());
+    }
+
+    @Test
+    void testConfirmHold_Expired_ThrowsException() {
+        testBooking.setStatus("PENDING");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.confirmHold(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bookingService.confirmHold(1L, "testuser"));
+
+        assertEquals("Hold has expired", exception.getMessage());
+    }
+
+    @Test
+    void testCancelBooking_PendingHoldAlreadyExpired_ReleasesNothing() {
+        testBooking.setEventId("42");
+        testBooking.setStatus("PENDING");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.cancelHold(1L)).thenReturn(0);
+
+        bookingService.cancelBooking(1L, "testuser");
+
+        verify(eventRepository, never()).adjustTicketsSold(anyLong(), anyInt());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testCancelBooking_ConfirmedBooking_DecrementsTicketsSold() {
+        testBooking.setEventId("42");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.cancelConfirmed(1L)).thenReturn(1);
+
+        bookingService.cancelBooking(1L, "testuser");
+
+        verify(eventRepository, times(1)).adjustTicketsSold(42L, -2);
+        verify(highDemandInventory, times(1)).release(42L, 2);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testCancelBooking_ConfirmedBookingCancelledConcurrently_ReleasesNothing() {
+        testBooking.setEventId("42");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.cancelConfirmed(1L)).thenReturn(0);
+
+        bookingService.cancelBooking(1L, "testuser");
+
+        verify(eventRepository, never()).adjustTicketsSold(anyLong(), anyInt());
+        verify(highDemandInventory, never()).release(anyLong(), anyInt());
+    }
+
+    @Test
+    void testCancelBooking_HoldConfirmedMeanwhile_CancelsConfirmedBooking() {
+        testBooking.setEventId("42");
+        testBooking.setStatus("PENDING");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.cancelHold(1L)).thenReturn(0);
+        when(bookingRepository.cancelConfirmed(1L)).thenReturn(1);
+
+        bookingService.cancelBooking(1L, "testuser");
+
+        verify(eventRepository, times(1)).adjustTicketsSold(42L, -2);
+    }
+
+    @Test
+    void testCancelBooking_AlreadyCancelled_LeavesTicketsSold() {
+        testBooking.setEventId("42");
+        testBooking.setStatus("CANCELLED");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+
+        bookingService.cancelBooking(1L, "testuser");
+
+        verify(eventRepository, never()).adjustTicketsSold(anyLong(), anyInt());
+        verify(bookingRepository, never()).cancelConfirmed(anyLong());
+    }
+
+    @Test
+    void testCancelAllBookingsForEvent_ReleasesConfirmedTicketsInChunks() {
+        ReflectionTestUtils.setField(bookingService, "cancelBatchSize", 2);
+        when(bookingRepository.lockActiveByEventAfterId("42", 0L, 2))
+                .thenReturn(List.of(cancelView(1L, 7L, 2, "CONFIRMED"), cancelView(2L, 8L, 4, "PENDING")));
+        when(bookingRepository.lockActiveByEventAfterId("42", 2L, 2))
+                .thenReturn(List.of(cancelView(5L, 7L, 3, "CONFIRMED")));
+        List<Long> notified = new ArrayList<>();
+
+        int cancelled = bookingService.cancelAllBookingsForEvent("42", notified::add);
+
+        assertEquals(3, cancelled);
+        assertEquals(List.of(7L, 8L, 7L), notified);
+        verify(bookingRepository).cancelByIds(List.of(1L, 2L));
+        verify(bookingRepository).cancelByIds(List.of(5L));
+        verify(eventRepository, times(1)).adjustTicketsSold(42L, -6);
+        verify(eventRepository, times(1)).adjustTicketsSold(42L, -3);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private static BookingCancelView cancelView(Long id, Long userId, int quantity, String status) {
+        return new BookingCancelView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+        };
+    }
+
+    private static EventBookingView bookingView(Integer personLimit, int ticketsSold, LocalDateTime endDate) {
+        return bookingView(personLimit, ticketsSold, endDate, false);
+    }
+
+    private static EventBookingView bookingView(Integer personLimit, int ticketsSold, LocalDateTime endDate,
+                                                boolean highDemand) {
+        return new EventBookingView() {
+            @Override
+            public Long getId() {
+                return 42L;
+            }
+
+            @Override
+            public String getTitle() {
+                return "Server Event";
+            }
+
+            @Override
+            public String getLocation() {
+                return "Arena";
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return endDate.minusHours(3);
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return endDate;
+            }
+
+            @Override
+            public Double getTicketPrice() {
+                return 25.0;
+            }
+
+            @Override
+            public Integer getPersonLimit() {
+                return personLimit;
+            }
+
+            @Override
+            public Integer getTicketsSold() {
+                return ticketsSold;
+            }
+
+            @Override
+            public Boolean getHighDemand() {
+                return highDemand;
+            }
+        };
+    }
 }
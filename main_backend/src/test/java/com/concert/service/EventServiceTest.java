@@ -1,23 +1,42 @@
 package com.concert.service;
 
+import com.concert.cache.CachedEventPage;
+import com.concert.cache.EventResponseCache;
+import com.concert.cache.EventSnapshotCache;
+import com.concert.cache.SharedEventCache;
 import com.concert.dto.CreateEventRequest;
+import com.concert.dto.CursorPage;
+import com.concert.dto.EventParticipantSummary;
 import com.concert.dto.EventResponse;
+import com.concert.dto.ResourceValidator;
+import com.concert.model.BookingStatus;
 import com.concert.model.Event;
 import com.concert.model.User;
 import com.concert.repository.EventRepository;
 import com.concert.repository.BookingRepository;
+import com.concert.repository.EventListView;
+import com.concert.repository.EventVersionView;
+import com.concert.repository.ListingVersionView;
+import com.concert.repository.ParticipantView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +54,19 @@ class EventServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Spy
+    private EventResponseCache eventResponseCache =
+            new EventResponseCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Mock
+    private SharedEventCache sharedEventCache;
+
+    @Mock
+    private EventSnapshotCache eventSnapshotCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EventService eventService;
 
@@ -82,7 +114,7 @@ class EventServiceTest {
 
     @Test
     void testCreateEvent_Success() {
-        when(bookingRepository.findByEventIdAndStatus(anyString(), eq("CONFIRMED"))).thenReturn(Arrays.asList());
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
         when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
 
         EventResponse response = eventService.createEvent(testUser, createRequest);
@@ -95,6 +127,8 @@ class EventServiceTest {
         assertTrue(response.isOwnedByCurrentUser());
 
         verify(eventRepository, times(1)).save(any(Event.class));
+        verify(eventPublisher).publishEvent(argThat((Object change) ->
+                change instanceof EventChangedEvent && ((EventChangedEvent) change).getEvent().getId().equals(1L)));
     }
 
     @Test
@@ -113,7 +147,7 @@ class EventServiceTest {
 
     @Test
     void testGetUpcomingEvents_WithCurrentUser() {
-        when(bookingRepository.findByEventIdAndStatus(anyString(), eq("CONFIRMED"))).thenReturn(Arrays.asList());
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
         Event event2 = new Event();
         event2.setId(2L);
         event2.setTitle("Event 2");
@@ -121,9 +155,9 @@ class EventServiceTest {
         event2.setOrganizer(testUser);
 
         List<Event> events = Arrays.asList(testEvent, event2);
-        Page<Event> eventPage = new PageImpl<>(events, PageRequest.of(0, 10), 2);
+        Page<EventListView> eventPage = new PageImpl<>(views(events), PageRequest.of(0, 10), 2);
 
-        when(eventRepository.findByEndDateAfterOrderByStartDateAsc(any(LocalDateTime.class), any(Pageable.class)))
+        when(eventRepository.findUpcomingViews(any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(eventPage);
 
         Page<EventResponse> result = eventService.getUpcomingEvents(PageRequest.of(0, 10), testUser);
@@ -133,16 +167,16 @@ class EventServiceTest {
         assertEquals(2, result.getTotalElements());
         assertTrue(result.getContent().get(0).isOwnedByCurrentUser());
 
-        verify(eventRepository, times(1)).findByEndDateAfterOrderByStartDateAsc(any(LocalDateTime.class), any(Pageable.class));
+        verify(eventRepository, times(1)).findUpcomingViews(any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void testGetUpcomingEvents_WithoutCurrentUser() {
-        when(bookingRepository.findByEventIdAndStatus(anyString(), eq("CONFIRMED"))).thenReturn(Arrays.asList());
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
         List<Event> events = Arrays.asList(testEvent);
-        Page<Event> eventPage = new PageImpl<>(events, PageRequest.of(0, 10), 1);
+        Page<EventListView> eventPage = new PageImpl<>(views(events), PageRequest.of(0, 10), 1);
 
-        when(eventRepository.findByEndDateAfterOrderByStartDateAsc(any(LocalDateTime.class), any(Pageable.class)))
+        when(eventRepository.findUpcomingViews(any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(eventPage);
 
         Page<EventResponse> result = eventService.getUpcomingEvents(PageRequest.of(0, 10), null);
@@ -151,14 +185,14 @@ class EventServiceTest {
         assertEquals(1, result.getContent().size());
         assertFalse(result.getContent().get(0).isOwnedByCurrentUser());
 
-        verify(eventRepository, times(1)).findByEndDateAfterOrderByStartDateAsc(any(LocalDateTime.class), any(Pageable.class));
+        verify(eventRepository, times(1)).findUpcomingViews(any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void testGetUpcomingEvents_EmptyResult() {
-        Page<Event> emptyPage = new PageImpl<>(Arrays.asList(), PageRequest.of(0, 10), 0);
+        Page<EventListView> emptyPage = new PageImpl<>(Arrays.asList(), PageRequest.of(0, 10), 0);
 
-        when(eventRepository.findByEndDateAfterOrderByStartDateAsc(any(LocalDateTime.class), any(Pageable.class)))
+        when(eventRepository.findUpcomingViews(any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(emptyPage);
 
         Page<EventResponse> result = eventService.getUpcomingEvents(PageRequest.of(0, 10), testUser);
@@ -170,7 +204,7 @@ class EventServiceTest {
 
     @Test
     void testGetEventsForOrganizer_Success() {
-        when(bookingRepository.findByEventIdAndStatus(anyString(), eq("CONFIRMED"))).thenReturn(Arrays.asList());
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
         Event event2 = new Event();
         event2.setId(2L);
         event2.setTitle("Event 2");
@@ -190,6 +224,56 @@ class EventServiceTest {
         verify(eventRepository, times(1)).findByOrganizerOrderByStartDateAsc(testUser);
     }
 
+    @Test
+    void testGetUpcomingEvents_LoadsParticipantsForWholePageInOneQuery() {
+        Event event2 = new Event();
+        event2.setId(2L);
+        event2.setTitle("Event 2");
+        event2.setStartDate(LocalDateTime.now().plusDays(3));
+        event2.setOrganizer(testUser);
+        testEvent.setTicketsSold(5);
+        event2.setTicketsSold(1);
+
+        Page<EventListView> eventPage = new PageImpl<>(views(Arrays.asList(testEvent, event2)), PageRequest.of(0, 10), 2);
+        when(eventRepository.findUpcomingViews(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(eventPage);
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList(
+                participant(1L, "Alice", 2),
+                participant(1L, "Bob", 3),
+                participant(2L, "Carol", 1)
+        ));
+
+        Page<EventResponse> result = eventService.getUpcomingEvents(PageRequest.of(0, 10), null);
+
+        assertEquals(5, result.getContent().get(0).getParticipantsCount());
+        assertEquals(2, result.getContent().get(0).getParticipants().size());
+        assertEquals("Alice", result.getContent().get(0).getParticipants().get(0).getUserName());
+        assertEquals(1, result.getContent().get(1).getParticipantsCount());
+        assertEquals("Carol", result.getContent().get(1).getParticipants().get(0).getUserName());
+
+        verify(bookingRepository, times(1)).findParticipantsByEventIds(List.of(1L, 2L), BookingStatus.CONFIRMED);
+        verify(bookingRepository, never()).findByEventIdAndStatus(anyString(), anyString());
+    }
+
+    @Test
+    void testGetUpcomingEvents_RebuildsCachedItemsChangedOnAnotherReplica() {
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
+        EventResponse stale = new EventResponse();
+        stale.setId(1L);
+        stale.setTitle("Old Title");
+        stale.setVersion("0-0");
+        eventResponseCache.put(1L, stale);
+        testEvent.setUpdatedAt(LocalDateTime.of(2030, 1, 1, 12, 0));
+        testEvent.setBookingVersion(4L);
+        when(eventRepository.findUpcomingViews(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(views(List.of(testEvent)), PageRequest.of(0, 10), 1));
+
+        Page<EventResponse> result = eventService.getUpcomingEvents(PageRequest.of(0, 10), null);
+
+        assertEquals("Test Event", result.getContent().get(0).getTitle());
+        assertEquals("Test Event", eventResponseCache.get(1L, id -> stale).getTitle());
+    }
+
     @Test
     void testGetEventsForOrganizer_EmptyResult() {
         when(eventRepository.findByOrganizerOrderByStartDateAsc(testUser))
@@ -201,9 +285,86 @@ class EventServiceTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    void testGetEventValidator_DistinguishesOwnerAndBookingVersion() {
+        LocalDateTime updatedAt = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(eventRepository.findVersionById(1L))
+                .thenReturn(Optional.of(version(updatedAt, 3L)), Optional.of(version(updatedAt, 3L)),
+                        Optional.of(version(updatedAt, 4L)));
+        User otherUser = new User();
+        otherUser.setId(2L);
+
+        ResourceValidator ownerValidator = eventService.getEventValidator(1L, testUser);
+        ResourceValidator otherValidator = eventService.getEventValidator(1L, otherUser);
+        ResourceValidator afterBooking = eventService.getEventValidator(1L, otherUser);
+
+        assertNotEquals(ownerValidator.getEtag(), otherValidator.getEtag());
+        assertNotEquals(otherValidator.getEtag(), afterBooking.getEtag());
+        assertTrue(ownerValidator.getEtag().startsWith("W/\""));
+        assertNotNull(ownerValidator.getLastModified());
+        verify(eventRepository, never()).findById(anyLong());
+        verify(bookingRepository, never()).findParticipantsByEventIds(anyCollection(), any());
+    }
+
+    @Test
+    void testGetEventsByIds_KeepsRankOrderAndSkipsMissing() {
+        Event event2 = new Event();
+        event2.setId(2L);
+        event2.setTitle("Event 2");
+        event2.setOrganizer(testUser);
+        when(eventRepository.findViewsByIds(anyCollection())).thenReturn(views(List.of(testEvent, event2)));
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(List.of());
+
+        List<EventResponse> result = eventService.getEventsByIds(List.of(2L, 99L, 1L), null);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(EventResponse::getId).toList());
+    }
+
+    @Test
+    void testGetParticipants_PagesConfirmedBookings() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findParticipantsByEventId(1L, BookingStatus.CONFIRMED, PageRequest.of(0, 2)))
+                .thenReturn(new PageImpl<>(List.of(participant(1L, "Alice", 2), participant(1L, "Bob", 1)),
+                        PageRequest.of(0, 2), 5));
+
+        Page<EventParticipantSummary> result = eventService.getParticipants(1L, PageRequest.of(0, 2));
+
+        assertEquals(5, result.getTotalElements());
+        assertEquals("Bob", result.getContent().get(1).getUserName());
+    }
+
+    @Test
+    void testGetParticipants_UnknownEvent() {
+        when(eventRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.getParticipants(999L, PageRequest.of(0, 20)));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testGetEventValidator_LastModifiedFollowsLatestBookingChange() {
+        LocalDateTime updatedAt = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime bookedAt = updatedAt.plusHours(2);
+        when(eventRepository.findVersionById(1L))
+                .thenReturn(Optional.of(version(updatedAt, 0L)), Optional.of(version(updatedAt, 1L, bookedAt)));
+
+        ResourceValidator beforeBooking = eventService.getEventValidator(1L, null);
+        ResourceValidator afterBooking = eventService.getEventValidator(1L, null);
+
+        assertEquals(updatedAt.atZone(ZoneId.systemDefault()).toInstant(), beforeBooking.getLastModified());
+        assertEquals(bookedAt.atZone(ZoneId.systemDefault()).toInstant(), afterBooking.getLastModified());
+    }
+
+    @Test
+    void testGetEventValidator_UnknownEvent() {
+        when(eventRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEventValidator(999L, null));
+    }
+
     @Test
     void testGetEvent_Success() {
-        when(bookingRepository.findByEventIdAndStatus(anyString(), eq("CONFIRMED"))).thenReturn(Arrays.asList());
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
         when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
 
         EventResponse response = eventService.getEvent(1L, testUser);
@@ -216,6 +377,45 @@ class EventServiceTest {
         verify(eventRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testGetEvent_ReloadsCachedBodyBuiltFromAnotherVersion() {
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(List.of());
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.findVersionById(1L))
+                .thenReturn(Optional.of(version(null, 0L)), Optional.of(version(null, 1L)));
+
+        ResourceValidator before = eventService.getEventValidator(1L, null);
+        eventService.getEvent(1L, null, before.getVersion());
+        eventService.getEvent(1L, null, before.getVersion());
+        verify(eventRepository, times(1)).findById(1L);
+
+        // Booked on another replica: the row moved on but this replica's cache was not told
+        testEvent.setBookingVersion(1L);
+        ResourceValidator after = eventService.getEventValidator(1L, null);
+        EventResponse response = eventService.getEvent(1L, null, after.getVersion());
+
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertEquals(after.getVersion(), response.getVersion());
+        verify(eventRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void testGetUpcomingEventsValidator_ReusesAggregateUntilLocalEdit() {
+        ReflectionTestUtils.setField(eventService, "listingVersionTtl", Duration.ofMinutes(1));
+        when(eventRepository.findUpcomingListingVersion(any(LocalDateTime.class))).thenReturn(listingVersion(2L, 5L));
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+
+        ResourceValidator anonymous = eventService.getUpcomingEventsValidator(null);
+        ResourceValidator signedIn = eventService.getUpcomingEventsValidator(testUser);
+        verify(eventRepository, times(1)).findUpcomingListingVersion(any(LocalDateTime.class));
+
+        eventService.deleteEvent(1L, testUser);
+        eventService.getUpcomingEventsValidator(null);
+
+        assertNotEquals(anonymous.getEtag(), signedIn.getEtag());
+        verify(eventRepository, times(2)).findUpcomingListingVersion(any(LocalDateTime.class));
+    }
+
     @Test
     void testGetEvent_NotFound_ThrowsException() {
         when(eventRepository.findById(999L)).thenReturn(Optional.empty());
@@ -231,7 +431,7 @@ class EventServiceTest {
 
     @Test
     void testGetEvent_WithNullCurrentUser() {
-        when(bookingRepository.findByEventIdAndStatus(anyString(), eq("CONFIRMED"))).thenReturn(Arrays.asList());
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
         when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
 
         EventResponse response = eventService.getEvent(1L, null);
@@ -240,9 +440,88 @@ class EventServiceTest {
         assertFalse(response.isOwnedByCurrentUser());
     }
 
+    @Test
+    void testGetEvent_ServesRepeatReadsFromCacheWithPerUserOwnership() {
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+
+        User otherUser = new User();
+        otherUser.setId(2L);
+
+        EventResponse ownerView = eventService.getEvent(1L, testUser);
+        EventResponse otherView = eventService.getEvent(1L, otherUser);
+        EventResponse anonymousView = eventService.getEvent(1L, null);
+
+        assertTrue(ownerView.isOwnedByCurrentUser());
+        assertFalse(otherView.isOwnedByCurrentUser());
+        assertFalse(anonymousView.isOwnedByRequester());
+        assertEquals("Test Event", otherView.getTitle());
+        verify(eventRepository, times(1)).findById(1L);
+        verify(bookingRepository, times(1)).findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED));
+    }
+
+    @Test
+    void testUpdateEvent_InvalidatesCachedResponse() {
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        eventService.getEvent(1L, null);
+        eventService.updateEvent(1L, testUser, createRequest);
+        EventResponse afterUpdate = eventService.getEvent(1L, null);
+
+        assertEquals("New Event", afterUpdate.getTitle());
+        verify(eventResponseCache, times(1)).invalidate(1L);
+        verify(eventSnapshotCache, times(1)).invalidate(1L);
+    }
+
+    @Test
+    void testGetUpcomingEventsByCursor_LastSliceHasNoNextCursor() {
+        when(eventRepository.findUpcomingViews(any(LocalDateTime.class), eq(Limit.of(13))))
+                .thenReturn(views(List.of(testEvent)));
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(List.of());
+
+        CursorPage<EventResponse> result = eventService.getUpcomingEvents("", 12, testUser);
+
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+        verify(eventRepository, never()).findUpcomingViews(any(LocalDateTime.class), any(Pageable.class));
+        verify(eventRepository, never()).count();
+    }
+
+    @Test
+    void testGetUpcomingEvents_ServedFromSharedCacheSkipsDatabase() {
+        EventResponse cachedBase = new EventResponse();
+        cachedBase.setId(7L);
+        cachedBase.setOrganizerId(testUser.getId());
+        when(sharedEventCache.getUpcomingPage(any(LocalDateTime.class), eq(0), eq(10), eq("l-1")))
+                .thenReturn(Optional.of(new CachedEventPage(List.of(cachedBase), 30)));
+
+        Page<EventResponse> result = eventService.getUpcomingEvents(PageRequest.of(0, 10), testUser, "l-1");
+
+        assertEquals(30, result.getTotalElements());
+        assertTrue(result.getContent().get(0).isOwnedByCurrentUser());
+        assertFalse(cachedBase.isOwnedByCurrentUser());
+        verify(eventRepository, never()).findUpcomingViews(any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void testDeleteEvent_BumpsSharedCacheVersion() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+
+        eventService.deleteEvent(1L, testUser);
+
+        verify(eventPublisher).publishEvent(argThat((Object change) ->
+                change instanceof EventChangedEvent && ((EventChangedEvent) change).isDeleted()));
+
+        verify(sharedEventCache, times(1)).invalidateEvent(1L);
+        verify(eventResponseCache, times(1)).invalidate(1L);
+        verify(eventSnapshotCache, times(1)).invalidate(1L);
+    }
+
     @Test
     void testToResponse_WithNullOrganizer() {
-        when(bookingRepository.findByEventIdAndStatus(anyString(), eq("CONFIRMED"))).thenReturn(Arrays.asList());
+        when(bookingRepository.findParticipantsByEventIds(anyCollection(), eq(BookingStatus.CONFIRMED))).thenReturn(Arrays.asList());
         testEvent.setOrganizer(null);
         when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
 
@@ -252,5 +531,84 @@ class EventServiceTest {
         assertNull(response.getOrganizerName());
         assertFalse(response.isOwnedByCurrentUser());
     }
-}
 
+    private static ParticipantView participant(Long eventId, String userName, int tickets) {
+        return new ParticipantView() {
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public String getUserName() {
+                return userName;
+            }
+
+            @Override
+            public Integer getTicketCount() {
+                return tickets;
+            }
+
+            @Override
+            public LocalDateTime getJoinedAt() {
+                return LocalDateTime.now();
+            }
+        };
+    }
+
+    private List<EventListView> views(List<Event> events) {
+        return events.stream().map(EventListView::of).toList();
+    }
+
+    private ListingVersionView listingVersion(Long eventCount, Long versionSum) {
+        return new ListingVersionView() {
+            @Override
+            public Long getEventCount() {
+                return eventCount;
+            }
+
+            @Override
+            public LocalDateTime getLastUpdated() {
+                return null;
+            }
+
+            @Override
+            public Long getVersionSum() {
+                return versionSum;
+            }
+        };
+    }
+
+    private EventVersionView version(LocalDateTime updatedAt, Long bookingVersion) {
+        return version(updatedAt, bookingVersion, null);
+    }
+
+    private EventVersionView version(LocalDateTime updatedAt, Long bookingVersion, LocalDateTime bookingChangedAt) {
+        return new EventVersionView() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+
+            @Override
+            public Long getBookingVersion() {
+                return bookingVersion;
+            }
+
+            @Override
+            public LocalDateTime getBookingChangedAt() {
+                return bookingChangedAt;
+            }
+
+            @Override
+            public Long getOrganizerId() {
+                return testUser.getId();
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.concert.service;
 
+import com.concert.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,6 +8,8 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -137,6 +140,47 @@ class JwtServiceTest {
         assertFalse(isValidWrongUser);
     }
 
+    @Test
+    void testParseVerifiedReturnsClaims() {
+        String token = jwtService.generateToken(testUsername);
+
+        Claims claims = jwtService.parseVerified(token);
+
+        assertEquals(testUsername, claims.getSubject());
+        assertNotNull(claims.getExpiration());
+    }
+
+    @Test
+    void testGenerateTokenForUserCarriesIdAndProfileVersion() {
+        User user = new User("Test User", testUsername, "test@example.com", "password123");
+        user.setId(42L);
+        user.setProfileVersion(3);
+
+        Claims claims = jwtService.parseVerified(jwtService.generateToken(user));
+
+        assertEquals(testUsername, claims.getSubject());
+        assertEquals(42L, claims.get(JwtService.USER_ID_CLAIM, Long.class));
+        assertEquals(3L, claims.get(JwtService.PROFILE_VERSION_CLAIM, Long.class));
+    }
+
+    @Test
+    void testParseVerifiedRejectsTokenSignedWithOtherSecret() {
+        String token = jwtService.generateToken(testUsername);
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", testSecret + "-rotated-to-a-different-secret");
+
+        assertThrows(JwtException.class, () -> jwtService.parseVerified(token));
+    }
+
+    @Test
+    void testParseVerifiedRejectsTokenWithoutExpiration() {
+        String tokenWithoutExp = Jwts.builder()
+                .setSubject(testUsername)
+                .signWith(Keys.hmacShaKeyFor(testSecret.getBytes()), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThrows(JwtException.class, () -> jwtService.parseVerified(tokenWithoutExp));
+    }
+
     @Test
     void testIsTokenExpiredWithMalformedToken() {
         // Pass a malformed token to trigger exception path and return true
@@ -0,0 +1,82 @@
+package com.concert.service;
+
+import com.concert.cache.EventResponseCache;
+import com.concert.cache.SharedEventCache;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import com.concert.repository.TicketCounterView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketCounterReconcilerTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private EventResponseCache eventResponseCache;
+
+    @Mock
+    private SharedEventCache sharedEventCache;
+
+    @Mock
+    private BookingReferenceBackfill bookingReferenceBackfill;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TicketCounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new TicketCounterReconciler(eventRepository, bookingRepository, eventResponseCache,
+                sharedEventCache, bookingReferenceBackfill, transactionManager, 10);
+    }
+
+    @Test
+    void testRepairedCountersAreInvalidatedOnEveryReplicaAfterCommit() {
+        when(eventRepository.lockCountersAfterId(0L, 10)).thenReturn(List.of(counter(1L, 4L), counter(2L, 7L)));
+        when(bookingRepository.sumActiveQuantitiesByEventIds(List.of(1L, 2L)))
+                .thenReturn(List.of(counter(1L, 4L), counter(2L, 5L)));
+
+        assertEquals(1, reconciler.reconcile());
+
+        InOrder order = inOrder(eventRepository, transactionManager, eventResponseCache, sharedEventCache);
+        order.verify(eventRepository).setTicketsSold(eq(2L), eq(5), any(LocalDateTime.class));
+        order.verify(transactionManager).commit(any());
+        order.verify(eventResponseCache).invalidate(2L);
+        order.verify(sharedEventCache).invalidateAvailability(2L);
+        verify(eventRepository, never()).setTicketsSold(eq(1L), anyInt(), any(LocalDateTime.class));
+        verify(sharedEventCache, never()).invalidateAvailability(1L);
+    }
+
+    private static TicketCounterView counter(Long id, Long ticketsSold) {
+        return new TicketCounterView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getTicketsSold() {
+                return ticketsSold;
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.concert.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void testExpiresOnDeadlineTick() {
+        TimingWheel wheel = new TimingWheel(1000, 8, 3, 0);
+        wheel.schedule(1, 2500);
+        wheel.schedule(2, 3000);
+        List<Long> expired = new ArrayList<>();
+
+        assertEquals(0, wheel.advance(2999, expired::add));
+        assertEquals(2, wheel.advance(3000, expired::add));
+        assertEquals(List.of(1L, 2L), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCascadesThroughLevelsAndOverflow() {
+        // 8 slots x 3 levels covers 512 ticks; later deadlines go to the overflow bucket
+        TimingWheel wheel = new TimingWheel(1, 8, 3, 0);
+        long[] deadlines = {1, 7, 8, 9, 63, 64, 65, 511, 512, 700, 5000};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule(i, deadlines[i]);
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            List<Long> expired = new ArrayList<>();
+            wheel.advance(deadlines[i] - 1, expired::add);
+            assertTrue(expired.isEmpty(), "early expiry before " + deadlines[i]);
+            wheel.advance(deadlines[i], expired::add);
+            assertEquals(List.of((long) i), expired, "deadline " + deadlines[i]);
+        }
+    }
+
+    @Test
+    void testPastDeadlinesExpireOnNextTick() {
+        TimingWheel wheel = new TimingWheel(1000, 8, 3, 0);
+        wheel.advance(10_000, id -> fail("nothing scheduled"));
+        wheel.schedule(5, 1_000);
+        List<Long> expired = new ArrayList<>();
+
+        wheel.advance(11_000, expired::add);
+
+        assertEquals(List.of(5L), expired);
+    }
+
+    @Test
+    void testMillionHoldsEachExpireOnce() {
+        TimingWheel wheel = new TimingWheel(1000, 64, 4, 0);
+        for (long id = 0; id < 1_000_000; id++) {
+            wheel.schedule(id, 1_000 + (id % 900) * 1_000);
+        }
+        assertEquals(1_000_000, wheel.size());
+
+        long[] seen = new long[1_000_000 / 64 + 1];
+        int expired = wheel.advance(900_000, id -> {
+            assertEquals(0, seen[(int) (id >>> 6)] & (1L << id), "expired twice: " + id);
+            seen[(int) (id >>> 6)] |= 1L << id;
+        });
+
+        assertEquals(1_000_000, expired);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.concert.waitingroom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalAdmissionQueueTest {
+
+    @Test
+    void testJoinIsFifoAndRejoinKeepsPlace() {
+        LocalAdmissionQueue queue = new LocalAdmissionQueue(10);
+
+        assertEquals(1, queue.join(7L, 100L));
+        assertEquals(2, queue.join(7L, 200L));
+        assertEquals(1, queue.join(7L, 100L));
+        assertEquals(1, queue.join(8L, 200L));
+    }
+
+    @Test
+    void testTableGrowsWithoutLosingPlaces() {
+        LocalAdmissionQueue queue = new LocalAdmissionQueue(10);
+        for (long userId = 1; userId <= 50_000; userId++) {
+            assertEquals(userId, queue.join(7L, userId));
+        }
+        assertEquals(12_345, queue.join(7L, 12_345L));
+        assertEquals(50_001, queue.join(7L, 99_999L));
+    }
+
+    @Test
+    void testWatermarkAdvancesAtRateAndStopsAtLastWaiter() {
+        LocalAdmissionQueue.EventQueue queue = new LocalAdmissionQueue.EventQueue(10, 0);
+        for (long userId = 1; userId <= 100; userId++) {
+            queue.join(userId);
+        }
+
+        assertEquals(0, queue.admittedThrough(0));
+        assertEquals(5, queue.admittedThrough(500_000_000L));
+        assertEquals(20, queue.admittedThrough(2_000_000_000L));
+        assertEquals(100, queue.admittedThrough(60_000_000_000L));
+
+        // An idle queue does not bank admissions for the next burst
+        queue.join(101L);
+        assertEquals(100, queue.admittedThrough(60_000_000_000L));
+        assertEquals(101, queue.admittedThrough(60_100_000_000L));
+    }
+
+    @Test
+    void testConsumeOnce() {
+        LocalAdmissionQueue queue = new LocalAdmissionQueue(10);
+
+        assertTrue(queue.consume(7L, 1));
+        assertFalse(queue.consume(7L, 1));
+        assertTrue(queue.consume(7L, 100_000));
+        assertFalse(queue.consume(7L, 100_000));
+        assertTrue(queue.consume(8L, 1));
+    }
+
+    @Test
+    void testReleasedSequenceCanBeConsumedAgain() {
+        LocalAdmissionQueue queue = new LocalAdmissionQueue(10);
+
+        assertTrue(queue.consume(7L, 65));
+        queue.release(7L, 65);
+        queue.release(7L, 100_000);
+
+        assertTrue(queue.consume(7L, 65));
+        assertFalse(queue.consume(7L, 65));
+    }
+}
@@ -0,0 +1,132 @@
+package com.concert.waitingroom;
+
+import com.concert.dto.QueueStatusResponse;
+import com.concert.model.User;
+import com.concert.repository.EventBookingView;
+import com.concert.repository.EventRepository;
+import com.concert.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomServiceTest {
+
+    @Mock
+    private AdmissionQueue admissionQueue;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventBookingView highDemandEvent;
+
+    private WaitingRoomService waitingRoomService;
+
+    @BeforeEach
+    void setUp() {
+        waitingRoomService = new WaitingRoomService(admissionQueue, eventRepository, userRepository,
+                "waiting-room-test-secret", 10, 1000, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testJoinIssuesSignedTokenWithPosition() {
+        stubHighDemand();
+        User user = new User();
+        user.setId(5L);
+        when(userRepository.findByUsername("fan")).thenReturn(Optional.of(user));
+        when(admissionQueue.join(42L, 5L)).thenReturn(31L);
+        when(admissionQueue.admittedThrough(42L)).thenReturn(10L);
+
+        QueueStatusResponse status = waitingRoomService.join(42L, "fan");
+
+        assertEquals(21, status.getPosition());
+        assertFalse(status.isAdmitted());
+        assertEquals(3, status.getEstimatedWaitSeconds());
+        assertEquals(21, waitingRoomService.status(42L, status.getToken()).getPosition());
+    }
+
+    @Test
+    void testJoinRejectsEventWithoutWaitingRoom() {
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> waitingRoomService.join(42L, "fan"));
+    }
+
+    @Test
+    void testHoldsBackUntilAdmittedThenAllowsOnce() {
+        stubHighDemand();
+        String token = new QueueToken(42L, 31L, "fan").sign("waiting-room-test-secret".getBytes());
+        when(admissionQueue.admittedThrough(42L)).thenReturn(30L, 31L, 31L);
+        when(admissionQueue.consume(42L, 31L)).thenReturn(true, false);
+
+        assertTrue(waitingRoomService.holdsBack("42", "fan", token));
+        assertFalse(waitingRoomService.holdsBack("42", "fan", token));
+        assertTrue(waitingRoomService.holdsBack("42", "fan", token));
+    }
+
+    @Test
+    void testRestoreReleasesTheConsumedAdmission() {
+        stubHighDemand();
+        String token = new QueueToken(42L, 31L, "fan").sign("waiting-room-test-secret".getBytes());
+
+        waitingRoomService.restore("42", "fan", token);
+        waitingRoomService.restore("42", "someone-else", token);
+        waitingRoomService.restore("42", "fan", null);
+
+        verify(admissionQueue, times(1)).release(42L, 31L);
+    }
+
+    @Test
+    void testQueuedFlagIsReloadedAfterItsTtl() throws Exception {
+        waitingRoomService = new WaitingRoomService(admissionQueue, eventRepository, userRepository,
+                "waiting-room-test-secret", 10, 1000, 100, Duration.ofMillis(50));
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.empty(), Optional.of(highDemandEvent));
+        when(highDemandEvent.getHighDemand()).thenReturn(true);
+
+        assertFalse(waitingRoomService.requiresAdmission(42L));
+        assertFalse(waitingRoomService.requiresAdmission(42L));
+        Thread.sleep(100);
+
+        // Flagged on another replica: no local change event, picked up once the entry expires
+        assertTrue(waitingRoomService.requiresAdmission(42L));
+    }
+
+    @Test
+    void testHoldsBackForgedOrForeignTokens() {
+        stubHighDemand();
+        String token = new QueueToken(42L, 1L, "fan").sign("waiting-room-test-secret".getBytes());
+        String forged = new QueueToken(42L, 1L, "fan").sign("another-secret".getBytes());
+
+        assertTrue(waitingRoomService.holdsBack("42", "fan", null));
+        assertTrue(waitingRoomService.holdsBack("42", "fan", forged));
+        assertTrue(waitingRoomService.holdsBack("42", "someone-else", token));
+        verify(admissionQueue, never()).consume(anyLong(), anyLong());
+    }
+
+    @Test
+    void testRegularEventsAreNotGated() {
+        when(eventRepository.findBookingViewById(43L)).thenReturn(Optional.empty());
+
+        assertFalse(waitingRoomService.holdsBack("43", "fan", null));
+        assertFalse(waitingRoomService.holdsBack("external-id", "fan", null));
+        assertFalse(waitingRoomService.holdsBack("43", "fan", null));
+        verify(eventRepository, times(1)).findBookingViewById(43L);
+    }
+
+    private void stubHighDemand() {
+        when(highDemandEvent.getHighDemand()).thenReturn(true);
+        when(eventRepository.findBookingViewById(42L)).thenReturn(Optional.of(highDemandEvent));
+    }
+}
@@ -5,6 +5,7 @@
 
 -- Drop tables if they exist (in correct order due to foreign keys)
 DROP TABLE IF EXISTS bookings;
+DROP TABLE IF EXISTS id_allocations;
 DROP TABLE IF EXISTS notifications;
 DROP TABLE IF EXISTS notification_preferences;
 DROP TABLE IF EXISTS events;
@@ -26,7 +27,8 @@ CREATE TABLE IF NOT EXISTS users (
     country VARCHAR(100),
     pincode VARCHAR(20),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    profile_version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Create events table (references users)
@@ -45,6 +47,9 @@ CREATE TABLE IF NOT EXISTS events (
     start_date TIMESTAMP NOT NULL,
     end_date TIMESTAMP NOT NULL,
     ticket_price DOUBLE,
+    tickets_sold INT NOT NULL DEFAULT 0,
+    booking_version BIGINT NOT NULL DEFAULT 0,
+    high_demand BOOLEAN NOT NULL DEFAULT FALSE,
     photo_id VARCHAR(255),
     photo_url VARCHAR(500),
     user_id BIGINT NOT NULL,
@@ -59,17 +64,26 @@ CREATE TABLE IF NOT EXISTS bookings (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     user_id BIGINT NOT NULL,
     event_id VARCHAR(255) NOT NULL,
+    event_ref BIGINT,
     event_title VARCHAR(255),
     event_location VARCHAR(255),
     event_start_date TIMESTAMP,
     quantity INT NOT NULL,
     total_price DOUBLE NOT NULL,
     status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    status_code TINYINT,
     booking_date TIMESTAMP NOT NULL,
+    hold_expires_at TIMESTAMP,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_booking_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
 );
 
+-- Block allocation of application-assigned ids (bookings.id)
+CREATE TABLE IF NOT EXISTS id_allocations (
+    entity_name VARCHAR(255) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
 -- Create notification_preferences table (references users)
 CREATE TABLE IF NOT EXISTS notification_preferences (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -105,7 +119,10 @@ CREATE INDEX idx_users_email ON users(email);
 CREATE INDEX idx_users_username ON users(username);
 CREATE INDEX idx_events_organizer ON events(user_id);
 CREATE INDEX idx_events_dates ON events(start_date, end_date);
+CREATE INDEX idx_events_start_date_id ON events(start_date, event_id);
 CREATE INDEX idx_bookings_user ON bookings(user_id);
+CREATE INDEX idx_bookings_user_date_id ON bookings(user_id, booking_date, id);
 CREATE INDEX idx_bookings_event ON bookings(event_id);
+CREATE INDEX idx_bookings_event_ref_status ON bookings(event_ref, status_code);
 CREATE INDEX idx_notifications_user ON notifications(user_id);
 CREATE INDEX idx_notifications_read ON notifications(is_read);